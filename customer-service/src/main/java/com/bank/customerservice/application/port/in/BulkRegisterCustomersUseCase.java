@@ -0,0 +1,24 @@
+package com.bank.customerservice.application.port.in;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for registering many customers at once (e.g. a partner onboarding import).
+ */
+public interface BulkRegisterCustomersUseCase {
+
+    /**
+     * The most customers one batch may register; larger imports are split by the client.
+     */
+    int MAX_CUSTOMERS = 1000;
+
+    /**
+     * Validates and registers every command of the batch. Invalid commands, and commands repeating an email
+     * used earlier in the same batch, are reported instead of failing the whole batch.
+     * @param commands The commands to register, in the order they were submitted.
+     * @return A CompletableFuture that completes with one result per command, or fails with an
+     * InvalidRequestException if there are more than {@value #MAX_CUSTOMERS} commands.
+     */
+    CompletableFuture<BulkRegistrationResult> registerCustomers(List<RegisterCustomerCommand> commands);
+}
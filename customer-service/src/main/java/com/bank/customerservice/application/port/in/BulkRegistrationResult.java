@@ -0,0 +1,34 @@
+package com.bank.customerservice.application.port.in;
+
+import java.util.List;
+
+/**
+ * The report of a bulk registration: one entry per submitted command, in submission order.
+ */
+public record BulkRegistrationResult(List<ItemResult> items) {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE_IN_REQUEST,
+        EMAIL_ALREADY_REGISTERED,
+        CPF_ALREADY_REGISTERED,
+        FAILED
+    }
+
+    /**
+     * The outcome for a single command of the batch.
+     *
+     * @param index      The position of the command in the submitted batch.
+     * @param email      The (normalized) email of the command, if any.
+     * @param status     What happened to the command.
+     * @param customerId The ID of the created customer; only set when the status is CREATED.
+     * @param errors     Why the command was not registered; empty when the status is CREATED.
+     */
+    public record ItemResult(int index, String email, Status status, String customerId, List<String> errors) {
+    }
+
+    public long count(Status status) {
+        return items.stream().filter(item -> item.status() == status).count();
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.List;
+
+/**
+ * The result of looking many customers up at once.
+ *
+ * @param found      The customers that exist, in the order their IDs were requested.
+ * @param missingIds The requested IDs that do not belong to any customer.
+ */
+public record CustomerLookupResult(List<Customer> found, List<String> missingIds) {
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.reactivestreams.Publisher;
+
+/**
+ * Input port for exporting every customer (e.g. for the nightly reconciliation).
+ */
+public interface ExportCustomersUseCase {
+
+    /**
+     * Streams all customers with reactive-streams backpressure, so the export runs in constant memory.
+     * @param totalSegments Into how many segments the store is split and read in parallel.
+     * @return A Publisher of all customers, in no particular order.
+     */
+    Publisher<Customer> exportCustomers(int totalSegments);
+}
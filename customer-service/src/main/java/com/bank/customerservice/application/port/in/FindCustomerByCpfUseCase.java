@@ -0,0 +1,12 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for the use case of finding a single customer by their CPF, formatted or not.
+ */
+public interface FindCustomerByCpfUseCase {
+    CompletableFuture<Customer> findCustomerByCpf(String cpf);
+}
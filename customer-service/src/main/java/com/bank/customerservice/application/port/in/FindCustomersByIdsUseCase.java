@@ -0,0 +1,11 @@
+package com.bank.customerservice.application.port.in;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for the use case of finding many customers by their IDs in a single call.
+ */
+public interface FindCustomersByIdsUseCase {
+    CompletableFuture<CustomerLookupResult> findCustomersByIds(List<String> customerIds);
+}
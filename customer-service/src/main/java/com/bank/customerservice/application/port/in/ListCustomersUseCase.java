@@ -0,0 +1,21 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.application.port.out.CustomerPage;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for the use case of paging through all customers.
+ */
+public interface ListCustomersUseCase {
+
+    /**
+     * Returns one page of customers.
+     * @param limit  The maximum number of customers on the page.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param fields The customer fields to return; an empty set returns all public fields.
+     * @return A CompletableFuture that completes with the page.
+     */
+    CompletableFuture<CustomerPage> listCustomers(int limit, String cursor, Set<String> fields);
+}
@@ -23,6 +23,7 @@ public class RegisterCustomerCommand {
     @NotBlank(message = "Email cannot be blank")
     private final String email;
 
+    @ValidCpf
     @NotBlank(message = "CPF cannot be blank")
-    private final String cpf; // Cadastro de Pessoas Físicas (CPF)
+    private final String cpf; // Cadastro de Pessoas Físicas (CPF), as 11 digits or formatted as 000.000.000-00
 }
@@ -18,4 +18,14 @@ public interface RegisterCustomerUseCase {
      * @return A CompletableFuture that completes with the newly created Customer.
      */
     CompletableFuture<Customer> registerCustomer(@Valid RegisterCustomerCommand command);
+
+    /**
+     * Executes the customer registration logic at most once per idempotency key.
+     * A retry with the same key gets the customer registered by the first request instead of
+     * registering again.
+     * @param command        The command containing all necessary data for registration.
+     * @param idempotencyKey The key the client sent with the request, or null to register unconditionally.
+     * @return A CompletableFuture that completes with the newly (or previously) created Customer.
+     */
+    CompletableFuture<Customer> registerCustomer(@Valid RegisterCustomerCommand command, String idempotencyKey);
 }
@@ -0,0 +1,21 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for the use case of finding customers by part of their name or email.
+ */
+public interface SearchCustomersUseCase {
+
+    /**
+     * Finds the customers that match every word of a query, each word being the start of a word of
+     * their first name, last name or email; e.g. "jo sil" finds "João da Silva".
+     * @param query The words to search for.
+     * @param limit The maximum number of customers to return.
+     * @return A CompletableFuture that completes with the matching customers, most recently indexed first.
+     */
+    CompletableFuture<List<Customer>> searchCustomers(String query, int limit);
+}
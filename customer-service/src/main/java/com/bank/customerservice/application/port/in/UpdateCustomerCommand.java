@@ -0,0 +1,20 @@
+package com.bank.customerservice.application.port.in;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A command object carrying the changes of a partial update. Fields that are left out (null) are not changed.
+ * The email and CPF identify the customer and cannot be changed this way.
+ */
+@Data
+@Builder
+public class UpdateCustomerCommand {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name cannot be blank")
+    private final String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name cannot be blank")
+    private final String lastName;
+}
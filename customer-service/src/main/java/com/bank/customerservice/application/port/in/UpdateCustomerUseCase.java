@@ -0,0 +1,24 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import jakarta.validation.Valid;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Input port for the use case of changing some of a customer's data.
+ */
+public interface UpdateCustomerUseCase {
+
+    /**
+     * Applies the changes of the command to the customer, guarded by the customer's version.
+     * @param customerId      The ID of the customer to change.
+     * @param command         The changes; at least one field must be set.
+     * @param expectedVersions The versions of the customer the change may be applied to, usually just the one the
+     *                         client last read, or null to change whichever is stored.
+     * @return A CompletableFuture that completes with the updated customer, carrying its new version.
+     */
+    CompletableFuture<Customer> updateCustomer(String customerId, @Valid UpdateCustomerCommand command, Set<Long> expectedVersions);
+}
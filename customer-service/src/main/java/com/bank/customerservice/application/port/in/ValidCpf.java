@@ -0,0 +1,37 @@
+package com.bank.customerservice.application.port.in;
+
+import com.bank.customerservice.domain.model.Cpf;
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be a CPF with correct check digits, as 11 digits or formatted as
+ * {@code 000.000.000-00} (see {@link Cpf#isValid(CharSequence)}).
+ * Blank values are left to {@code @NotBlank}, so that they are reported once.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = ValidCpf.Validator.class)
+public @interface ValidCpf {
+
+    String message() default "CPF is not valid";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidCpf, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return value == null || value.isBlank() || Cpf.isValid(value);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.customerservice.application.port.out;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The per-customer outcome of creating many customers at once, keyed by customer ID.
+ *
+ * @param created    IDs of the customers that were written.
+ * @param emailTaken IDs of the customers that were skipped because their email already belongs to an existing customer.
+ * @param cpfTaken   IDs of the customers that were skipped because their CPF already belongs to an existing customer.
+ * @param failed     IDs of the customers that could not be written, with the reason.
+ */
+public record BulkCreateResult(Set<String> created, Set<String> emailTaken, Set<String> cpfTaken, Map<String, String> failed) {
+}
@@ -0,0 +1,14 @@
+package com.bank.customerservice.application.port.out;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.List;
+
+/**
+ * One page of a customer listing.
+ *
+ * @param customers  The customers on this page. Only the requested attributes are populated.
+ * @param nextCursor An opaque cursor to pass back to get the next page, or null if this is the last page.
+ */
+public record CustomerPage(List<Customer> customers, String nextCursor) {
+}
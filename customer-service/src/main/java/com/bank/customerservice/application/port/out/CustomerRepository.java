@@ -1,7 +1,14 @@
 package com.bank.customerservice.application.port.out;
 
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
 import com.bank.customerservice.domain.model.Customer;
+import org.reactivestreams.Publisher;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -22,6 +29,46 @@ public interface CustomerRepository {
      */
     CompletableFuture<Customer> save(Customer customer);
 
+    /**
+     * Creates a brand-new customer and claims its email address and CPF in a single atomic write.
+     * Unlike {@link #save(Customer)}, this never overwrites an existing customer.
+     * The registration event is recorded in the same write (a transactional outbox), so it is
+     * published if and only if the customer is created.
+     *
+     * @param customer The customer object to be created. Its email and CPF must already be normalized.
+     * @param event    The event announcing the new customer.
+     * @return A CompletableFuture that completes with the created customer, or completes exceptionally
+     * with an EmailAlreadyRegisteredException if another customer already owns the email, or with a
+     * CpfAlreadyRegisteredException if another customer already owns the CPF.
+     */
+    CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event);
+
+    /**
+     * Creates many brand-new customers at once and claims their email addresses and CPFs.
+     * Each customer is created like in {@link #create(Customer, CustomerRegisteredEvent)}: it never overwrites an
+     * existing customer or reservation, and a {@link CustomerRegisteredEvent#of(Customer) CustomerRegisteredEvent}
+     * is recorded with it, so one is published for every customer created. Customers are written in groups, each
+     * group atomically; a customer whose email or CPF is taken is reported and left out without failing the others.
+     *
+     * @param customers The customers to be created. Their emails and CPFs must be normalized and unique within the list.
+     * @return A CompletableFuture that completes with the outcome for every customer in the list.
+     */
+    CompletableFuture<BulkCreateResult> createAll(List<Customer> customers);
+
+    /**
+     * Changes some attributes of an existing customer in a single conditional write, without reading it first.
+     * Only the changed attributes are written, and the customer's version is incremented.
+     *
+     * @param customerId      The unique ID of the customer.
+     * @param update          The attributes to change; must change at least one.
+     * @param expectedVersions The versions the changes may be applied to (0 for a customer without one), usually
+     *                         just the one the caller last read, or null to apply them to whatever version is stored.
+     * @return A CompletableFuture that completes with the updated customer, or completes exceptionally with a
+     * CustomerNotFoundException if there is no such customer, or with a CustomerVersionConflictException if its
+     * version is not one of the expected ones.
+     */
+    CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions);
+
     /**
      * Finds a customer by their unique customer ID.
      *
@@ -30,6 +77,15 @@ public interface CustomerRepository {
      */
     CompletableFuture<Optional<Customer>> findById(String customerId);
 
+    /**
+     * Finds many customers by their unique customer IDs.
+     *
+     * @param customerIds The IDs of the customers to find. Duplicates are ignored.
+     * @return A CompletableFuture that completes with the customers that were found, keyed by ID.
+     * IDs that do not belong to any customer are absent from the map.
+     */
+    CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds);
+
     /**
      * Finds a customer by their email address.
      *
@@ -37,4 +93,34 @@ public interface CustomerRepository {
      * @return A CompletableFuture that completes with an Optional containing the customer if found, or an empty Optional if not.
      */
     CompletableFuture<Optional<Customer>> findByEmail(String email);
+
+    /**
+     * Finds a customer by their CPF.
+     *
+     * @param cpf The CPF to search for, normalized to its 11 digits.
+     * @return A CompletableFuture that completes with an Optional containing the customer if found, or an empty Optional if not.
+     */
+    CompletableFuture<Optional<Customer>> findByCpf(String cpf);
+
+    /**
+     * Reads one page of customers, in no particular order.
+     * Every page costs the same no matter how far into the listing it is.
+     *
+     * @param limit      The maximum number of customers on the page.
+     * @param cursor     The opaque cursor returned with the previous page, or null for the first page.
+     * @param attributes The customer attributes to read; the others are left null.
+     * @return A CompletableFuture that completes with the page, or completes exceptionally with an
+     * InvalidRequestException if the cursor is malformed.
+     */
+    CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes);
+
+    /**
+     * Streams every customer, reading the store in parallel segments.
+     * The returned publisher honours reactive-streams backpressure: customers are only read
+     * as fast as the subscriber requests them, so memory use does not grow with the number of customers.
+     *
+     * @param totalSegments Into how many segments the store is split and read concurrently.
+     * @return A Publisher of all customers, in no particular order.
+     */
+    Publisher<Customer> streamAll(int totalSegments);
 }
@@ -0,0 +1,32 @@
+package com.bank.customerservice.application.port.out;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.List;
+
+/**
+ * Outgoing port for an index of customers by the terms of their names and emails
+ * (see {@link Customer#searchTerms()}), for searches the customer store cannot answer.
+ * <p>
+ * It may lag behind the store, e.g. for customers another instance registered, or hold terms a
+ * customer no longer has; callers check the customers they read against the query.
+ */
+public interface CustomerSearchIndex {
+
+    /**
+     * @param terms The query terms; a customer matches if every one of them starts one of its terms.
+     * @param limit The maximum number of customer IDs to return.
+     * @return The IDs of matching customers, most recently indexed first.
+     */
+    List<String> search(List<String> terms, int limit);
+
+    /**
+     * Indexes a new customer. A customer that is already indexed is left as it is.
+     */
+    void add(Customer customer);
+
+    /**
+     * Replaces the terms of an indexed customer with those of its current data, or indexes it if it is not.
+     */
+    void update(Customer customer);
+}
@@ -0,0 +1,15 @@
+package com.bank.customerservice.application.port.out;
+
+/**
+ * The attributes a partial update changes. Null means "leave as it is".
+ * The email and CPF are not here: they are reserved as unique keys and cannot be changed in place.
+ *
+ * @param firstName The new first name, or null.
+ * @param lastName  The new last name, or null.
+ */
+public record CustomerUpdate(String firstName, String lastName) {
+
+    public boolean isEmpty() {
+        return firstName == null && lastName == null;
+    }
+}
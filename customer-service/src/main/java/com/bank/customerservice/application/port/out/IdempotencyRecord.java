@@ -0,0 +1,25 @@
+package com.bank.customerservice.application.port.out;
+
+import com.bank.customerservice.domain.model.Customer;
+
+/**
+ * What the idempotency store holds for a key: a fingerprint of the request that claimed it and,
+ * once that request has completed, the customer it registered.
+ *
+ * @param requestHash A fingerprint of the request that claimed the key.
+ * @param customer    The registered customer, or null while the request is still being processed.
+ */
+public record IdempotencyRecord(String requestHash, Customer customer) {
+
+    public static IdempotencyRecord inProgress(String requestHash) {
+        return new IdempotencyRecord(requestHash, null);
+    }
+
+    public static IdempotencyRecord completed(String requestHash, Customer customer) {
+        return new IdempotencyRecord(requestHash, customer);
+    }
+
+    public boolean isCompleted() {
+        return customer != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.bank.customerservice.application.port.out;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Outgoing port for the store of idempotency keys sent with registrations.
+ * A key is claimed before the registration runs and then either completed with its result, so that
+ * retries with the same key get that result back, or released, so that a retry runs it again.
+ * Keys are forgotten some time after they were completed.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request that is about to be processed. Claiming is atomic: of several
+     * concurrent requests with the same key, only one gets it.
+     * A claim that is never completed nor released lapses after a while, so that a request whose
+     * instance died does not block its key forever.
+     *
+     * @param key         The idempotency key sent by the client.
+     * @param requestHash A fingerprint of the request, to recognize a key reused for a different request.
+     * @return A CompletableFuture that completes with an empty Optional if the key was claimed, or with
+     * the record of the request that holds it.
+     */
+    CompletableFuture<Optional<IdempotencyRecord>> claim(String key, String requestHash);
+
+    /**
+     * Records the result of the request that claimed a key.
+     *
+     * @param key         The claimed key.
+     * @param requestHash The fingerprint the key was claimed with.
+     * @param customer    The customer the request registered.
+     * @return A CompletableFuture that completes once the result is stored.
+     */
+    CompletableFuture<Void> complete(String key, String requestHash, Customer customer);
+
+    /**
+     * Gives up a claimed key after its request failed, so that a retry processes the request again.
+     * Only the claim this request made is removed: if it has lapsed and the key was claimed again,
+     * or completed, in the meantime, the key is left as it is.
+     *
+     * @param key         The claimed key.
+     * @param requestHash The fingerprint the key was claimed with.
+     * @return A CompletableFuture that completes once the key is released.
+     */
+    CompletableFuture<Void> release(String key, String requestHash);
+}
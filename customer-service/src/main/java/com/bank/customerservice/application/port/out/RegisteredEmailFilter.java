@@ -0,0 +1,24 @@
+package com.bank.customerservice.application.port.out;
+
+/**
+ * Outgoing port for a compact, in-process summary of the emails that are already registered.
+ * It answers "may be registered" or "not known to be registered" without a round-trip to the
+ * customer store, at the price of occasional false positives.
+ * <p>
+ * It is a hint only: the customer store stays authoritative. A "not known" answer may be stale,
+ * e.g. for an email another instance registered a moment ago.
+ */
+public interface RegisteredEmailFilter {
+
+    /**
+     * @param email The normalized email address.
+     * @return true if the email may be registered, false if it is not known to be.
+     */
+    boolean mightBeRegistered(String email);
+
+    /**
+     * Records a newly registered email.
+     * @param email The normalized email address.
+     */
+    void add(String email);
+}
@@ -0,0 +1,142 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.ItemResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.Status;
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.EmailValidationPort;
+import com.bank.customerservice.application.port.out.RegisteredEmailFilter;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Cpf;
+import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service implementation for the bulk registration use case.
+ * Every command is validated and de-duplicated up front, so that only the valid, unique ones
+ * reach the repository, which creates them a group at a time, each with its registration event.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkRegisterCustomersService implements BulkRegisterCustomersUseCase {
+
+    private final CustomerRepository customerRepository;
+    private final Validator validator;
+    private final EmailValidationPort emailValidationPort;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final CustomerSearchIndex customerSearchIndex;
+
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<BulkRegistrationResult> registerCustomers(List<RegisterCustomerCommand> commands) {
+        log.info("Attempting to bulk register {} customers", commands.size());
+        if (commands.size() > MAX_CUSTOMERS) {
+            return CompletableFuture.failedFuture(new InvalidRequestException(
+                    "At most " + MAX_CUSTOMERS + " customers can be registered in one request"));
+        }
+
+        ItemResult[] results = new ItemResult[commands.size()];
+        Map<String, Integer> indexByEmail = new HashMap<>();
+        Map<String, Integer> indexByCpf = new HashMap<>();
+        Map<String, Integer> indexByCustomerId = new HashMap<>();
+        List<Customer> toCreate = new ArrayList<>();
+        Instant now = Instant.now();
+
+        for (int i = 0; i < commands.size(); i++) {
+            RegisterCustomerCommand command = commands.get(i);
+            if (command == null) {
+                results[i] = new ItemResult(i, null, Status.INVALID, null, List.of("Command cannot be null"));
+                continue;
+            }
+
+            String email = Customer.normalizeEmail(command.getEmail());
+            List<String> violations = validator.validate(command).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+            if (!violations.isEmpty()) {
+                results[i] = new ItemResult(i, email, Status.INVALID, null, violations);
+                continue;
+            }
+            if (!emailValidationPort.isEmailDomainAllowed(email)) {
+                results[i] = new ItemResult(i, email, Status.INVALID, null, List.of("Email domain is not allowed"));
+                continue;
+            }
+
+            Integer firstIndex = indexByEmail.putIfAbsent(email, i);
+            if (firstIndex != null) {
+                results[i] = new ItemResult(i, email, Status.DUPLICATE_IN_REQUEST, null,
+                        List.of("Email already used by item " + firstIndex + " of this request"));
+                continue;
+            }
+            String cpf = Cpf.normalize(command.getCpf());
+            Integer firstCpfIndex = indexByCpf.putIfAbsent(cpf, i);
+            if (firstCpfIndex != null) {
+                indexByEmail.remove(email, i);
+                results[i] = new ItemResult(i, email, Status.DUPLICATE_IN_REQUEST, null,
+                        List.of("CPF already used by item " + firstCpfIndex + " of this request"));
+                continue;
+            }
+
+            Customer customer = Customer.builder()
+                    .customerId(UUID.randomUUID().toString())
+                    .firstName(command.getFirstName())
+                    .lastName(command.getLastName())
+                    .email(email)
+                    .cpf(cpf)
+                    .createdAt(now)
+                    .version(1L)
+                    .build();
+            toCreate.add(customer);
+            indexByCustomerId.put(customer.getCustomerId(), i);
+        }
+
+        if (toCreate.isEmpty()) {
+            return CompletableFuture.completedFuture(new BulkRegistrationResult(Arrays.asList(results)));
+        }
+
+        return customerRepository.createAll(toCreate).thenApply(outcome -> {
+            for (Customer customer : toCreate) {
+                String customerId = customer.getCustomerId();
+                int index = indexByCustomerId.get(customerId);
+                if (outcome.created().contains(customerId)) {
+                    registeredEmailFilter.add(customer.getEmail());
+                    customerSearchIndex.add(customer);
+                    results[index] = new ItemResult(index, customer.getEmail(), Status.CREATED, customerId, List.of());
+                } else if (outcome.emailTaken().contains(customerId)) {
+                    results[index] = new ItemResult(index, customer.getEmail(), Status.EMAIL_ALREADY_REGISTERED, null,
+                            List.of("Email already registered"));
+                } else if (outcome.cpfTaken().contains(customerId)) {
+                    results[index] = new ItemResult(index, customer.getEmail(), Status.CPF_ALREADY_REGISTERED, null,
+                            List.of("CPF already registered"));
+                } else {
+                    String reason = outcome.failed().getOrDefault(customerId, "Not written");
+                    results[index] = new ItemResult(index, customer.getEmail(), Status.FAILED, null, List.of(reason));
+                }
+            }
+
+            BulkRegistrationResult result = new BulkRegistrationResult(Arrays.asList(results));
+            log.info("Bulk registration finished: {} created, {} rejected",
+                    result.count(Status.CREATED), commands.size() - result.count(Status.CREATED));
+            return result;
+        });
+    }
+}
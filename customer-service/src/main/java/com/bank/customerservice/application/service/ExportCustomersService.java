@@ -0,0 +1,30 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportCustomersService implements ExportCustomersUseCase {
+
+    // DynamoDB accepts up to 1,000,000 segments, but far fewer already saturate a single client.
+    static final int MAX_SEGMENTS = 1024;
+
+    private final CustomerRepository customerRepository;
+
+    @Override
+    public Publisher<Customer> exportCustomers(int totalSegments) {
+        if (totalSegments < 1 || totalSegments > MAX_SEGMENTS) {
+            throw new InvalidRequestException("totalSegments must be between 1 and " + MAX_SEGMENTS);
+        }
+        log.info("Exporting all customers using {} scan segments", totalSegments);
+        return customerRepository.streamAll(totalSegments);
+    }
+}
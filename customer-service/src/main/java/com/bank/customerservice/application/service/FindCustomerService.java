@@ -1,24 +1,79 @@
 package com.bank.customerservice.application.service;
 
+import com.bank.customerservice.application.port.in.CustomerLookupResult;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
 import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
 import com.bank.customerservice.application.port.out.CustomerRepository;
 import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Cpf;
 import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
-public class FindCustomerService implements FindCustomerByIdUseCase {
+public class FindCustomerService implements FindCustomerByIdUseCase, FindCustomerByEmailUseCase, FindCustomerByCpfUseCase,
+        FindCustomersByIdsUseCase {
 
     private final CustomerRepository customerRepository;
 
     @Override
+    @Timed(value = "customer.use.case", histogram = true)
     public CompletableFuture<Customer> findCustomerById(String customerId) {
         return customerRepository.findById(customerId)
                 .thenApply(optionalCustomer -> optionalCustomer
                         .orElseThrow(() -> new CustomerNotFoundException("Customer not found with ID: " + customerId)));
     }
+
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<Customer> findCustomerByEmail(String email) {
+        return customerRepository.findByEmail(Customer.normalizeEmail(email))
+                .thenApply(optionalCustomer -> optionalCustomer
+                        .orElseThrow(() -> new CustomerNotFoundException("Customer not found with email: " + email)));
+    }
+
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<Customer> findCustomerByCpf(String cpf) {
+        // An invalid CPF cannot belong to anyone, so it is answered without a lookup.
+        String normalized = Cpf.normalize(cpf);
+        if (normalized == null) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("CPF is not valid"));
+        }
+        // The CPF is kept out of the message: it ends up in logs and error responses.
+        return customerRepository.findByCpf(normalized)
+                .thenApply(optionalCustomer -> optionalCustomer
+                        .orElseThrow(() -> new CustomerNotFoundException("Customer not found with the given CPF")));
+    }
+
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<CustomerLookupResult> findCustomersByIds(List<String> customerIds) {
+        Set<String> uniqueIds = new LinkedHashSet<>(customerIds);
+        return customerRepository.findAllByIds(uniqueIds)
+                .thenApply(foundById -> {
+                    List<Customer> found = new ArrayList<>(foundById.size());
+                    List<String> missingIds = new ArrayList<>();
+                    for (String customerId : uniqueIds) {
+                        Customer customer = foundById.get(customerId);
+                        if (customer != null) {
+                            found.add(customer);
+                        } else {
+                            missingIds.add(customerId);
+                        }
+                    }
+                    return new CustomerLookupResult(found, missingIds);
+                });
+    }
 }
@@ -0,0 +1,48 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class ListCustomersService implements ListCustomersUseCase {
+
+    static final int MAX_LIMIT = 100;
+
+    // The fields a listing may return. Private data such as the CPF is never read for listings.
+    static final Set<String> PUBLIC_FIELDS = Set.of("customerId", "firstName", "lastName", "email", "createdAt");
+
+    private final CustomerRepository customerRepository;
+
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<CustomerPage> listCustomers(int limit, String cursor, Set<String> fields) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT));
+        }
+
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("customerId"); // Always needed to identify the customer and build the next cursor.
+        if (fields.isEmpty()) {
+            attributes.addAll(PUBLIC_FIELDS);
+        } else {
+            for (String field : fields) {
+                if (!PUBLIC_FIELDS.contains(field)) {
+                    return CompletableFuture.failedFuture(new InvalidRequestException(
+                            "Unknown field '" + field + "'. Allowed fields: " + PUBLIC_FIELDS));
+                }
+                attributes.add(field);
+            }
+        }
+        return customerRepository.findPage(limit, cursor, attributes);
+    }
+}
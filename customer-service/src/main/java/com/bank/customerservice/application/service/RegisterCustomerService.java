@@ -3,15 +3,35 @@ package com.bank.customerservice.application.service;
 import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
 import com.bank.customerservice.application.port.in.RegisterCustomerUseCase;
 import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.EmailValidationPort;
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.application.port.out.RegisteredEmailFilter;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.EmailDomainNotAllowedException;
+import com.bank.customerservice.domain.exception.IdempotencyKeyReusedException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.exception.RequestInProgressException;
+import com.bank.customerservice.domain.model.Cpf;
 import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
  * Service implementation for the customer registration use case.
@@ -23,44 +43,155 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j // Lombok: Injects a logger instance
 public class RegisterCustomerService implements RegisterCustomerUseCase {
 
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final CustomerRepository customerRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final EmailValidationPort emailValidationPort;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final CustomerSearchIndex customerSearchIndex;
 
     /**
      * Registers a new customer based on the provided command.
      * The logic is implemented asynchronously using CompletableFuture.
+     * Email and CPF uniqueness are enforced by the repository in the same write that creates the customer,
+     * so registration costs a single round-trip no matter how many customers already exist.
+     * Only when the registered-email filter reports the email as possibly taken is it looked up first:
+     * a taken email is then rejected with a read instead of a cancelled transaction.
+     * The CustomerRegisteredEvent is recorded in that same write and published to the queue
+     * in the background, so it neither slows the request down nor gets lost if publishing fails.
+     * An email whose domain is not allowed, or a CPF whose check digits are wrong, is rejected before
+     * anything is written. The CPF is stored as its 11 digits, whichever way it was formatted.
      *
      * @param command The command containing the new customer's data, marked with @Valid to trigger validation.
-     * @return A CompletableFuture that will complete with the created Customer.
+     * @return A CompletableFuture that will complete with the created Customer, or fail with an
+     * EmailAlreadyRegisteredException if the email is already taken, a CpfAlreadyRegisteredException if
+     * the CPF is, an EmailDomainNotAllowedException if the email's domain is not allowed, or an
+     * InvalidRequestException if the CPF is not valid.
      */
     @Override
+    @Timed(value = "customer.use.case", histogram = true)
     public CompletableFuture<Customer> registerCustomer(RegisterCustomerCommand command) {
-        log.info("Attempting to register customer with email: {}", command.getEmail());
+        return register(command);
+    }
+
+    /**
+     * Registers a new customer at most once per idempotency key, so that clients can safely retry
+     * a registration whose response they did not get.
+     * The key is claimed in the idempotency store first. A retry of a completed registration gets the
+     * stored customer back without touching the customer store; a retry that arrives while the first
+     * request is still running fails fast instead of queuing up behind it. A failed registration
+     * releases its key, so retrying it registers again.
+     *
+     * @param command        The command containing the new customer's data.
+     * @param idempotencyKey The client's key for this registration, or null to register unconditionally.
+     * @return A CompletableFuture that will complete with the created Customer, or fail with a
+     * RequestInProgressException while the key's first request is running, or with an
+     * IdempotencyKeyReusedException if the key was sent with a different request before, or with an
+     * EmailDomainNotAllowedException if the email's domain is not allowed.
+     */
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<Customer> registerCustomer(RegisterCustomerCommand command, String idempotencyKey) {
+        if (idempotencyKey == null || !emailValidationPort.isEmailDomainAllowed(command.getEmail())) {
+            // A rejected domain fails in register() without claiming the key.
+            return register(command);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return CompletableFuture.failedFuture(new InvalidRequestException(
+                    "Idempotency key must have between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters"));
+        }
 
-        // We start the asynchronous chain here.
-        // thenCompose is used when the next action itself returns a CompletableFuture.
-        // This avoids nested futures (CompletableFuture<CompletableFuture<Customer>>).
-        return customerRepository.findByEmail(command.getEmail())
-                .thenCompose(optionalCustomer -> {
-                    // Step 1 & 2: Check if email exists and throw exception if it does.
-                    if (optionalCustomer.isPresent()) {
-                        log.warn("Registration failed: email {} already exists.", command.getEmail());
-                        return CompletableFuture.failedFuture(new IllegalStateException("Email already registered"));
+        String requestHash = requestHash(command);
+        return idempotencyStore.claim(idempotencyKey, requestHash)
+                .thenCompose(existing -> {
+                    if (existing.isEmpty()) {
+                        return registerOnce(command, idempotencyKey, requestHash);
+                    }
+                    IdempotencyRecord record = existing.get();
+                    if (!record.requestHash().equals(requestHash)) {
+                        throw new IdempotencyKeyReusedException("Idempotency key was already used for a different request");
                     }
+                    if (!record.isCompleted()) {
+                        throw new RequestInProgressException("A request with this idempotency key is still being processed");
+                    }
+                    log.info("Replaying registration of customer {} for a repeated idempotency key", record.customer().getCustomerId());
+                    return CompletableFuture.completedFuture(record.customer());
+                });
+    }
 
-                    // Step 3-6: Email is unique, so create and populate a new Customer object.
-                    log.info("Email {} is unique. Creating new customer.", command.getEmail());
-                    Customer newCustomer = Customer.builder()
-                            .customerId(UUID.randomUUID().toString()) // 5. Generate unique ID
-                            .firstName(command.getFirstName())        // 4. Populate from command
-                            .lastName(command.getLastName())
-                            .email(command.getEmail())
-                            .cpf(command.getCpf())
-                            .createdAt(Instant.now())                 // 6. Set creation timestamp
-                            .build();
+    private CompletableFuture<Customer> registerOnce(RegisterCustomerCommand command, String idempotencyKey, String requestHash) {
+        return register(command)
+                .<CompletableFuture<Customer>>handle((createdCustomer, error) -> error == null
+                        // Respond only once the result is stored, so that a retry after this response replays it.
+                        ? idempotencyStore.complete(idempotencyKey, requestHash, createdCustomer)
+                                .handle((v, storeError) -> {
+                                    if (storeError != null) {
+                                        log.warn("Could not store the result for an idempotency key: {}", storeError.getMessage());
+                                    }
+                                    return createdCustomer;
+                                })
+                        : idempotencyStore.release(idempotencyKey, requestHash)
+                                .handle((v, storeError) -> {
+                                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                                }))
+                .thenCompose(Function.identity());
+    }
 
-                    // Step 7 & 8: Save the new customer and return the result.
-                    // The save method also returns a CompletableFuture, which fits perfectly with thenCompose.
-                    return customerRepository.save(newCustomer);
-                });
+    private CompletableFuture<Customer> register(RegisterCustomerCommand command) {
+        log.info("Attempting to register customer with email: {}", command.getEmail());
+
+        if (!emailValidationPort.isEmailDomainAllowed(command.getEmail())) {
+            log.warn("Registration rejected for email {}: domain not allowed", command.getEmail());
+            return CompletableFuture.failedFuture(new EmailDomainNotAllowedException("Email domain is not allowed"));
+        }
+        // The web layer has validated the command already; this guards the other callers.
+        String cpf = Cpf.normalize(command.getCpf());
+        if (cpf == null) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("CPF is not valid"));
+        }
+
+        Customer newCustomer = Customer.builder()
+                .customerId(UUID.randomUUID().toString())
+                .firstName(command.getFirstName())
+                .lastName(command.getLastName())
+                .email(Customer.normalizeEmail(command.getEmail()))
+                .cpf(cpf)
+                .createdAt(Instant.now())
+                .version(1L)
+                .build();
+
+        String email = newCustomer.getEmail();
+        CompletableFuture<Customer> created = registeredEmailFilter.mightBeRegistered(email)
+                ? customerRepository.findByEmail(email).thenCompose(existing -> existing.isPresent()
+                        ? CompletableFuture.failedFuture(new EmailAlreadyRegisteredException("Email already registered"))
+                        : customerRepository.create(newCustomer, CustomerRegisteredEvent.of(newCustomer)))
+                : customerRepository.create(newCustomer, CustomerRegisteredEvent.of(newCustomer));
+
+        return created.whenComplete((createdCustomer, error) -> {
+            if (error != null) {
+                log.warn("Registration failed for email {}: {}", command.getEmail(), error.getMessage());
+            } else {
+                registeredEmailFilter.add(email);
+                customerSearchIndex.add(createdCustomer);
+                log.info("Customer {} registered with email {}.", createdCustomer.getCustomerId(), command.getEmail());
+            }
+        });
+    }
+
+    /**
+     * A fingerprint of what the command would register, so that reusing a key for another
+     * customer is detected. Emails and CPFs are compared normalized, like everywhere else.
+     */
+    static String requestHash(RegisterCustomerCommand command) {
+        String cpf = Objects.requireNonNullElse(Cpf.normalize(command.getCpf()), String.valueOf(command.getCpf()));
+        String canonical = String.join("\u0000", String.valueOf(command.getFirstName()), String.valueOf(command.getLastName()),
+                String.valueOf(Customer.normalizeEmail(command.getEmail())), cpf);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,66 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class SearchCustomersService implements SearchCustomersUseCase {
+
+    static final int MAX_LIMIT = 50;
+    static final int MAX_TERMS = 8;
+
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerRepository customerRepository;
+
+    /**
+     * The index answers with customer IDs only; the customers are then read by ID, which the
+     * cache usually serves, and any whose current data no longer matches the query are dropped.
+     */
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<List<Customer>> searchCustomers(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT));
+        }
+        List<String> terms = Customer.searchTermsOf(query);
+        if (terms.isEmpty() || terms.size() > MAX_TERMS || terms.stream().allMatch(term -> term.length() < 2)) {
+            return CompletableFuture.failedFuture(new InvalidRequestException(
+                    "q must have between 1 and " + MAX_TERMS + " words, one of them at least 2 characters long"));
+        }
+
+        List<String> customerIds = customerSearchIndex.search(terms, limit);
+        if (customerIds.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return customerRepository.findAllByIds(customerIds).thenApply(foundById -> {
+            List<Customer> matches = new ArrayList<>(customerIds.size());
+            for (String customerId : customerIds) {
+                Customer customer = foundById.get(customerId);
+                if (customer != null && matches(customer.searchTerms(), terms)) {
+                    matches.add(customer);
+                }
+            }
+            return matches;
+        });
+    }
+
+    private static boolean matches(List<String> customerTerms, List<String> queryTerms) {
+        for (String queryTerm : queryTerms) {
+            if (customerTerms.stream().noneMatch(term -> term.startsWith(queryTerm))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.UpdateCustomerCommand;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service implementation for the partial update use case.
+ * The changes go to the repository as a single conditional write of just the changed attributes:
+ * the customer is not read first, and a client that sends the version it last read cannot overwrite
+ * a change it has not seen (optimistic locking).
+ */
+@Service
+@Validated // Enables method-level validation for the command object
+@RequiredArgsConstructor
+@Slf4j
+public class UpdateCustomerService implements UpdateCustomerUseCase {
+
+    private final CustomerRepository customerRepository;
+    private final CustomerSearchIndex customerSearchIndex;
+
+    /**
+     * Updates the customer's names.
+     *
+     * @return A CompletableFuture that completes with the updated customer, or fails with an
+     * InvalidRequestException if the command changes nothing, a CustomerNotFoundException if there is no
+     * such customer, or a CustomerVersionConflictException if it was changed since the expected version.
+     */
+    @Override
+    @Timed(value = "customer.use.case", histogram = true)
+    public CompletableFuture<Customer> updateCustomer(String customerId, UpdateCustomerCommand command, Set<Long> expectedVersions) {
+        CustomerUpdate update = new CustomerUpdate(command.getFirstName(), command.getLastName());
+        if (update.isEmpty()) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("Nothing to update; send firstName and/or lastName"));
+        }
+        if (expectedVersions != null && (expectedVersions.isEmpty() || expectedVersions.stream().anyMatch(version -> version < 0))) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("Expected versions cannot be empty or negative"));
+        }
+
+        return customerRepository.update(customerId, update, expectedVersions)
+                .whenComplete((updated, error) -> {
+                    if (error != null) {
+                        log.warn("Update of customer {} failed: {}", customerId, error.getMessage());
+                    } else {
+                        customerSearchIndex.update(updated);
+                        log.info("Customer {} updated to version {}.", customerId, updated.getVersion());
+                    }
+                });
+    }
+}
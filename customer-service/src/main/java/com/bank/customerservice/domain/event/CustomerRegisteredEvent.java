@@ -0,0 +1,42 @@
+package com.bank.customerservice.domain.event;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Announces that a customer has been registered, to the services that act on new customers
+ * (welcome e-mails, fraud screening, ...). Private data such as the CPF is deliberately left out.
+ *
+ * @param eventId    Unique ID of this event, so that consumers can discard redeliveries.
+ * @param customerId ID of the new customer.
+ * @param email      The customer's normalized email.
+ * @param firstName  The customer's first name.
+ * @param lastName   The customer's last name.
+ * @param occurredAt When the customer was registered.
+ */
+public record CustomerRegisteredEvent(
+        String eventId,
+        String customerId,
+        String email,
+        String firstName,
+        String lastName,
+        Instant occurredAt
+) {
+
+    public static final String TYPE = "CustomerRegistered";
+
+    /**
+     * Builds the event for a customer that is about to be created.
+     */
+    public static CustomerRegisteredEvent of(Customer customer) {
+        return new CustomerRegisteredEvent(
+                UUID.randomUUID().toString(),
+                customer.getCustomerId(),
+                customer.getEmail(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getCreatedAt());
+    }
+}
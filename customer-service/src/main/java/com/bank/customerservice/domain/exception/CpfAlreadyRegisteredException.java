@@ -0,0 +1,16 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a registration uses a CPF that already belongs to another customer.
+ * The @ResponseStatus annotation tells Spring to return a 409 CONFLICT status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class CpfAlreadyRegisteredException extends RuntimeException {
+    public CpfAlreadyRegisteredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when an update was based on a version of the customer that is no longer
+ * the stored one, i.e. someone else changed the customer in the meantime.
+ * The @ResponseStatus annotation tells Spring to return a 409 CONFLICT status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class CustomerVersionConflictException extends RuntimeException {
+    public CustomerVersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a customer registers with an email whose domain is not accepted,
+ * e.g. a disposable email provider.
+ * The @ResponseStatus annotation tells Spring to return a 422 UNPROCESSABLE_ENTITY status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class EmailDomainNotAllowedException extends RuntimeException {
+    public EmailDomainNotAllowedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when an idempotency key comes back with a request that differs from
+ * the one it was first sent with.
+ * The @ResponseStatus annotation tells Spring to return a 422 UNPROCESSABLE ENTITY status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
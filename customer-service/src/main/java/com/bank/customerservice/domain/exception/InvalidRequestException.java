@@ -0,0 +1,17 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a request is well-formed but asks for something we cannot serve,
+ * e.g. an unknown field or a page cursor that was not issued by us.
+ * The @ResponseStatus annotation tells Spring to return a 400 BAD REQUEST status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends IllegalArgumentException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a retry arrives while the first request with the same idempotency
+ * key is still being processed. The client should retry again a little later.
+ * The @ResponseStatus annotation tells Spring to return a 409 CONFLICT status
+ * when this exception is thrown from a controller.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class RequestInProgressException extends RuntimeException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bank.customerservice.domain.model;
+
+/**
+ * Validation and normalization of CPF numbers (Cadastro de Pessoas Físicas).
+ * <p>
+ * A CPF is accepted either as its 11 digits ({@code 12345678909}) or in the usual
+ * {@code 123.456.789-09} format, and is stored as the 11 digits only. The last two digits are
+ * check digits over the first nine; numbers made of a single repeated digit pass the checksum
+ * but were never issued, so they are rejected too.
+ * <p>
+ * Validation runs on every registration and every lookup by CPF, so it walks the characters once
+ * and allocates nothing; normalizing an already normalized CPF returns the same string.
+ */
+public final class Cpf {
+
+    public static final int LENGTH = 11;
+
+    // "123.456.789-09"
+    private static final int FORMATTED_LENGTH = 14;
+
+    private Cpf() {
+    }
+
+    /**
+     * Checks that the text is a CPF with correct check digits, as 11 digits or formatted as {@code 000.000.000-00}.
+     * @param cpf The text to check; may be null.
+     * @return Whether the text is a valid CPF.
+     */
+    public static boolean isValid(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        int length = cpf.length();
+        boolean formatted = length == FORMATTED_LENGTH;
+        if (!formatted && length != LENGTH) {
+            return false;
+        }
+
+        // Weighted sums of the first nine digits (weights 10..2) and of the first ten (weights 11..2).
+        int firstSum = 0;
+        int secondSum = 0;
+        int position = 0;
+        boolean repeated = true;
+        char firstDigit = 0;
+        for (int i = 0; i < length; i++) {
+            char c = cpf.charAt(i);
+            if (formatted && (i == 3 || i == 7 || i == 11)) {
+                if (c != (i == 11 ? '-' : '.')) {
+                    return false;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            int digit = c - '0';
+            if (position == 0) {
+                firstDigit = c;
+            } else if (c != firstDigit) {
+                repeated = false;
+            }
+
+            if (position < 9) {
+                firstSum += digit * (10 - position);
+                secondSum += digit * (11 - position);
+            } else if (position == 9) {
+                if (digit != checkDigit(firstSum)) {
+                    return false;
+                }
+                secondSum += digit * 2;
+            } else if (digit != checkDigit(secondSum)) {
+                return false;
+            }
+            position++;
+        }
+        return !repeated;
+    }
+
+    /**
+     * Normalizes a CPF to its 11 digits, so that uniqueness checks and lookups do not depend on formatting.
+     * @param cpf The CPF as typed by the user, e.g. {@code 123.456.789-09}.
+     * @return The 11 digits, or null if the input is not a valid CPF.
+     */
+    public static String normalize(String cpf) {
+        if (!isValid(cpf)) {
+            return null;
+        }
+        if (cpf.length() == LENGTH) {
+            return cpf;
+        }
+        char[] digits = new char[LENGTH];
+        int position = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits[position++] = c;
+            }
+        }
+        return new String(digits);
+    }
+
+    private static int checkDigit(int weightedSum) {
+        int remainder = weightedSum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
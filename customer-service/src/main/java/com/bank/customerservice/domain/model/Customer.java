@@ -6,8 +6,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
 
+import java.text.Normalizer;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 @Data
 @Builder
@@ -16,6 +21,10 @@ import java.time.Instant;
 @DynamoDbBean
 public class Customer {
 
+    public static final String EMAIL_INDEX = "email-index";
+
+    public static final String CPF_INDEX = "cpf-index";
+
     private String customerId;
     private String firstName;
     private String lastName;
@@ -23,6 +32,9 @@ public class Customer {
     private String cpf;
     private Instant createdAt;
 
+    // Incremented by every update, for optimistic locking; 1 once registered, null for customers registered before versioning.
+    private Long version;
+
     /**
      * The unique identifier for the customer. This will be the partition key in DynamoDB.
      * The @DynamoDbPartitionKey annotation MUST be on the public getter method.
@@ -32,6 +44,82 @@ public class Customer {
         return this.customerId;
     }
 
+    /**
+     * The customer's email, also the partition key of the email global secondary index
+     * so that lookups by email are a single query instead of a table scan.
+     */
+    @DynamoDbSecondaryPartitionKey(indexNames = EMAIL_INDEX)
+    public String getEmail() {
+        return this.email;
+    }
+
+    /**
+     * The customer's CPF, always stored as its 11 digits (see {@link Cpf#normalize(String)}).
+     * It is the partition key of the CPF global secondary index, so KYC lookups by CPF are a single query.
+     */
+    @DynamoDbSecondaryPartitionKey(indexNames = CPF_INDEX)
+    public String getCpf() {
+        return this.cpf;
+    }
+
+    /**
+     * Normalizes an email address so that uniqueness checks and lookups are case-insensitive.
+     * @param email The raw email address, as typed by the user.
+     * @return The trimmed, lower-cased email, or null if the input is null.
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The terms customer search matches against: those of the first name, last name and email.
+     */
+    public List<String> searchTerms() {
+        List<String> terms = new ArrayList<>();
+        for (String field : new String[]{firstName, lastName, email}) {
+            for (String term : searchTermsOf(field)) {
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Splits text into search terms: runs of letters and runs of digits, lower-cased and without accents,
+     * so that "José da Silva" and "jose.silva82@example.com" share the terms "jose" and "silva".
+     * @param text The text to split, e.g. a name, an email or a search query.
+     * @return The terms in order of appearance; empty if the text is null or has none.
+     */
+    public static List<String> searchTermsOf(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; // The accent of a decomposed letter.
+            }
+            boolean wordChar = Character.isLetterOrDigit(c);
+            // A term ends at anything but a letter or digit, and where letters turn into digits or back.
+            if (!term.isEmpty() && (!wordChar || Character.isDigit(c) != Character.isDigit(term.charAt(term.length() - 1)))) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+            if (wordChar) {
+                term.append(c);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
     // No need to write setCustomerId() or any other getters/setters.
     // Lombok's @Data annotation will handle all the others that are not explicitly written.
 }
@@ -0,0 +1,68 @@
+package com.bank.customerservice.infrastructure.adapter.in.scheduler;
+
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * The inbound adapter that runs the nightly export of every customer to a local NDJSON file.
+ * Customers are pulled from the export stream one small batch at a time while they are written,
+ * so the job runs in constant memory no matter how large the table is.
+ */
+@Component
+@ConditionalOnProperty(prefix = "customer.export.file", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerExportJob {
+
+    // How many customers are requested from the stream ahead of the file writer.
+    private static final int PREFETCH = 256;
+
+    private final ExportCustomersUseCase exportCustomersUseCase;
+    private final CustomerExportProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Scheduled(cron = "${customer.export.file.cron}")
+    public void exportToFile() throws IOException {
+        Path directory = properties.getFile().getDirectory();
+        Files.createDirectories(directory);
+        Path target = directory.resolve("customers-" + LocalDate.now() + ".ndjson");
+        Path partial = directory.resolve(target.getFileName() + ".part");
+
+        log.info("Starting customer export to {}", target);
+        long count = 0;
+        Iterator<CustomerResponse> customers = Flux.from(exportCustomersUseCase.exportCustomers(properties.getTotalSegments()))
+                .map(CustomerResponse::fromDomain)
+                .toIterable(PREFETCH)
+                .iterator();
+
+        ObjectWriter json = objectMapper.writerFor(CustomerResponse.class);
+        try (BufferedWriter writer = Files.newBufferedWriter(partial)) {
+            while (customers.hasNext()) {
+                writer.write(json.writeValueAsString(customers.next()));
+                writer.newLine();
+                count++;
+            }
+        }
+
+        // Only a complete export ever appears under the final name.
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported {} customers to {}", count, target);
+    }
+}
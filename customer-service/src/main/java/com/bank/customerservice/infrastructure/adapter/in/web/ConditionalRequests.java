@@ -0,0 +1,123 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Conditional request handling for single customers, shared by {@link CustomerController} and
+ * {@link ReactiveCustomerController}.
+ * <p>
+ * A customer's ETag is its version, e.g. {@code "3"}: every change goes through a write that increments
+ * it, so it is a strong validator without hashing the body. Customers registered before versioning
+ * have no version and get {@code "0"} until their first change. The same tag is what PATCH expects in If-Match.
+ */
+final class ConditionalRequests {
+
+    // DynamoDB's IN takes at most 100 operands.
+    static final int MAX_IF_MATCH_TAGS = 100;
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Answers a read of a customer: 304 NOT MODIFIED without a body if the client already holds this version,
+     * or 200 OK with the customer otherwise. Both carry the ETag and Cache-Control headers.
+     * @param customer    The customer that was read.
+     * @param ifNoneMatch The client's If-None-Match header, or null.
+     * @param properties  The Cache-Control settings.
+     */
+    static ResponseEntity<CustomerResponse> read(Customer customer, String ifNoneMatch, CustomerHttpCacheProperties properties) {
+        String eTag = eTagOf(customer);
+        if (matchesAny(ifNoneMatch, eTag)) {
+            // Nothing to serialize: the client's copy is current.
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl(properties)).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl(properties)).body(CustomerResponse.fromDomain(customer));
+    }
+
+    /**
+     * The quoted ETag of a customer's current state.
+     */
+    static String eTagOf(Customer customer) {
+        return "\"" + (customer.getVersion() != null ? customer.getVersion() : 0L) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches the ETag: "*", or a list of tags of which one is equal,
+     * ignoring the weak prefix (If-None-Match uses weak comparison).
+     */
+    static boolean matchesAny(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the versions a change may be applied to from an If-Match header: "*", or a list of ETags of which
+     * any may match. If-Match uses strong comparison, so weak tags never match, and neither do tags that are
+     * not a version.
+     * @return The versions of the strong tags, or null if the header is missing or "*" (any stored version).
+     * @throws ResponseStatusException A 400 BAD REQUEST if the header is malformed, or a 412 PRECONDITION FAILED
+     * if none of its tags can match.
+     */
+    static Set<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        int tags = 0;
+        for (String element : ifMatch.split(",")) {
+            String tag = element.trim();
+            if (tag.isEmpty()) {
+                continue; // Empty list elements are allowed and ignored.
+            }
+            if (++tags > MAX_IF_MATCH_TAGS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match may hold at most " + MAX_IF_MATCH_TAGS + " tags");
+            }
+            boolean weak = tag.startsWith("W/");
+            String opaque = weak ? tag.substring(2) : tag;
+            if (opaque.length() < 2 || !opaque.startsWith("\"") || !opaque.endsWith("\"")
+                    || opaque.substring(1, opaque.length() - 1).contains("\"")) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "If-Match must be \"*\" or a list of ETags, e.g. \"3\"");
+            }
+            String version = opaque.substring(1, opaque.length() - 1);
+            if (!weak && version.matches("\\d{1,18}")) {
+                versions.add(Long.parseLong(version));
+            }
+        }
+        if (tags == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be \"*\" or a list of ETags, e.g. \"3\"");
+        }
+        if (versions.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "No If-Match tag can match: weak tags never do, and a customer's ETag is its version, e.g. \"3\"");
+        }
+        return versions;
+    }
+
+    private static CacheControl cacheControl(CustomerHttpCacheProperties properties) {
+        CacheControl cacheControl = properties.getMaxAge().isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(properties.getMaxAge());
+        return properties.isCachePrivate() ? cacheControl.cachePrivate() : cacheControl;
+    }
+}
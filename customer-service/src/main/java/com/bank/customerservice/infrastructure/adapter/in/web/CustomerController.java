@@ -1,39 +1,91 @@
 package com.bank.customerservice.infrastructure.adapter.in.web;
 
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
 import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
 import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
 import com.bank.customerservice.application.port.in.RegisterCustomerUseCase;
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.in.UpdateCustomerCommand;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BatchGetCustomersRequest;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BatchGetCustomersResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BulkRegistrationResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerPageResponse;
 import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerSearchResponse;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * The REST Controller (inbound adapter) that exposes our customer services over HTTP.
  * It depends on the use case interfaces (ports), not the concrete service implementations.
+ * Collection-level custom methods (e.g. "/customers:batchCreate") need the full "/customers" prefix
+ * on every mapping, which is why the class-level mapping stops at the API version.
+ * This adapter serves the default servlet stack; {@link ReactiveCustomerController} serves the same API
+ * when the service runs on WebFlux.
  */
 @RestController
-@RequestMapping("/api/v1/customers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class CustomerController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final RegisterCustomerUseCase registerCustomerUseCase;
     private final FindCustomerByIdUseCase findCustomerByIdUseCase; // The new use case for finding customers
+    private final FindCustomerByEmailUseCase findCustomerByEmailUseCase;
+    private final FindCustomerByCpfUseCase findCustomerByCpfUseCase;
+    private final BulkRegisterCustomersUseCase bulkRegisterCustomersUseCase;
+    private final FindCustomersByIdsUseCase findCustomersByIdsUseCase;
+    private final ExportCustomersUseCase exportCustomersUseCase;
+    private final ListCustomersUseCase listCustomersUseCase;
+    private final SearchCustomersUseCase searchCustomersUseCase;
+    private final UpdateCustomerUseCase updateCustomerUseCase;
+    private final CustomerExportProperties exportProperties;
+    private final CustomerHttpCacheProperties httpCacheProperties;
+    private final ObjectMapper objectMapper;
 
     /**
      * Handles the HTTP POST request to register a new customer.
-     * @param command The request body containing customer details.
+     * A client that sends an Idempotency-Key header can safely retry the request: retries with the same
+     * key get the customer registered by the first attempt, with the same 201 response.
+     * @param command        The request body containing customer details.
+     * @param idempotencyKey Optional key identifying this registration across retries.
      * @return A CompletableFuture that resolves to a 201 CREATED response with the new customer's data.
      */
-    @PostMapping
+    @PostMapping("/customers")
     public CompletableFuture<ResponseEntity<CustomerResponse>> registerCustomer(
-            @Valid @RequestBody RegisterCustomerCommand command) {
+            @Valid @RequestBody RegisterCustomerCommand command,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        return registerCustomerUseCase.registerCustomer(command)
+        return registerCustomerUseCase.registerCustomer(command, idempotencyKey)
                 .thenApply(createdCustomer ->
                         ResponseEntity
                                 .status(HttpStatus.CREATED)
@@ -41,17 +93,179 @@ public class CustomerController {
                 );
     }
 
+    /**
+     * Handles the HTTP POST request to register many customers at once from a JSON array
+     * of at most {@value BulkRegisterCustomersUseCase#MAX_CUSTOMERS} items.
+     * @param commands The request body: a JSON array of customer details.
+     * @return A CompletableFuture that resolves to a 200 OK response with one result per submitted item.
+     */
+    @PostMapping(value = "/customers:batchCreate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<BulkRegistrationResponse>> registerCustomers(
+            @RequestBody List<RegisterCustomerCommand> commands) {
+
+        return bulkRegisterCustomersUseCase.registerCustomers(commands)
+                .thenApply(result -> ResponseEntity.ok(BulkRegistrationResponse.fromResult(result)));
+    }
+
+    /**
+     * Handles the HTTP POST request to register many customers at once from newline-delimited JSON,
+     * one customer per line, which is easier for partners to produce from large exports.
+     * @param body The request body stream.
+     * @return A CompletableFuture that resolves to a 200 OK response with one result per submitted line.
+     */
+    @PostMapping(value = "/customers:batchCreate", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<BulkRegistrationResponse>> registerCustomersFromNdjson(
+            InputStream body) throws IOException {
+
+        // Stops reading past the limit instead of buffering an oversized body.
+        List<RegisterCustomerCommand> commands = new ArrayList<>();
+        try (MappingIterator<RegisterCustomerCommand> lines = objectMapper.readerFor(RegisterCustomerCommand.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (commands.size() == BulkRegisterCustomersUseCase.MAX_CUSTOMERS) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "At most " + BulkRegisterCustomersUseCase.MAX_CUSTOMERS + " customers can be registered in one request");
+                }
+                commands.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed NDJSON body: " + e.getOriginalMessage(), e);
+        }
+        return registerCustomers(commands);
+    }
+
     /**
      * Handles the HTTP GET request to find a customer by their unique ID.
-     * @param customerId The ID of the customer, passed in the URL path.
-     * @return A CompletableFuture that resolves to a 200 OK response with the customer's data,
+     * The response carries the customer's version as ETag. A client that polls the customer sends it back
+     * as If-None-Match and gets a 304 NOT MODIFIED without a body while it is current; a customer held
+     * by the local cache is revalidated without reading the store.
+     * @param customerId  The ID of the customer, passed in the URL path.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A CompletableFuture that resolves to a 200 OK response with the customer's data, a 304 NOT MODIFIED,
      * or a 404 NOT FOUND if the CustomerNotFoundException is thrown from the service.
      */
-    @GetMapping("/{customerId}")
+    @GetMapping("/customers/{customerId}")
     public CompletableFuture<ResponseEntity<CustomerResponse>> findCustomerById(
-            @PathVariable String customerId) {
+            @PathVariable String customerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         return findCustomerByIdUseCase.findCustomerById(customerId)
-                .thenApply(customer -> ResponseEntity.ok(CustomerResponse.fromDomain(customer)));
+                .thenApply(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP GET request to find a customer by their email address.
+     * @param email       The email address, passed as the "email" query parameter.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A CompletableFuture that resolves to a 200 OK response with the customer's data, a 304 NOT MODIFIED,
+     * or a 404 NOT FOUND if no customer owns that email.
+     */
+    @GetMapping(value = "/customers", params = "email")
+    public CompletableFuture<ResponseEntity<CustomerResponse>> findCustomerByEmail(
+            @RequestParam String email,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return findCustomerByEmailUseCase.findCustomerByEmail(email)
+                .thenApply(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP GET request to find a customer by their CPF, for KYC checks.
+     * @param cpf         The CPF, as 11 digits or formatted as 000.000.000-00, passed as the "cpf" query parameter.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A CompletableFuture that resolves to a 200 OK response with the customer's data, a 304 NOT MODIFIED,
+     * a 400 BAD REQUEST if the CPF is not valid, or a 404 NOT FOUND if no customer owns it.
+     */
+    @GetMapping(value = "/customers", params = {"cpf", "!email"})
+    public CompletableFuture<ResponseEntity<CustomerResponse>> findCustomerByCpf(
+            @RequestParam String cpf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return findCustomerByCpfUseCase.findCustomerByCpf(cpf)
+                .thenApply(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP PATCH request to change some of a customer's data; fields left out are not changed.
+     * A client that sends the ETag it last read as If-Match (e.g. {@code "3"}) only changes that version:
+     * if someone else changed the customer in the meantime, it gets a 409 CONFLICT and should read it again.
+     * @param customerId The ID of the customer, passed in the URL path.
+     * @param command    The request body with the fields to change.
+     * @param ifMatch    Optional ETags of the versions the change may be applied to; "*" or no header changes
+     *                   whichever version is stored. Weak tags never match.
+     * @return A CompletableFuture that resolves to a 200 OK response with the updated customer and its new ETag,
+     * a 400 BAD REQUEST if If-Match is malformed, a 404 NOT FOUND, a 409 CONFLICT if the version no longer
+     * matches, or a 412 PRECONDITION FAILED if If-Match holds no tag that can match any version.
+     */
+    @PatchMapping("/customers/{customerId}")
+    public CompletableFuture<ResponseEntity<CustomerResponse>> updateCustomer(
+            @PathVariable String customerId,
+            @Valid @RequestBody UpdateCustomerCommand command,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return updateCustomerUseCase.updateCustomer(customerId, command, ConditionalRequests.expectedVersions(ifMatch))
+                .thenApply(customer -> ResponseEntity.ok()
+                        .eTag(ConditionalRequests.eTagOf(customer))
+                        .body(CustomerResponse.fromDomain(customer)));
+    }
+
+    /**
+     * Handles the HTTP GET request to page through all customers.
+     * @param limit  The maximum number of customers on the page (1-100, default 20).
+     * @param cursor The "nextCursor" of the previous page; omit it for the first page.
+     * @param fields Optional comma-separated list of fields to return (e.g. "firstName,email").
+     * @return A CompletableFuture that resolves to a 200 OK response with the page.
+     */
+    @GetMapping(value = "/customers", params = {"!email", "!cpf"})
+    public CompletableFuture<ResponseEntity<CustomerPageResponse>> listCustomers(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> fields) {
+
+        return listCustomersUseCase.listCustomers(limit, cursor, fields == null ? Set.of() : new LinkedHashSet<>(fields))
+                .thenApply(page -> ResponseEntity.ok(CustomerPageResponse.fromPage(page)));
+    }
+
+    /**
+     * Handles the HTTP GET request to search customers by part of their name or email, for the back office.
+     * @param q     The words to search for; each must start a word of the customer's name or email.
+     * @param limit The maximum number of customers to return (1-50, default 20).
+     * @return A CompletableFuture that resolves to a 200 OK response with the matches, most recently indexed first.
+     */
+    @GetMapping("/customers/search")
+    public CompletableFuture<ResponseEntity<CustomerSearchResponse>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return searchCustomersUseCase.searchCustomers(q, limit)
+                .thenApply(customers -> ResponseEntity.ok(CustomerSearchResponse.fromDomain(customers)));
+    }
+
+    /**
+     * Handles the HTTP POST request to find many customers by their IDs in a single call.
+     * @param request The request body containing up to {@value BatchGetCustomersRequest#MAX_IDS} customer IDs.
+     * @return A CompletableFuture that resolves to a 200 OK response with the customers that were found
+     * and the IDs that were not.
+     */
+    @PostMapping("/customers:batchGet")
+    public CompletableFuture<ResponseEntity<BatchGetCustomersResponse>> findCustomersByIds(
+            @Valid @RequestBody BatchGetCustomersRequest request) {
+
+        return findCustomersByIdsUseCase.findCustomersByIds(request.customerIds())
+                .thenApply(result -> ResponseEntity.ok(BatchGetCustomersResponse.fromResult(result)));
+    }
+
+    /**
+     * Handles the HTTP GET request to export every customer as newline-delimited JSON.
+     * The response is streamed: customers are read from the store only as fast as the client consumes them.
+     * @param segments Optional number of parallel scan segments; defaults to customer.export.total-segments.
+     * @return A Flux that is written to the response one customer per line.
+     */
+    @GetMapping(value = "/customers:export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponse> exportCustomers(
+            @RequestParam(required = false) Integer segments) {
+
+        int totalSegments = segments != null ? segments : exportProperties.getTotalSegments();
+        return Flux.from(exportCustomersUseCase.exportCustomers(totalSegments))
+                .map(CustomerResponse::fromDomain);
     }
 }
@@ -0,0 +1,258 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.application.port.in.RegisterCustomerUseCase;
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.in.UpdateCustomerCommand;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BatchGetCustomersRequest;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BatchGetCustomersResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.BulkRegistrationResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerPageResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerSearchResponse;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The WebFlux counterpart of {@link CustomerController}, active when the service runs on Reactor Netty
+ * (the {@code reactive} profile). It exposes the same API through the same use cases, but nothing
+ * between the socket and DynamoDB blocks a thread: request bodies are decoded without blocking, the use
+ * cases' futures are adapted lazily into Monos, and the export is written as the client reads it.
+ * A handful of event-loop threads can then hold as many open connections as the pod has memory for.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController {
+
+    private final RegisterCustomerUseCase registerCustomerUseCase;
+    private final FindCustomerByIdUseCase findCustomerByIdUseCase;
+    private final FindCustomerByEmailUseCase findCustomerByEmailUseCase;
+    private final FindCustomerByCpfUseCase findCustomerByCpfUseCase;
+    private final BulkRegisterCustomersUseCase bulkRegisterCustomersUseCase;
+    private final FindCustomersByIdsUseCase findCustomersByIdsUseCase;
+    private final ExportCustomersUseCase exportCustomersUseCase;
+    private final ListCustomersUseCase listCustomersUseCase;
+    private final SearchCustomersUseCase searchCustomersUseCase;
+    private final UpdateCustomerUseCase updateCustomerUseCase;
+    private final CustomerExportProperties exportProperties;
+    private final CustomerHttpCacheProperties httpCacheProperties;
+
+    /**
+     * Handles the HTTP POST request to register a new customer.
+     * Retries that carry the same Idempotency-Key header get the customer registered by the first attempt.
+     * @param command        The request body containing customer details.
+     * @param idempotencyKey Optional key identifying this registration across retries.
+     * @return A Mono of a 201 CREATED response with the new customer's data.
+     */
+    @PostMapping("/customers")
+    public Mono<ResponseEntity<CustomerResponse>> registerCustomer(
+            @Valid @RequestBody Mono<RegisterCustomerCommand> command,
+            @RequestHeader(value = CustomerController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        return command
+                .flatMap(c -> Mono.fromFuture(() -> registerCustomerUseCase.registerCustomer(c, idempotencyKey)))
+                .map(createdCustomer ->
+                        ResponseEntity
+                                .status(HttpStatus.CREATED)
+                                .body(CustomerResponse.fromDomain(createdCustomer))
+                );
+    }
+
+    /**
+     * Handles the HTTP POST request to register many customers at once from a JSON array
+     * of at most {@value BulkRegisterCustomersUseCase#MAX_CUSTOMERS} items.
+     * @param commands The request body: a JSON array of customer details.
+     * @return A Mono of a 200 OK response with one result per submitted item.
+     */
+    @PostMapping(value = "/customers:batchCreate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BulkRegistrationResponse>> registerCustomers(
+            @RequestBody Mono<List<RegisterCustomerCommand>> commands) {
+
+        return commands.flatMap(this::registerAll);
+    }
+
+    /**
+     * Handles the HTTP POST request to register many customers at once from newline-delimited JSON,
+     * one customer per line. The batch is validated and de-duplicated as a whole, so its lines are
+     * collected before registering them; a malformed line is answered with 400.
+     * @param commands The request body, one command per line.
+     * @return A Mono of a 200 OK response with one result per submitted line, or a 400 BAD REQUEST
+     * if there are more than {@value BulkRegisterCustomersUseCase#MAX_CUSTOMERS} lines.
+     */
+    @PostMapping(value = "/customers:batchCreate", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<BulkRegistrationResponse>> registerCustomersFromNdjson(
+            @RequestBody Flux<RegisterCustomerCommand> commands) {
+
+        // Stops reading one line past the limit instead of buffering an oversized body.
+        return commands.take(BulkRegisterCustomersUseCase.MAX_CUSTOMERS + 1L)
+                .collectList()
+                .flatMap(list -> list.size() > BulkRegisterCustomersUseCase.MAX_CUSTOMERS
+                        ? Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "At most " + BulkRegisterCustomersUseCase.MAX_CUSTOMERS + " customers can be registered in one request"))
+                        : registerAll(list));
+    }
+
+    /**
+     * Handles the HTTP GET request to find a customer by their unique ID, answering 304 NOT MODIFIED
+     * if the If-None-Match header holds the customer's current ETag.
+     * @param customerId  The ID of the customer, passed in the URL path.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A Mono of a 200 OK response with the customer's data, a 304 NOT MODIFIED, or a 404 NOT FOUND.
+     */
+    @GetMapping("/customers/{customerId}")
+    public Mono<ResponseEntity<CustomerResponse>> findCustomerById(
+            @PathVariable String customerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return Mono.fromFuture(() -> findCustomerByIdUseCase.findCustomerById(customerId))
+                .map(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP GET request to find a customer by their email address.
+     * @param email       The email address, passed as the "email" query parameter.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A Mono of a 200 OK response with the customer's data, a 304 NOT MODIFIED, or a 404 NOT FOUND.
+     */
+    @GetMapping(value = "/customers", params = "email")
+    public Mono<ResponseEntity<CustomerResponse>> findCustomerByEmail(
+            @RequestParam String email,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return Mono.fromFuture(() -> findCustomerByEmailUseCase.findCustomerByEmail(email))
+                .map(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP GET request to find a customer by their CPF, for KYC checks.
+     * @param cpf         The CPF, as 11 digits or formatted as 000.000.000-00, passed as the "cpf" query parameter.
+     * @param ifNoneMatch Optional ETag(s) of the copy the client already has.
+     * @return A Mono of a 200 OK response with the customer's data, a 304 NOT MODIFIED,
+     * a 400 BAD REQUEST if the CPF is not valid, or a 404 NOT FOUND.
+     */
+    @GetMapping(value = "/customers", params = {"cpf", "!email"})
+    public Mono<ResponseEntity<CustomerResponse>> findCustomerByCpf(
+            @RequestParam String cpf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return Mono.fromFuture(() -> findCustomerByCpfUseCase.findCustomerByCpf(cpf))
+                .map(customer -> ConditionalRequests.read(customer, ifNoneMatch, httpCacheProperties));
+    }
+
+    /**
+     * Handles the HTTP PATCH request to change some of a customer's data; fields left out are not changed.
+     * @param customerId The ID of the customer, passed in the URL path.
+     * @param command    The request body with the fields to change.
+     * @param ifMatch    Optional ETags of the versions the change may be applied to; "*" or no header changes
+     *                   whichever version is stored. Weak tags never match.
+     * @return A Mono of a 200 OK response with the updated customer and its new ETag, a 400 BAD REQUEST if
+     * If-Match is malformed, a 404 NOT FOUND, a 409 CONFLICT if the version no longer matches, or a
+     * 412 PRECONDITION FAILED if If-Match holds no tag that can match any version.
+     */
+    @PatchMapping("/customers/{customerId}")
+    public Mono<ResponseEntity<CustomerResponse>> updateCustomer(
+            @PathVariable String customerId,
+            @Valid @RequestBody Mono<UpdateCustomerCommand> command,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        Set<Long> expectedVersions = ConditionalRequests.expectedVersions(ifMatch);
+        return command
+                .flatMap(c -> Mono.fromFuture(() -> updateCustomerUseCase.updateCustomer(customerId, c, expectedVersions)))
+                .map(customer -> ResponseEntity.ok()
+                        .eTag(ConditionalRequests.eTagOf(customer))
+                        .body(CustomerResponse.fromDomain(customer)));
+    }
+
+    /**
+     * Handles the HTTP GET request to page through all customers.
+     * @param limit  The maximum number of customers on the page (1-100, default 20).
+     * @param cursor The "nextCursor" of the previous page; omit it for the first page.
+     * @param fields Optional comma-separated list of fields to return (e.g. "firstName,email").
+     * @return A Mono of a 200 OK response with the page.
+     */
+    @GetMapping(value = "/customers", params = {"!email", "!cpf"})
+    public Mono<ResponseEntity<CustomerPageResponse>> listCustomers(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) List<String> fields) {
+
+        Set<String> requestedFields = fields == null ? Set.of() : new LinkedHashSet<>(fields);
+        return Mono.fromFuture(() -> listCustomersUseCase.listCustomers(limit, cursor, requestedFields))
+                .map(page -> ResponseEntity.ok(CustomerPageResponse.fromPage(page)));
+    }
+
+    /**
+     * Handles the HTTP GET request to search customers by part of their name or email, for the back office.
+     * @param q     The words to search for; each must start a word of the customer's name or email.
+     * @param limit The maximum number of customers to return (1-50, default 20).
+     * @return A Mono of a 200 OK response with the matches, most recently indexed first.
+     */
+    @GetMapping("/customers/search")
+    public Mono<ResponseEntity<CustomerSearchResponse>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return Mono.fromFuture(() -> searchCustomersUseCase.searchCustomers(q, limit))
+                .map(customers -> ResponseEntity.ok(CustomerSearchResponse.fromDomain(customers)));
+    }
+
+    /**
+     * Handles the HTTP POST request to find many customers by their IDs in a single call.
+     * @param request The request body containing up to {@value BatchGetCustomersRequest#MAX_IDS} customer IDs.
+     * @return A Mono of a 200 OK response with the customers that were found and the IDs that were not.
+     */
+    @PostMapping("/customers:batchGet")
+    public Mono<ResponseEntity<BatchGetCustomersResponse>> findCustomersByIds(
+            @Valid @RequestBody Mono<BatchGetCustomersRequest> request) {
+
+        return request
+                .flatMap(r -> Mono.fromFuture(() -> findCustomersByIdsUseCase.findCustomersByIds(r.customerIds())))
+                .map(result -> ResponseEntity.ok(BatchGetCustomersResponse.fromResult(result)));
+    }
+
+    /**
+     * Handles the HTTP GET request to export every customer as newline-delimited JSON.
+     * Demand flows from the client's TCP window back to the table scan, so a slow reader slows the
+     * scan down instead of making the service buffer the table.
+     * @param segments Optional number of parallel scan segments; defaults to customer.export.total-segments.
+     * @return A Flux that is written to the response one customer per line.
+     */
+    @GetMapping(value = "/customers:export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponse> exportCustomers(
+            @RequestParam(required = false) Integer segments) {
+
+        int totalSegments = segments != null ? segments : exportProperties.getTotalSegments();
+        return Flux.from(exportCustomersUseCase.exportCustomers(totalSegments))
+                .map(CustomerResponse::fromDomain);
+    }
+
+    private Mono<ResponseEntity<BulkRegistrationResponse>> registerAll(List<RegisterCustomerCommand> commands) {
+        return Mono.fromFuture(() -> bulkRegisterCustomersUseCase.registerCustomers(commands))
+                .map(result -> ResponseEntity.ok(BulkRegistrationResponse.fromResult(result)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * A DTO carrying the IDs of the customers to look up in a single batch call.
+ */
+public record BatchGetCustomersRequest(
+        @NotEmpty(message = "customerIds cannot be empty")
+        @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " customerIds can be requested at once")
+        List<@NotBlank(message = "customerIds cannot contain blank values") String> customerIds
+) {
+    public static final int MAX_IDS = 1000;
+}
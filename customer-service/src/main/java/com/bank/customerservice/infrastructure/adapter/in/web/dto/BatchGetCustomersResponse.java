@@ -0,0 +1,20 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import com.bank.customerservice.application.port.in.CustomerLookupResult;
+
+import java.util.List;
+
+/**
+ * A DTO representing the customers found by a batch lookup, and the IDs that were not found.
+ */
+public record BatchGetCustomersResponse(
+        List<CustomerResponse> customers,
+        List<String> missingIds
+) {
+    public static BatchGetCustomersResponse fromResult(CustomerLookupResult result) {
+        return new BatchGetCustomersResponse(
+                result.found().stream().map(CustomerResponse::fromDomain).toList(),
+                result.missingIds()
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import com.bank.customerservice.application.port.in.BulkRegistrationResult;
+
+import java.util.List;
+
+/**
+ * A DTO representing the per-item report sent back to the client after a bulk registration.
+ */
+public record BulkRegistrationResponse(
+        long created,
+        long rejected,
+        List<BulkRegistrationResult.ItemResult> items
+) {
+    public static BulkRegistrationResponse fromResult(BulkRegistrationResult result) {
+        long created = result.count(BulkRegistrationResult.Status.CREATED);
+        return new BulkRegistrationResponse(created, result.items().size() - created, result.items());
+    }
+}
@@ -0,0 +1,29 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import com.bank.customerservice.domain.model.Customer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * A DTO representing one customer of a listing page, holding only the fields the listing may return.
+ * The listing reads just the fields the client asked for, so the others are null and left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CustomerPageItem(
+        String customerId,
+        String firstName,
+        String lastName,
+        String email,
+        Instant createdAt
+) {
+    public static CustomerPageItem fromDomain(Customer customer) {
+        return new CustomerPageItem(
+                customer.getCustomerId(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getEmail(),
+                customer.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import com.bank.customerservice.application.port.out.CustomerPage;
+
+import java.util.List;
+
+/**
+ * A DTO representing one page of the customer listing.
+ * Pass {@code nextCursor} back as the "cursor" query parameter to get the next page; it is null on the last page.
+ */
+public record CustomerPageResponse(
+        List<CustomerPageItem> items,
+        String nextCursor
+) {
+    public static CustomerPageResponse fromPage(CustomerPage page) {
+        return new CustomerPageResponse(
+                page.customers().stream().map(CustomerPageItem::fromDomain).toList(),
+                page.nextCursor()
+        );
+    }
+}
@@ -13,7 +13,8 @@ public record CustomerResponse(
         String firstName,
         String lastName,
         String email,
-        Instant createdAt
+        Instant createdAt,
+        Long version
 ) {
     /**
      * A factory method to easily convert from our internal domain model
@@ -27,7 +28,8 @@ public record CustomerResponse(
                 customer.getFirstName(),
                 customer.getLastName(),
                 customer.getEmail(),
-                customer.getCreatedAt()
+                customer.getCreatedAt(),
+                customer.getVersion()
         );
     }
 }
@@ -0,0 +1,16 @@
+package com.bank.customerservice.infrastructure.adapter.in.web.dto;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.List;
+
+/**
+ * A DTO representing the customers that matched a search, most recently indexed first.
+ */
+public record CustomerSearchResponse(
+        List<CustomerResponse> items
+) {
+    public static CustomerSearchResponse fromDomain(List<Customer> customers) {
+        return new CustomerSearchResponse(customers.stream().map(CustomerResponse::fromDomain).toList());
+    }
+}
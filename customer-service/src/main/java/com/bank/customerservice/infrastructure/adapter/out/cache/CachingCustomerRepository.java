@@ -0,0 +1,182 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.model.Customer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A read-through cache decorator for the CustomerRepository port.
+ * Lookups by ID are served from a bounded, W-TinyLFU evicted Caffeine cache and only fall back
+ * to the wrapped adapter on a miss. Writes go straight to the wrapped adapter, and the customer a write
+ * stored then replaces the cached entry: loading it again instead could, from an eventually consistent
+ * store, return the state before the write and cache it for the whole TTL. A failed write invalidates it.
+ * As a MeterBinder it publishes the cache's hit, miss, load and eviction metrics as cache "customers".
+ */
+public class CachingCustomerRepository implements CustomerRepository, MeterBinder {
+
+    static final String CACHE_NAME = "customers";
+
+
+    private final CustomerRepository delegate;
+    private final AsyncCache<String, Optional<Customer>> cache;
+
+    public CachingCustomerRepository(CustomerRepository delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrMissingExpiry(ttl, negativeTtl))
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public CompletableFuture<Customer> save(Customer customer) {
+        return delegate.save(customer)
+                .whenComplete((saved, error) -> cacheWritten(customer.getCustomerId(), saved, error));
+    }
+
+    @Override
+    public CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event) {
+        // A brand-new ID may still have a cached "not found" entry from an earlier lookup.
+        return delegate.create(customer, event)
+                .whenComplete((created, error) -> cacheWritten(customer.getCustomerId(), created, error));
+    }
+
+    @Override
+    public CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        return delegate.update(customerId, update, expectedVersions)
+                .whenComplete((updated, error) -> cacheWritten(customerId, updated, error));
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> createAll(List<Customer> customers) {
+        return delegate.createAll(customers)
+                .whenComplete((result, error) -> customers.forEach(customer -> {
+                    if (error != null) {
+                        invalidate(customer.getCustomerId());
+                    } else if (result.created().contains(customer.getCustomerId())) {
+                        cacheWritten(customer.getCustomerId(), customer, null);
+                    }
+                }));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findById(String customerId) {
+        // Concurrent misses for the same key share a single load; failed loads are not cached.
+        return cache.get(customerId, (key, executor) -> delegate.findById(key));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds) {
+        // Only the IDs missing from the cache are passed on to the wrapped adapter, in a single call.
+        // IDs it does not find are cached as "not found", like single lookups.
+        return cache.getAll(customerIds, (missingIds, executor) -> delegate.findAllByIds(List.copyOf(missingIds))
+                        .thenApply(found -> {
+                            Map<String, Optional<Customer>> loaded = new HashMap<>();
+                            missingIds.forEach(customerId -> loaded.put(customerId, Optional.ofNullable(found.get(customerId))));
+                            return loaded;
+                        }))
+                .thenApply(cached -> {
+                    Map<String, Customer> found = new HashMap<>();
+                    cached.forEach((customerId, customer) -> customer.ifPresent(c -> found.put(customerId, c)));
+                    return found;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByCpf(String cpf) {
+        return delegate.findByCpf(cpf);
+    }
+
+    @Override
+    public CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes) {
+        return delegate.findPage(limit, cursor, attributes);
+    }
+
+    @Override
+    public Publisher<Customer> streamAll(int totalSegments) {
+        // Full-table streams bypass the cache: they would only evict the hot entries.
+        return delegate.streamAll(totalSegments);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Hit, miss, load and eviction counters accumulated since the cache was created.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    private void invalidate(String customerId) {
+        cache.synchronous().invalidate(customerId);
+    }
+
+    private void cacheWritten(String customerId, Customer written, Throwable error) {
+        if (error != null) {
+            invalidate(customerId);
+            return;
+        }
+        // Of two writes that complete out of order, the later version stays cached.
+        cache.asMap().compute(customerId, (key, cached) -> holdsLaterVersion(cached, written)
+                ? cached
+                : CompletableFuture.completedFuture(Optional.of(written)));
+    }
+
+    private static boolean holdsLaterVersion(CompletableFuture<Optional<Customer>> cached, Customer written) {
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally() || written.getVersion() == null) {
+            return false;
+        }
+        Long cachedVersion = cached.join().map(Customer::getVersion).orElse(null);
+        return cachedVersion != null && cachedVersion > written.getVersion();
+    }
+
+    /**
+     * Keeps found customers for the regular TTL and "not found" results for the (shorter) negative TTL.
+     */
+    private record FoundOrMissingExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<Customer>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<Customer> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<Customer> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<Customer> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
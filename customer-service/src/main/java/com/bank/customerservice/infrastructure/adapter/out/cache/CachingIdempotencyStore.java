@@ -0,0 +1,57 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.domain.model.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A local cache of completed idempotency records in front of the IdempotencyStore port.
+ * A completed record never changes, so once this instance has stored or seen one, retries with that
+ * key are answered from memory without a round trip; during a retry storm that is most of them.
+ * Claims of keys not in the cache, and keys still in progress, always go to the wrapped store, which
+ * is the only one that can arbitrate between instances.
+ */
+public class CachingIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyStore delegate;
+    private final Cache<String, IdempotencyRecord> completed;
+
+    public CachingIdempotencyStore(IdempotencyStore delegate, long maximumSize, Duration ttl) {
+        this.delegate = delegate;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Optional<IdempotencyRecord>> claim(String key, String requestHash) {
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(Optional.of(cached));
+        }
+        return delegate.claim(key, requestHash)
+                .thenApply(existing -> {
+                    existing.filter(IdempotencyRecord::isCompleted).ifPresent(record -> completed.put(key, record));
+                    return existing;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> complete(String key, String requestHash, Customer customer) {
+        return delegate.complete(key, requestHash, customer)
+                .thenRun(() -> completed.put(key, IdempotencyRecord.completed(requestHash, customer)));
+    }
+
+    @Override
+    public CompletableFuture<Void> release(String key, String requestHash) {
+        completed.invalidate(key);
+        return delegate.release(key, requestHash);
+    }
+}
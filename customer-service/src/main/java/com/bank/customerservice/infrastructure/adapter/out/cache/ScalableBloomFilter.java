@@ -0,0 +1,179 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe scalable Bloom filter of strings (Almeida et al., 2007).
+ * <p>
+ * It starts as one Bloom filter sized for {@code initialCapacity} strings. When that fills up, a
+ * filter twice as large is added, with a false-positive rate half as high, and so on; a string is
+ * present if any of the filters has it. The rates form a geometric series, so the overall false-positive
+ * rate stays below the target however far the filter grows: sizing the first filter for the
+ * expected number of strings only saves memory.
+ * <p>
+ * Bits are set with compare-and-set, so adds and lookups run concurrently without locks and never
+ * allocate; only adding a filter is synchronized. Strings are hashed once into two 64-bit values and
+ * the k bit positions are derived from them (Kirsch and Mitzenmacher), so each lookup costs one pass
+ * over the string and k cache misses per filter.
+ */
+final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private volatile Slice[] slices;
+
+    /**
+     * @param initialCapacity   The number of strings the first filter is sized for.
+     * @param falsePositiveRate The overall false-positive rate to stay below, e.g. 0.01.
+     */
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Capacity must be positive and the false-positive rate between 0 and 1");
+        }
+        this.slices = new Slice[]{new Slice(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO))};
+    }
+
+    boolean mightContain(CharSequence value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        for (Slice slice : slices) {
+            if (slice.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void add(CharSequence value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        Slice[] current = slices;
+        for (Slice slice : current) {
+            if (slice.mightContain(h1, h2)) {
+                return; // Counting it again would only fill the filter up sooner.
+            }
+        }
+        Slice last = current[current.length - 1];
+        while (!last.reserve()) {
+            last = grow(current);
+            current = slices;
+        }
+        last.put(h1, h2);
+    }
+
+    /**
+     * Approximately how many distinct strings were added.
+     */
+    long approximateCount() {
+        long count = 0;
+        for (Slice slice : slices) {
+            count += Math.min(slice.count.get(), slice.capacity);
+        }
+        return count;
+    }
+
+    /**
+     * Heap used by the bit arrays.
+     */
+    long sizeInBytes() {
+        long bytes = 0;
+        for (Slice slice : slices) {
+            bytes += 8L * slice.bits.length();
+        }
+        return bytes;
+    }
+
+    private synchronized Slice grow(Slice[] seen) {
+        Slice[] current = slices;
+        if (current == seen) {
+            Slice last = current[current.length - 1];
+            Slice[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = new Slice(last.capacity * GROWTH_FACTOR, last.falsePositiveRate * TIGHTENING_RATIO);
+            slices = grown;
+            current = grown;
+        }
+        return current[current.length - 1];
+    }
+
+    // FNV-1a over the UTF-16 code units; mix() then spreads it over all 64 bits.
+    private static long hash(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // The MurmurHash3 64-bit finalizer.
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * One classic Bloom filter, with the optimal number of bits and hash functions for its capacity
+     * and false-positive rate.
+     */
+    private static final class Slice {
+
+        final long capacity;
+        final double falsePositiveRate;
+        final AtomicLongArray bits;
+        final long bitCount;
+        final int hashCount;
+        final AtomicLong count = new AtomicLong();
+
+        Slice(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            long words = Math.max(1, (optimalBits + 63) / 64);
+            if (words > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter of " + capacity + " strings is too large");
+            }
+            this.bits = new AtomicLongArray((int) words);
+            this.bitCount = words * 64;
+            this.hashCount = Math.max(1, (int) Math.round(-Math.log(falsePositiveRate) / Math.log(2)));
+        }
+
+        boolean reserve() {
+            return count.getAndIncrement() < capacity;
+        }
+
+        boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = (combined & Long.MAX_VALUE) % bitCount;
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = (combined & Long.MAX_VALUE) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0) {
+                    long witness = bits.compareAndExchange(word, current, current | mask);
+                    if (witness == current) {
+                        break;
+                    }
+                    current = witness;
+                }
+                combined += h2;
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.bank.customerservice.infrastructure.adapter.out.email;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable, compiled set of rules that allow or deny email domains.
+ * <p>
+ * A rule names a domain and applies to it and all its subdomains ({@code mailinator.com} also covers
+ * {@code eu.mailinator.com}), or, written as {@code =domain}, to that domain only. For an address, the rule on
+ * its most specific domain wins: {@code deny xyz} with {@code allow good.xyz} rejects {@code a@bad.xyz}
+ * but accepts {@code a@mail.good.xyz}. Among rules on the same domain, deny wins. Domains no rule
+ * covers are allowed.
+ * <p>
+ * Lookups allocate nothing. The domain is walked right to left once, hashing its labels in reverse as
+ * it goes, so every suffix ({@code com}, {@code good.xyz}, ...) is looked up in an open-addressing
+ * table straight from the address's characters, with no substring or lower-case copy. The table packs
+ * all domains into one ASCII byte array with an int offset, hash and one flag byte per rule: half a
+ * million disposable domains take about 20 MB, a fraction of a HashSet of the same Strings. Rules
+ * with non-ASCII domains are skipped; internationalized domains must be listed in their punycode form.
+ */
+final class EmailDomainRules {
+
+    private static final byte ALLOW = 1;
+    private static final byte DENY = 2;
+    private static final byte ALLOW_EXACT = 4;
+    private static final byte DENY_EXACT = 8;
+
+    static final EmailDomainRules EMPTY = builder().build();
+
+    // The domains, back to back, and where each one starts; domain i ends where domain i + 1 starts.
+    private final byte[] domains;
+    private final int[] offsets;
+    private final int[] hashes;
+    private final byte[] flags;
+
+    // Open-addressing table of rule index + 1; 0 marks an empty slot. At most half full.
+    private final int[] slots;
+    private final int mask;
+
+    private EmailDomainRules(byte[] domains, int[] offsets, int[] hashes, byte[] flags, int[] slots) {
+        this.domains = domains;
+        this.offsets = offsets;
+        this.hashes = hashes;
+        this.flags = flags;
+        this.slots = slots;
+        this.mask = slots.length - 1;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return flags.length;
+    }
+
+    /**
+     * Approximate heap used by the compiled rules.
+     */
+    long sizeInBytes() {
+        return domains.length + 4L * offsets.length + 4L * hashes.length + flags.length + 4L * slots.length;
+    }
+
+    /**
+     * Decides whether the domain of an email address is allowed.
+     * @param email The email address; its domain is compared case-insensitively.
+     * @return Whether the address's domain is allowed; false for an address without a domain.
+     */
+    boolean isAllowed(CharSequence email) {
+        int end = email.length();
+        int at = end - 1;
+        while (at >= 0 && email.charAt(at) != '@') {
+            at--;
+        }
+        if (at < 0 || at == end - 1) {
+            return false;
+        }
+        if (email.charAt(end - 1) == '.') {
+            end--; // A fully qualified "example.com." is the same domain.
+        }
+
+        boolean allowed = true;
+        int hash = 0;
+        for (int i = end - 1; i >= at; i--) {
+            char c = i == at ? '.' : email.charAt(i);
+            if (c == '.' && i + 1 < end) {
+                // [i + 1, end) is the next, more specific suffix; its reversed hash is complete.
+                int rule = find(email, i + 1, end, hash);
+                if (i == at) {
+                    rule |= rule >>> 2; // Exact rules only apply to the whole domain.
+                }
+                if ((rule & DENY) != 0) {
+                    allowed = false;
+                } else if ((rule & ALLOW) != 0) {
+                    allowed = true;
+                }
+            }
+            hash = 31 * hash + lower(c);
+        }
+        return allowed;
+    }
+
+    private int find(CharSequence email, int from, int to, int hash) {
+        int slot = spread(hash) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return 0;
+            }
+            int rule = entry - 1;
+            if (hashes[rule] == hash && matches(rule, email, from, to)) {
+                return flags[rule];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean matches(int rule, CharSequence email, int from, int to) {
+        int start = offsets[rule];
+        if (offsets[rule + 1] - start != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (domains[start + i - from] != lower(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lower(char c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int reversedHash(String domain) {
+        int hash = 0;
+        for (int i = domain.length() - 1; i >= 0; i--) {
+            hash = 31 * hash + domain.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Collects rules and compiles them into an immutable EmailDomainRules.
+     */
+    static final class Builder {
+
+        private final Map<String, Byte> rules = new LinkedHashMap<>();
+        private int skipped;
+
+        private Builder() {
+        }
+
+        /**
+         * Allows a domain and its subdomains, or only the domain itself if it starts with "=".
+         */
+        Builder allow(String domain) {
+            return add(domain, ALLOW, ALLOW_EXACT);
+        }
+
+        /**
+         * Denies a domain and its subdomains, or only the domain itself if it starts with "=".
+         */
+        Builder deny(String domain) {
+            return add(domain, DENY, DENY_EXACT);
+        }
+
+        /**
+         * Rules skipped because their domain was empty or not ASCII.
+         */
+        int skipped() {
+            return skipped;
+        }
+
+        private Builder add(String domain, byte tree, byte exact) {
+            String normalized = domain.trim().toLowerCase(Locale.ROOT);
+            byte flag = tree;
+            if (normalized.startsWith("=")) {
+                normalized = normalized.substring(1);
+                flag = exact;
+            } else if (normalized.startsWith("*.")) {
+                normalized = normalized.substring(2);
+            } else if (normalized.startsWith(".")) {
+                normalized = normalized.substring(1);
+            }
+            if (normalized.endsWith(".")) {
+                normalized = normalized.substring(0, normalized.length() - 1);
+            }
+            if (normalized.isEmpty() || !isAscii(normalized)) {
+                skipped++;
+                return this;
+            }
+            rules.merge(normalized, flag, (a, b) -> (byte) (a | b));
+            return this;
+        }
+
+        private static boolean isAscii(String domain) {
+            for (int i = 0; i < domain.length(); i++) {
+                if (domain.charAt(i) > 127) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        EmailDomainRules build() {
+            int count = rules.size();
+            int[] offsets = new int[count + 1];
+            int[] hashes = new int[count];
+            byte[] flags = new byte[count];
+            int[] slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1)];
+            int mask = slots.length - 1;
+
+            int length = 0;
+            for (String domain : rules.keySet()) {
+                length += domain.length();
+            }
+            byte[] domains = new byte[length];
+
+            int rule = 0;
+            int offset = 0;
+            for (Map.Entry<String, Byte> entry : rules.entrySet()) {
+                String domain = entry.getKey();
+                byte[] ascii = domain.getBytes(StandardCharsets.US_ASCII);
+                System.arraycopy(ascii, 0, domains, offset, ascii.length);
+                offsets[rule] = offset;
+                offset += ascii.length;
+                hashes[rule] = reversedHash(domain);
+                flags[rule] = entry.getValue();
+
+                int slot = spread(hashes[rule]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = rule + 1;
+                rule++;
+            }
+            offsets[count] = offset;
+            return new EmailDomainRules(domains, offsets, hashes, flags, slots);
+        }
+    }
+}
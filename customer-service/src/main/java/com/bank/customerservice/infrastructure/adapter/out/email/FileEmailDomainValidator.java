@@ -0,0 +1,183 @@
+package com.bank.customerservice.infrastructure.adapter.out.email;
+
+import com.bank.customerservice.application.port.out.EmailValidationPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The EmailValidationPort on domain rules read from local files, reloaded when the files change.
+ * <ul>
+ *     <li>The rules file holds one rule per line, {@code allow <domain>} or {@code deny <domain>}.</li>
+ *     <li>The disposable-domains file holds one domain per line, e.g. a published list of throwaway
+ *     email providers; each line is a {@code deny} rule.</li>
+ * </ul>
+ * A domain covers its subdomains unless written as {@code =domain}; blank lines and lines starting with
+ * {@code #} are ignored. See {@link EmailDomainRules} for how rules are matched. Either file may be
+ * omitted; with neither, every domain is allowed.
+ * <p>
+ * The files are checked every {@code reloadInterval} for a new modification time or size. Changed files
+ * are compiled into a new rule set on the reload thread, which then replaces the old one in a single
+ * volatile write; lookups never wait for a reload. A file that cannot be read or parsed leaves the
+ * current rules in place. At startup, though, a configured file that cannot be read fails the startup.
+ */
+@Slf4j
+public class FileEmailDomainValidator implements EmailValidationPort, SmartLifecycle {
+
+    private final Path rulesFile;
+    private final Path disposableDomainsFile;
+    private final Duration reloadInterval;
+
+    private volatile EmailDomainRules rules;
+    private volatile List<FileVersion> loadedVersions;
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * @param rulesFile             The allow/deny rules file, or null for none.
+     * @param disposableDomainsFile The disposable-domains file, or null for none.
+     * @param reloadInterval        How often to check the files for changes; zero disables reloading.
+     */
+    public FileEmailDomainValidator(Path rulesFile, Path disposableDomainsFile, Duration reloadInterval) {
+        this.rulesFile = rulesFile;
+        this.disposableDomainsFile = disposableDomainsFile;
+        this.reloadInterval = reloadInterval;
+        try {
+            load(versions());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the email domain rules", e);
+        }
+    }
+
+    @Override
+    public boolean isEmailDomainAllowed(String email) {
+        return email != null && rules.isAllowed(email);
+    }
+
+    /**
+     * Recompiles the rules if a file has changed since it was last loaded.
+     * @return Whether new rules were loaded.
+     */
+    boolean reloadIfChanged() {
+        try {
+            List<FileVersion> current = versions();
+            if (current.equals(loadedVersions)) {
+                return false;
+            }
+            load(current);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not reload the email domain rules, keeping the current ones: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void load(List<FileVersion> versions) throws IOException {
+        long started = System.nanoTime();
+        EmailDomainRules.Builder builder = EmailDomainRules.builder();
+        if (rulesFile != null) {
+            readRules(builder);
+        }
+        if (disposableDomainsFile != null) {
+            readDisposableDomains(builder);
+        }
+        EmailDomainRules compiled = builder.build();
+        rules = compiled;
+        loadedVersions = versions;
+        log.info("Loaded {} email domain rules ({} KiB, {} skipped) in {} ms", compiled.size(),
+                compiled.sizeInBytes() / 1024, builder.skipped(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void readRules(EmailDomainRules.Builder builder) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(rulesFile)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts.length != 2 || !(parts[0].equals("allow") || parts[0].equals("deny"))) {
+                    throw new IOException(rulesFile + " line " + lineNumber + ": expected \"allow <domain>\" or \"deny <domain>\"");
+                }
+                if (parts[0].equals("allow")) {
+                    builder.allow(parts[1]);
+                } else {
+                    builder.deny(parts[1]);
+                }
+            }
+        }
+    }
+
+    private void readDisposableDomains(EmailDomainRules.Builder builder) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(disposableDomainsFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    builder.deny(line);
+                }
+            }
+        }
+    }
+
+    private List<FileVersion> versions() throws IOException {
+        List<FileVersion> versions = new ArrayList<>(2);
+        for (Path file : new Path[]{rulesFile, disposableDomainsFile}) {
+            if (file != null) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                versions.add(new FileVersion(file, attributes.lastModifiedTime().toMillis(), attributes.size()));
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public void start() {
+        if (reloadInterval.isZero() || reloadInterval.isNegative() || (rulesFile == null && disposableDomainsFile == null)) {
+            return;
+        }
+        ScheduledExecutorService started = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-rules-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reloadInterval.toMillis();
+        started.scheduleWithFixedDelay(this::reloadIfChanged, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        executor = started;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService running = executor;
+        executor = null;
+        if (running != null) {
+            running.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private record FileVersion(Path file, long lastModifiedMillis, long size) {
+
+        FileVersion {
+            Objects.requireNonNull(file);
+        }
+    }
+}
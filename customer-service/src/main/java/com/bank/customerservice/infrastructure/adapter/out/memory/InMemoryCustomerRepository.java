@@ -0,0 +1,260 @@
+package com.bank.customerservice.infrastructure.adapter.out.memory;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CpfAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of the CustomerRepository port that keeps customers in memory, for local runs,
+ * load tests and benchmarks that should not depend on LocalStack.
+ * It follows the DynamoDB adapter's semantics: emails and CPFs are claimed atomically through
+ * separate reservation indexes, reads return copies rather than the stored objects, and pages are read in
+ * a stable order behind an opaque cursor. There is no outbox: registration events are dropped.
+ * <p>
+ * With no latency configured every call completes before it returns. A latency moves the
+ * operation, and so its completion, onto another thread after that delay, like a remote store.
+ */
+public class InMemoryCustomerRepository implements CustomerRepository {
+
+    private final Map<String, Customer> customersById = new ConcurrentHashMap<>();
+
+    // Email -> customer ID, the equivalent of the email reservations in the unique-keys table.
+    private final Map<String, String> customerIdsByEmail = new ConcurrentHashMap<>();
+
+    // CPF -> customer ID, the equivalent of the CPF reservations.
+    private final Map<String, String> customerIdsByCpf = new ConcurrentHashMap<>();
+
+    // Customer IDs in cursor order, so that listing does not have to sort the whole store.
+    private final NavigableSet<String> orderedIds = new ConcurrentSkipListSet<>();
+
+    // Null when there is no simulated latency.
+    private final Executor latencyExecutor;
+
+    public InMemoryCustomerRepository(Duration latency) {
+        this.latencyExecutor = latency.isZero() || latency.isNegative()
+                ? null
+                : CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Customer> save(Customer customer) {
+        return complete(() -> {
+            store(customer);
+            return customer;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event) {
+        return complete(() -> {
+            // Claiming the email and the CPF are the atomic steps; the customer becomes visible only afterwards.
+            if (customerIdsByEmail.putIfAbsent(customer.getEmail(), customer.getCustomerId()) != null) {
+                throw new EmailAlreadyRegisteredException("Email already registered");
+            }
+            if (customerIdsByCpf.putIfAbsent(customer.getCpf(), customer.getCustomerId()) != null) {
+                customerIdsByEmail.remove(customer.getEmail(), customer.getCustomerId());
+                throw new CpfAlreadyRegisteredException("CPF already registered");
+            }
+            if (customersById.putIfAbsent(customer.getCustomerId(), copy(customer)) != null) {
+                customerIdsByEmail.remove(customer.getEmail(), customer.getCustomerId());
+                customerIdsByCpf.remove(customer.getCpf(), customer.getCustomerId());
+                throw new IllegalStateException("Customer " + customer.getCustomerId() + " already exists");
+            }
+            orderedIds.add(customer.getCustomerId());
+            return customer;
+        });
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> createAll(List<Customer> customers) {
+        return complete(() -> {
+            Set<String> created = new HashSet<>();
+            Set<String> emailTaken = new HashSet<>();
+            Set<String> cpfTaken = new HashSet<>();
+            for (Customer customer : customers) {
+                if (customerIdsByEmail.putIfAbsent(customer.getEmail(), customer.getCustomerId()) != null) {
+                    emailTaken.add(customer.getCustomerId());
+                } else if (customerIdsByCpf.putIfAbsent(customer.getCpf(), customer.getCustomerId()) != null) {
+                    customerIdsByEmail.remove(customer.getEmail(), customer.getCustomerId());
+                    cpfTaken.add(customer.getCustomerId());
+                } else {
+                    store(customer);
+                    created.add(customer.getCustomerId());
+                }
+            }
+            return new BulkCreateResult(created, emailTaken, cpfTaken, Map.of());
+        });
+    }
+
+    @Override
+    public CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        return complete(() -> {
+            // The version check and the change happen atomically for the customer's entry.
+            Customer updated = customersById.computeIfPresent(customerId, (id, stored) -> {
+                long version = stored.getVersion() == null ? 0 : stored.getVersion();
+                if (expectedVersions != null && !expectedVersions.contains(version)) {
+                    throw new CustomerVersionConflictException("Customer was changed by another request; read it again and retry");
+                }
+                Customer changed = copy(stored);
+                if (update.firstName() != null) {
+                    changed.setFirstName(update.firstName());
+                }
+                if (update.lastName() != null) {
+                    changed.setLastName(update.lastName());
+                }
+                changed.setVersion(version + 1);
+                return changed;
+            });
+            if (updated == null) {
+                throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
+            }
+            return copy(updated);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findById(String customerId) {
+        return complete(() -> Optional.ofNullable(customersById.get(customerId)).map(InMemoryCustomerRepository::copy));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds) {
+        return complete(() -> {
+            Map<String, Customer> found = new HashMap<>();
+            for (String customerId : customerIds) {
+                Customer customer = customersById.get(customerId);
+                if (customer != null) {
+                    found.put(customerId, copy(customer));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByEmail(String email) {
+        return complete(() -> Optional.ofNullable(customerIdsByEmail.get(email))
+                .map(customersById::get)
+                .map(InMemoryCustomerRepository::copy));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByCpf(String cpf) {
+        return complete(() -> Optional.ofNullable(customerIdsByCpf.get(cpf))
+                .map(customersById::get)
+                .map(InMemoryCustomerRepository::copy));
+    }
+
+    @Override
+    public CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes) {
+        String lastCustomerId;
+        try {
+            lastCustomerId = cursor == null ? null : decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("Invalid page cursor"));
+        }
+
+        return complete(() -> {
+            NavigableSet<String> remaining = lastCustomerId == null ? orderedIds : orderedIds.tailSet(lastCustomerId, false);
+            List<Customer> customers = new ArrayList<>(Math.min(limit, 64));
+            String lastRead = null;
+            for (String customerId : remaining) {
+                if (customers.size() == limit) {
+                    return new CustomerPage(customers, encodeCursor(lastRead));
+                }
+                Customer customer = customersById.get(customerId);
+                if (customer != null) {
+                    customers.add(project(customer, attributes));
+                    lastRead = customerId;
+                }
+            }
+            return new CustomerPage(customers, null);
+        });
+    }
+
+    @Override
+    public Publisher<Customer> streamAll(int totalSegments) {
+        // There is nothing to parallelize in memory; the segments only matter to DynamoDB.
+        return Flux.fromIterable(customersById.values())
+                .map(InMemoryCustomerRepository::copy);
+    }
+
+    private void store(Customer customer) {
+        customersById.put(customer.getCustomerId(), copy(customer));
+        orderedIds.add(customer.getCustomerId());
+    }
+
+    private <T> CompletableFuture<T> complete(Supplier<T> operation) {
+        if (latencyExecutor != null) {
+            return CompletableFuture.supplyAsync(operation, latencyExecutor);
+        }
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Stored customers are never handed out, so callers that modify what they read cannot change the store.
+    private static Customer copy(Customer customer) {
+        return new Customer(customer.getCustomerId(), customer.getFirstName(), customer.getLastName(),
+                customer.getEmail(), customer.getCpf(), customer.getCreatedAt(), customer.getVersion());
+    }
+
+    private static Customer project(Customer customer, Set<String> attributes) {
+        if (attributes == null) {
+            return copy(customer);
+        }
+        return Customer.builder()
+                .customerId(attributes.contains("customerId") ? customer.getCustomerId() : null)
+                .firstName(attributes.contains("firstName") ? customer.getFirstName() : null)
+                .lastName(attributes.contains("lastName") ? customer.getLastName() : null)
+                .email(attributes.contains("email") ? customer.getEmail() : null)
+                .cpf(attributes.contains("cpf") ? customer.getCpf() : null)
+                .createdAt(attributes.contains("createdAt") ? customer.getCreatedAt() : null)
+                .version(attributes.contains("version") ? customer.getVersion() : null)
+                .build();
+    }
+
+    // Same format as the DynamoDB adapter's cursor: the last customer ID on the page, URL-safe encoded.
+    private static String encodeCursor(String customerId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(customerId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        String customerId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (customerId.isBlank()) {
+            throw new IllegalArgumentException("Empty cursor");
+        }
+        return customerId;
+    }
+}
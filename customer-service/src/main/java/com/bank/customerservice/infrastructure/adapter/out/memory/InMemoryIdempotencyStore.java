@@ -0,0 +1,38 @@
+package com.bank.customerservice.infrastructure.adapter.out.memory;
+
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.domain.model.Customer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An implementation of the IdempotencyStore port that keeps keys in memory, alongside
+ * {@link InMemoryCustomerRepository}. Keys are claimed atomically but never expire, so claims
+ * of a crashed request do not lapse; that is fine for the local runs and load tests it serves.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<Optional<IdempotencyRecord>> claim(String key, String requestHash) {
+        return CompletableFuture.completedFuture(
+                Optional.ofNullable(records.putIfAbsent(key, IdempotencyRecord.inProgress(requestHash))));
+    }
+
+    @Override
+    public CompletableFuture<Void> complete(String key, String requestHash, Customer customer) {
+        records.put(key, IdempotencyRecord.completed(requestHash, customer));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> release(String key, String requestHash) {
+        records.remove(key, IdempotencyRecord.inProgress(requestHash));
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,255 @@
+package com.bank.customerservice.infrastructure.adapter.out.messaging;
+
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerOutbox;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxItem;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxLeases;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Publishes the events of the {@link CustomerOutbox} to an SQS queue, in the background.
+ * <p>
+ * Each of {@code workers} threads owns every n-th shard and drains it oldest-first: it reads a page of
+ * events, sends them with SendMessageBatch in groups of 10, and only then deletes the events that SQS
+ * accepted. Delivery is at-least-once: an instance that stops between sending and deleting publishes
+ * those events again, so consumers should discard repeated event IDs.
+ * <p>
+ * Several instances may run the relay: a shard is only drained under its {@link OutboxLeases lease},
+ * so each shard has one publishing instance at a time and the others skip it.
+ * <p>
+ * A customer's events are published in the order they were written: a batch never carries two events
+ * of the same customer, and once an event fails the customer's later events wait for the next poll.
+ * SQS keeps that order for FIFO queues (the message group is the customer ID); a standard queue may
+ * still reorder deliveries.
+ * <p>
+ * Metrics: {@code customer.outbox.publish.lag} times each event from registration to publication,
+ * {@code customer.outbox.pending.age} is the age of the oldest unpublished event as of the last poll,
+ * and {@code customer.outbox.published} / {@code customer.outbox.publish.failures} count events.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    static final int MAX_BATCH_SIZE = 10;
+
+    private final CustomerOutbox outbox;
+    private final OutboxLeases leases;
+    private final SqsAsyncClient sqsClient;
+    private final String queueName;
+    private final int workers;
+    private final Duration pollInterval;
+    private final int pageSize;
+    private final Clock clock;
+
+    private final Timer publishLag;
+    private final Counter published;
+    private final Counter publishFailures;
+
+    // Age in milliseconds of the oldest pending event of each shard, as of its last poll.
+    private final AtomicLongArray pendingAgeMillis;
+
+    private volatile String queueUrl;
+    private volatile ScheduledExecutorService executor;
+
+    public OutboxRelay(CustomerOutbox outbox, OutboxLeases leases, SqsAsyncClient sqsClient, MeterRegistry meterRegistry,
+                       String queueName, int workers, Duration pollInterval, int pageSize, Clock clock) {
+        this.outbox = outbox;
+        this.leases = leases;
+        this.sqsClient = sqsClient;
+        this.queueName = queueName;
+        this.workers = Math.max(1, Math.min(workers, outbox.shards()));
+        this.pollInterval = pollInterval;
+        this.pageSize = pageSize;
+        this.clock = clock;
+        this.pendingAgeMillis = new AtomicLongArray(outbox.shards());
+
+        this.publishLag = Timer.builder("customer.outbox.publish.lag")
+                .description("Time from registration until the event was accepted by the queue")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("customer.outbox.published")
+                .description("Events accepted by the queue")
+                .register(meterRegistry);
+        this.publishFailures = Counter.builder("customer.outbox.publish.failures")
+                .description("Events the queue rejected; they are retried on the next poll")
+                .register(meterRegistry);
+        TimeGauge.builder("customer.outbox.pending.age", this, TimeUnit.MILLISECONDS, OutboxRelay::oldestPendingAgeMillis)
+                .description("Age of the oldest event not yet published")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ScheduledExecutorService started = Executors.newScheduledThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int worker = 0; worker < workers; worker++) {
+            int current = worker;
+            started.scheduleWithFixedDelay(() -> poll(current), 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        executor = started;
+        log.info("Publishing the customer outbox ({} shards) to queue {} with {} workers as lease owner {}",
+                outbox.shards(), queueName, workers, leases.owner());
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService running = executor;
+        executor = null;
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            leases.releaseAll();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void poll(int worker) {
+        for (int shard = worker; shard < outbox.shards(); shard += workers) {
+            try {
+                // The lease is checked before every page, and renewed when it runs low.
+                while (isRunning() && leases.tryAcquire(shard) && drainShard(shard)) {
+                    // A full page was published; read the next one right away.
+                }
+            } catch (RuntimeException e) {
+                log.warn("Publishing outbox shard {} failed, retrying in {}: {}", shard, pollInterval, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Publishes one page of a shard's events.
+     * @return Whether the shard may have more events that can be published right away.
+     */
+    boolean drainShard(int shard) {
+        List<OutboxItem> pending = outbox.findPending(shard, pageSize).join();
+        pendingAgeMillis.set(shard, pending.isEmpty()
+                ? 0
+                : Math.max(0, Duration.between(pending.get(0).getOccurredAt(), clock.instant()).toMillis()));
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        String url = queueUrl();
+        Set<String> heldCustomers = new HashSet<>(); // Customers with an earlier event that was not published.
+        List<OutboxItem> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        Set<String> batchCustomers = new HashSet<>();
+        for (OutboxItem item : pending) {
+            if (batch.size() == MAX_BATCH_SIZE || batchCustomers.contains(item.getCustomerId())) {
+                send(url, batch, heldCustomers);
+                batch.clear();
+                batchCustomers.clear();
+            }
+            if (!heldCustomers.contains(item.getCustomerId())) {
+                batch.add(item);
+                batchCustomers.add(item.getCustomerId());
+            }
+        }
+        if (!batch.isEmpty()) {
+            send(url, batch, heldCustomers);
+        }
+        return heldCustomers.isEmpty() && pending.size() == pageSize;
+    }
+
+    private void send(String url, List<OutboxItem> batch, Set<String> heldCustomers) {
+        boolean fifo = url.endsWith(".fifo");
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxItem item = batch.get(i);
+            SendMessageBatchRequestEntry.Builder entry = SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(item.getPayload())
+                    .messageAttributes(Map.of(
+                            "eventType", stringAttribute(item.getEventType()),
+                            "eventId", stringAttribute(item.getEventId()),
+                            "customerId", stringAttribute(item.getCustomerId())));
+            if (fifo) {
+                entry.messageGroupId(item.getCustomerId()).messageDeduplicationId(item.getEventId());
+            }
+            entries.add(entry.build());
+        }
+
+        // A failed call (e.g. the queue is unreachable) propagates and ends this poll of the shard.
+        SendMessageBatchResponse response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                .queueUrl(url)
+                .entries(entries)
+                .build()).join();
+
+        for (BatchResultErrorEntry failed : response.failed()) {
+            OutboxItem item = batch.get(Integer.parseInt(failed.id()));
+            heldCustomers.add(item.getCustomerId());
+            log.warn("Queue rejected event {} of customer {}: {} {}", item.getEventId(), item.getCustomerId(),
+                    failed.code(), failed.message());
+        }
+        publishFailures.increment(response.failed().size());
+
+        List<OutboxItem> sent = new ArrayList<>(response.successful().size());
+        for (SendMessageBatchResultEntry successful : response.successful()) {
+            sent.add(batch.get(Integer.parseInt(successful.id())));
+        }
+        if (sent.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        sent.forEach(item -> publishLag.record(Duration.between(item.getOccurredAt(), now)));
+        published.increment(sent.size());
+        outbox.remove(sent).join();
+    }
+
+    private String queueUrl() {
+        String url = queueUrl;
+        if (url == null) {
+            url = sqsClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build()).join().queueUrl();
+            queueUrl = url;
+        }
+        return url;
+    }
+
+    private long oldestPendingAgeMillis() {
+        long oldest = 0;
+        for (int shard = 0; shard < pendingAgeMillis.length(); shard++) {
+            oldest = Math.max(oldest, pendingAgeMillis.get(shard));
+        }
+        return oldest;
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+    }
+}
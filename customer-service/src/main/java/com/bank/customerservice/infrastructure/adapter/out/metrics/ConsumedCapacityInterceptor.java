@@ -0,0 +1,147 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.SdkResponse;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactGetItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.List;
+
+/**
+ * Counts the DynamoDB capacity units every call consumes, which is what on-demand tables are billed by.
+ * Requests that do not ask for their consumed capacity are made to return it ({@code TOTAL}), and the
+ * units in each successful response are added to the {@code aws.dynamodb.consumed.capacity} counter,
+ * tagged with the table, the operation and whether they are read or write units.
+ * <p>
+ * Calls that fail, e.g. a registration whose condition check fails, consume capacity too, but DynamoDB
+ * does not report it for them; the counter therefore slightly undercounts.
+ */
+public class ConsumedCapacityInterceptor implements ExecutionInterceptor {
+
+    static final String COUNTER_NAME = "aws.dynamodb.consumed.capacity";
+
+    private final MeterRegistry meterRegistry;
+
+    public ConsumedCapacityInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public SdkRequest modifyRequest(Context.ModifyRequest context, ExecutionAttributes executionAttributes) {
+        SdkRequest request = context.request();
+        if (request instanceof GetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof PutItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof UpdateItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof DeleteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof QueryRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof ScanRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchGetItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof BatchWriteItemRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof TransactGetItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        if (request instanceof TransactWriteItemsRequest r && r.returnConsumedCapacity() == null) {
+            return r.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build();
+        }
+        return request;
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        SdkResponse response = context.response();
+        if (response instanceof GetItemResponse r) {
+            record(operation, true, r.consumedCapacity());
+        } else if (response instanceof QueryResponse r) {
+            record(operation, true, r.consumedCapacity());
+        } else if (response instanceof ScanResponse r) {
+            record(operation, true, r.consumedCapacity());
+        } else if (response instanceof BatchGetItemResponse r) {
+            record(operation, true, r.consumedCapacity());
+        } else if (response instanceof TransactGetItemsResponse r) {
+            record(operation, true, r.consumedCapacity());
+        } else if (response instanceof PutItemResponse r) {
+            record(operation, false, r.consumedCapacity());
+        } else if (response instanceof UpdateItemResponse r) {
+            record(operation, false, r.consumedCapacity());
+        } else if (response instanceof DeleteItemResponse r) {
+            record(operation, false, r.consumedCapacity());
+        } else if (response instanceof BatchWriteItemResponse r) {
+            record(operation, false, r.consumedCapacity());
+        } else if (response instanceof TransactWriteItemsResponse r) {
+            record(operation, false, r.consumedCapacity());
+        }
+    }
+
+    private void record(String operation, boolean read, List<ConsumedCapacity> consumed) {
+        consumed.forEach(capacity -> record(operation, read, capacity));
+    }
+
+    private void record(String operation, boolean read, ConsumedCapacity capacity) {
+        if (capacity == null) {
+            return;
+        }
+        // With TOTAL, DynamoDB may report only the combined units; they are then all of the operation's kind.
+        if (capacity.readCapacityUnits() != null || capacity.writeCapacityUnits() != null) {
+            increment(capacity.tableName(), operation, "read", capacity.readCapacityUnits());
+            increment(capacity.tableName(), operation, "write", capacity.writeCapacityUnits());
+        } else {
+            increment(capacity.tableName(), operation, read ? "read" : "write", capacity.capacityUnits());
+        }
+    }
+
+    private void increment(String table, String operation, String kind, Double units) {
+        if (units == null || units == 0) {
+            return;
+        }
+        Counter.builder(COUNTER_NAME)
+                .description("DynamoDB capacity units consumed")
+                .baseUnit("capacity.units")
+                .tags("table", table == null ? "unknown" : table, "operation", operation == null ? "unknown" : operation,
+                        "capacity", kind)
+                .register(meterRegistry)
+                .increment(units);
+    }
+}
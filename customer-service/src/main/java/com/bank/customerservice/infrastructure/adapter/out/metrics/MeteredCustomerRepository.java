@@ -0,0 +1,150 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A decorator for the CustomerRepository port that times every call, from the moment a use case
+ * makes it until its future completes. It sits in front of the cache, so it shows what the use
+ * cases actually wait for; the cache and the DynamoDB client publish their own metrics below it.
+ * <p>
+ * Every method records the {@code customer.repository} timer, tagged with the method and its
+ * outcome ({@code success} or {@code failure}), as a percentile histogram. For {@link #streamAll}
+ * the time runs until the stream terminates, and a stream the subscriber cancels is {@code cancelled}.
+ */
+public class MeteredCustomerRepository implements CustomerRepository {
+
+    static final String TIMER_NAME = "customer.repository";
+
+    private final CustomerRepository delegate;
+    private final MeterRegistry meterRegistry;
+
+    private final Outcomes save;
+    private final Outcomes create;
+    private final Outcomes createAll;
+    private final Outcomes update;
+    private final Outcomes findById;
+    private final Outcomes findAllByIds;
+    private final Outcomes findByEmail;
+    private final Outcomes findByCpf;
+    private final Outcomes findPage;
+    private final Outcomes streamAll;
+    private final Timer streamAllCancelled;
+
+    public MeteredCustomerRepository(CustomerRepository delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.save = outcomes("save");
+        this.create = outcomes("create");
+        this.createAll = outcomes("createAll");
+        this.update = outcomes("update");
+        this.findById = outcomes("findById");
+        this.findAllByIds = outcomes("findAllByIds");
+        this.findByEmail = outcomes("findByEmail");
+        this.findByCpf = outcomes("findByCpf");
+        this.findPage = outcomes("findPage");
+        this.streamAll = outcomes("streamAll");
+        this.streamAllCancelled = timer("streamAll", "cancelled");
+    }
+
+    @Override
+    public CompletableFuture<Customer> save(Customer customer) {
+        return time(save, () -> delegate.save(customer));
+    }
+
+    @Override
+    public CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event) {
+        return time(create, () -> delegate.create(customer, event));
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> createAll(List<Customer> customers) {
+        return time(createAll, () -> delegate.createAll(customers));
+    }
+
+    @Override
+    public CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        return time(this.update, () -> delegate.update(customerId, update, expectedVersions));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findById(String customerId) {
+        return time(findById, () -> delegate.findById(customerId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds) {
+        return time(findAllByIds, () -> delegate.findAllByIds(customerIds));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByEmail(String email) {
+        return time(findByEmail, () -> delegate.findByEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByCpf(String cpf) {
+        return time(findByCpf, () -> delegate.findByCpf(cpf));
+    }
+
+    @Override
+    public CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes) {
+        return time(findPage, () -> delegate.findPage(limit, cursor, attributes));
+    }
+
+    @Override
+    public Publisher<Customer> streamAll(int totalSegments) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return Flux.from(delegate.streamAll(totalSegments))
+                    .doFinally(signal -> sample.stop(signal == SignalType.ON_COMPLETE ? streamAll.success()
+                            : signal == SignalType.ON_ERROR ? streamAll.failure()
+                            : streamAllCancelled));
+        });
+    }
+
+    private <T> CompletableFuture<T> time(Outcomes outcomes, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            sample.stop(outcomes.failure());
+            throw e;
+        }
+        return future.whenComplete((result, error) -> sample.stop(error == null ? outcomes.success() : outcomes.failure()));
+    }
+
+    private Outcomes outcomes(String method) {
+        return new Outcomes(timer(method, "success"), timer(method, "failure"));
+    }
+
+    private Timer timer(String method, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Time until a CustomerRepository call completes, as seen by the use cases")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Outcomes(Timer success, Timer failure) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports the metrics the AWS SDK collects for every call to Micrometer. Registered on a client with
+ * {@code ClientOverrideConfiguration.Builder#addMetricPublisher}; the SDK hands over each call's
+ * metrics once the call has completed.
+ * <ul>
+ *     <li>{@code aws.sdk.api.call}: a whole call, retries and backoff included, by service, operation and outcome.</li>
+ *     <li>{@code aws.sdk.api.call.attempt}: each attempt's round trip to the service, by the error type
+ *     of the attempt ({@code none}, {@code Throttling}, {@code ServerError}, ...).</li>
+ *     <li>{@code aws.sdk.api.call.retries}: attempts beyond the first.</li>
+ *     <li>{@code aws.sdk.http.concurrency.acquire}: how long attempts waited for a pooled connection, by HTTP client.</li>
+ *     <li>{@code aws.sdk.http.concurrency.leased} / {@code aws.sdk.http.concurrency.pending}: connections in use and
+ *     requests waiting for one, as of the latest attempt.</li>
+ * </ul>
+ */
+public class MicrometerSdkMetricPublisher implements MetricPublisher {
+
+    private static final String API_CALL_ATTEMPT = "ApiCallAttempt";
+    private static final String HTTP_CLIENT = "HttpClient";
+
+    private final MeterRegistry meterRegistry;
+
+    // Connection pool state of each HTTP client, by client name (e.g. NettyNio or Apache).
+    private final Map<String, AtomicInteger> leasedConnections = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> pendingAcquires = new ConcurrentHashMap<>();
+
+    public MicrometerSdkMetricPublisher(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(MetricCollection apiCall) {
+        String service = first(apiCall, CoreMetric.SERVICE_ID, "unknown");
+        String operation = first(apiCall, CoreMetric.OPERATION_NAME, "unknown");
+
+        Duration callDuration = first(apiCall, CoreMetric.API_CALL_DURATION, null);
+        if (callDuration != null) {
+            boolean successful = first(apiCall, CoreMetric.API_CALL_SUCCESSFUL, false);
+            Timer.builder("aws.sdk.api.call")
+                    .description("AWS SDK calls, retries and backoff included")
+                    .tags("service", service, "operation", operation, "outcome", successful ? "success" : "failure")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(callDuration);
+        }
+
+        int retries = first(apiCall, CoreMetric.RETRY_COUNT, 0);
+        if (retries > 0) {
+            Counter.builder("aws.sdk.api.call.retries")
+                    .description("AWS SDK call attempts beyond the first")
+                    .tags("service", service, "operation", operation)
+                    .register(meterRegistry)
+                    .increment(retries);
+        }
+
+        apiCall.childrenWithName(API_CALL_ATTEMPT).forEach(attempt -> publishAttempt(service, operation, attempt));
+    }
+
+    private void publishAttempt(String service, String operation, MetricCollection attempt) {
+        Duration serviceCallDuration = first(attempt, CoreMetric.SERVICE_CALL_DURATION, null);
+        if (serviceCallDuration != null) {
+            Timer.builder("aws.sdk.api.call.attempt")
+                    .description("Round trips of single AWS SDK call attempts")
+                    .tags("service", service, "operation", operation, "error", first(attempt, CoreMetric.ERROR_TYPE, "none"))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(serviceCallDuration);
+        }
+
+        attempt.childrenWithName(HTTP_CLIENT).forEach(http -> {
+            String client = first(http, HttpMetric.HTTP_CLIENT_NAME, "unknown");
+            Duration acquireDuration = first(http, HttpMetric.CONCURRENCY_ACQUIRE_DURATION, null);
+            if (acquireDuration != null) {
+                Timer.builder("aws.sdk.http.concurrency.acquire")
+                        .description("Time AWS SDK call attempts waited for a pooled connection")
+                        .tags("service", service, "client", client)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(acquireDuration);
+            }
+            Integer leased = first(http, HttpMetric.LEASED_CONCURRENCY, null);
+            if (leased != null) {
+                poolGauge(leasedConnections, "aws.sdk.http.concurrency.leased", "Pooled connections in use", client).set(leased);
+            }
+            Integer pending = first(http, HttpMetric.PENDING_CONCURRENCY_ACQUIRES, null);
+            if (pending != null) {
+                poolGauge(pendingAcquires, "aws.sdk.http.concurrency.pending", "Requests waiting for a pooled connection", client).set(pending);
+            }
+        });
+    }
+
+    private AtomicInteger poolGauge(Map<String, AtomicInteger> values, String name, String description, String client) {
+        return values.computeIfAbsent(client, key -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(name, value, AtomicInteger::get)
+                    .description(description)
+                    .tag("client", key)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private static <T> T first(MetricCollection metrics, SdkMetric<T> metric, T defaultValue) {
+        List<T> values = metrics.metricValues(metric);
+        return values.isEmpty() || values.get(0) == null ? defaultValue : values.get(0);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exponential backoff with full jitter for retrying the unprocessed part of DynamoDB batch calls.
+ */
+final class BatchBackoff {
+
+    private BatchBackoff() {
+    }
+
+    /**
+     * A future that completes after a random delay between zero and {@code initialBackoff * 2^(attempt - 1)}.
+     *
+     * @param initialBackoff The ceiling of the delay before the first retry.
+     * @param attempt        The number of the attempt that just left work unprocessed (starting at 1).
+     */
+    static CompletableFuture<Void> delay(Duration initialBackoff, int attempt) {
+        long ceiling = initialBackoff.toMillis() << Math.min(attempt - 1, 10);
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reads many items of one table by partition key with DynamoDB BatchGetItem.
+ * Keys are split into chunks of at most 100 (the BatchGetItem limit) that are sent concurrently.
+ * Keys that DynamoDB leaves unprocessed (e.g. when throttled) are retried with exponential backoff
+ * and full jitter, as recommended by AWS for batch operations.
+ *
+ * @param <T> The item type mapped by the table.
+ */
+class BatchGetItemReader<T> {
+
+    static final int MAX_KEYS_PER_REQUEST = 100;
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String tableName;
+    private final TableSchema<T> tableSchema;
+    private final String keyAttribute;
+    private final Function<T, String> keyOf;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    BatchGetItemReader(DynamoDbAsyncClient dynamoDbClient, DynamoDbAsyncTable<T> table, String keyAttribute,
+                       Function<T, String> keyOf, int maxAttempts, Duration initialBackoff) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = table.tableName();
+        this.tableSchema = table.tableSchema();
+        this.keyAttribute = keyAttribute;
+        this.keyOf = keyOf;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Fetches the items with the given partition keys.
+     *
+     * @param keys The partition key values to fetch. Duplicates are ignored.
+     * @return A CompletableFuture with the items that were found, keyed by partition key. Keys that do not exist are absent.
+     */
+    CompletableFuture<Map<String, T>> findAll(Collection<String> keys) {
+        Map<String, T> found = new ConcurrentHashMap<>();
+        List<Map<String, AttributeValue>> requestKeys = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            requestKeys.add(Map.of(keyAttribute, AttributeValue.builder().s(key).build()));
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < requestKeys.size(); from += MAX_KEYS_PER_REQUEST) {
+            chunks.add(fetch(requestKeys.subList(from, Math.min(from + MAX_KEYS_PER_REQUEST, requestKeys.size())), 1, found));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(v -> found);
+    }
+
+    private CompletableFuture<Void> fetch(List<Map<String, AttributeValue>> keys, int attempt, Map<String, T> found) {
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+                .requestItems(Map.of(tableName, KeysAndAttributes.builder().keys(keys).build()))
+                .build();
+
+        return dynamoDbClient.batchGetItem(request).thenCompose(response -> {
+            for (Map<String, AttributeValue> attributes : response.responses().getOrDefault(tableName, List.of())) {
+                T item = tableSchema.mapToItem(attributes);
+                found.put(keyOf.apply(item), item);
+            }
+
+            KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+            if (unprocessed == null || unprocessed.keys().isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (attempt >= maxAttempts) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        unprocessed.keys().size() + " keys of " + tableName + " still unprocessed after " + attempt + " BatchGetItem attempts"));
+            }
+
+            return BatchBackoff.delay(initialBackoff, attempt)
+                    .thenCompose(v -> fetch(unprocessed.keys(), attempt + 1, found));
+        });
+    }
+}
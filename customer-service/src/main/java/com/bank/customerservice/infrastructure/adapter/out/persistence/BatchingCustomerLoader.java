@@ -0,0 +1,92 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.model.Customer;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataLoader-style micro-batcher for lookups by customer ID.
+ * The first lookup of a batch opens a short window; every lookup arriving during that window joins
+ * the batch, which is then resolved with one BatchGetItem call. A batch that reaches the maximum size
+ * is sent immediately without waiting for its window to close. Each caller gets its own future back,
+ * completed with its customer (or empty) once the batch returns.
+ */
+class BatchingCustomerLoader {
+
+    private final BatchGetItemReader<Customer> batchReader;
+    private final int maxBatchSize;
+    private final Executor windowExecutor;
+
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<Optional<Customer>>> pending = new LinkedHashMap<>();
+
+    BatchingCustomerLoader(BatchGetItemReader<Customer> batchReader, Duration window, int maxBatchSize) {
+        this.batchReader = batchReader;
+        this.maxBatchSize = Math.min(maxBatchSize, BatchGetItemReader.MAX_KEYS_PER_REQUEST);
+        this.windowExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    CompletableFuture<Optional<Customer>> load(String customerId) {
+        Map<String, CompletableFuture<Optional<Customer>>> batch;
+        Map<String, CompletableFuture<Optional<Customer>>> fullBatch = null;
+        CompletableFuture<Optional<Customer>> future;
+        boolean opensWindow;
+
+        synchronized (lock) {
+            batch = pending;
+            future = batch.get(customerId);
+            if (future != null) {
+                return future.copy();
+            }
+            future = new CompletableFuture<>();
+            batch.put(customerId, future);
+            opensWindow = batch.size() == 1;
+            if (batch.size() >= maxBatchSize) {
+                fullBatch = batch;
+                pending = new LinkedHashMap<>();
+            }
+        }
+
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        } else if (opensWindow) {
+            Map<String, CompletableFuture<Optional<Customer>>> windowBatch = batch;
+            windowExecutor.execute(() -> flush(windowBatch));
+        }
+        return future.copy();
+    }
+
+    private void flush(Map<String, CompletableFuture<Optional<Customer>>> batch) {
+        synchronized (lock) {
+            // The batch may already have been sent because it filled up before its window closed.
+            if (pending != batch) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Optional<Customer>>> batch) {
+        CompletableFuture<Map<String, Customer>> result;
+        try {
+            result = batchReader.findAll(batch.keySet());
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((found, error) ->
+                batch.forEach((customerId, future) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(Optional.ofNullable(found.get(customerId)));
+                    }
+                }));
+    }
+}
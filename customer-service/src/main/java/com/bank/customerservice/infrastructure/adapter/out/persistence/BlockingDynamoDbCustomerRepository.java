@@ -0,0 +1,171 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CpfAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.model.Customer;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * A variant of the DynamoDB adapter for when requests run on virtual threads.
+ * Single-item reads and writes use the synchronous client on the calling thread and return an
+ * already completed future, so the use cases' continuations run on the request thread too,
+ * rather than on SDK event-loop threads, and stack traces stay in one piece. Blocking a virtual
+ * thread only unmounts it, so this costs no platform thread per in-flight call.
+ * <p>
+ * At most {@code maxConcurrency} calls, the size of the HTTP client's connection pool, are let
+ * through at a time. The Apache client waits for a free connection inside a synchronized block,
+ * which on Java 21 pins the virtual thread to its carrier; once more threads wait there than there
+ * are carriers, nothing can run to give a connection back. Waiting on the semaphore instead
+ * unmounts the virtual thread like any other blocking call.
+ * <p>
+ * Batch, paged and streaming operations are passed to the asynchronous adapter: they fan out
+ * into several concurrent calls, which the async client already does well.
+ */
+public class BlockingDynamoDbCustomerRepository implements CustomerRepository {
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbTable<Customer> customerTable;
+    private final DynamoDbTable<UniqueKeyItem> uniqueKeyTable;
+    private final CustomerOutbox outbox;
+    private final CustomerRepository asyncRepository;
+    private final Semaphore permits;
+
+    public BlockingDynamoDbCustomerRepository(
+            DynamoDbClient dynamoDbClient,
+            DynamoDbEnhancedClient enhancedClient,
+            DynamoDbTable<Customer> customerTable,
+            DynamoDbTable<UniqueKeyItem> uniqueKeyTable,
+            CustomerOutbox outbox,
+            CustomerRepository asyncRepository,
+            int maxConcurrency) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.enhancedClient = enhancedClient;
+        this.customerTable = customerTable;
+        this.uniqueKeyTable = uniqueKeyTable;
+        this.outbox = outbox;
+        this.asyncRepository = asyncRepository;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public CompletableFuture<Customer> save(Customer customer) {
+        return call(() -> {
+            customerTable.putItem(customer);
+            return customer;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event) {
+        return call(() -> {
+            try {
+                enhancedClient.transactWriteItems(
+                        DynamoDbCustomerRepository.createRequest(customerTable, uniqueKeyTable, outbox, customer, event));
+                return customer;
+            } catch (TransactionCanceledException e) {
+                if (DynamoDbCustomerRepository.isEmailConflict(e)) {
+                    throw new EmailAlreadyRegisteredException("Email already registered");
+                }
+                if (DynamoDbCustomerRepository.isCpfConflict(e)) {
+                    throw new CpfAlreadyRegisteredException("CPF already registered");
+                }
+                throw e;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> createAll(List<Customer> customers) {
+        return asyncRepository.createAll(customers);
+    }
+
+    @Override
+    public CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        return call(() -> {
+            try {
+                UpdateItemResponse response = dynamoDbClient.updateItem(
+                        DynamoDbCustomerRepository.updateRequest(customerTable.tableName(), customerId, update, expectedVersions));
+                return customerTable.tableSchema().mapToItem(response.attributes());
+            } catch (ConditionalCheckFailedException e) {
+                throw DynamoDbCustomerRepository.updateFailure(customerId, e);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findById(String customerId) {
+        return call(() -> Optional.ofNullable(customerTable.getItem(r -> r.key(k -> k.partitionValue(customerId)))));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds) {
+        return asyncRepository.findAllByIds(customerIds);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByEmail(String email) {
+        return call(() -> findFirstInIndex(Customer.EMAIL_INDEX, email));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> findByCpf(String cpf) {
+        return call(() -> findFirstInIndex(Customer.CPF_INDEX, cpf));
+    }
+
+    @Override
+    public CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes) {
+        return asyncRepository.findPage(limit, cursor, attributes);
+    }
+
+    @Override
+    public Publisher<Customer> streamAll(int totalSegments) {
+        return asyncRepository.streamAll(totalSegments);
+    }
+
+    private Optional<Customer> findFirstInIndex(String indexName, String key) {
+        return customerTable.index(indexName)
+                .query(r -> r.queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(key)))
+                        .limit(1))
+                .stream()
+                .findFirst()
+                .flatMap(page -> page.items().stream().findFirst());
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> operation) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            return CompletableFuture.completedFuture(operation.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.model.Customer;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Writes many customers, together with their email and CPF reservations and their registration events,
+ * with DynamoDB TransactWriteItems. Each customer takes four items, so a transaction of 100 items (the limit)
+ * carries 25 customers.
+ * <p>
+ * The puts carry the same {@code attribute_not_exists} conditions as a single registration, so a chunk is
+ * written completely or not at all, and a reservation made concurrently by another registration is never
+ * overwritten. When a transaction is canceled by a failed condition, the customers whose email or CPF turned
+ * out to be taken are reported as such and the rest of the chunk is written again without them. Cancellations
+ * for other reasons (conflicting transactions, throttling) are retried with exponential backoff and full jitter.
+ * At most {@code maxConcurrency} transactions are in flight at once.
+ */
+class CustomerBatchWriter {
+
+    static final int MAX_ITEMS_PER_TRANSACTION = 100;
+
+    // Each customer is written as four items: the customer itself, its email and CPF reservations
+    // and its event in the outbox, in that order.
+    static final int ITEMS_PER_CUSTOMER = 4;
+    static final int CUSTOMERS_PER_TRANSACTION = MAX_ITEMS_PER_TRANSACTION / ITEMS_PER_CUSTOMER;
+
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final DynamoDbAsyncTable<Customer> customerTable;
+    private final DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable;
+    private final CustomerOutbox outbox;
+    private final int maxConcurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    CustomerBatchWriter(DynamoDbAsyncClient dynamoDbClient, DynamoDbAsyncTable<Customer> customerTable,
+                        DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable, CustomerOutbox outbox, int maxConcurrency,
+                        int maxAttempts, Duration initialBackoff) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.customerTable = customerTable;
+        this.uniqueKeyTable = uniqueKeyTable;
+        this.outbox = outbox;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Writes the given customers, their email and CPF reservations and a CustomerRegisteredEvent for each.
+     *
+     * @param customers The customers to write.
+     * @return A CompletableFuture with the outcome per customer. A customer reported as failed has none of its
+     * items written.
+     */
+    CompletableFuture<BulkCreateResult> writeAll(List<Customer> customers) {
+        List<List<Customer>> chunks = new ArrayList<>();
+        for (int from = 0; from < customers.size(); from += CUSTOMERS_PER_TRANSACTION) {
+            chunks.add(customers.subList(from, Math.min(from + CUSTOMERS_PER_TRANSACTION, customers.size())));
+        }
+
+        // A fixed number of "lanes" each pull the next chunk once their previous one is done,
+        // which bounds the number of concurrent TransactWriteItems calls.
+        BulkCreateResult result = new BulkCreateResult(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet(),
+                ConcurrentHashMap.newKeySet(), new ConcurrentHashMap<>());
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<CompletableFuture<Void>> lanes = new ArrayList<>();
+        for (int lane = 0; lane < Math.min(maxConcurrency, chunks.size()); lane++) {
+            lanes.add(runLane(chunks, nextChunk, result));
+        }
+
+        return CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new))
+                .thenApply(v -> result);
+    }
+
+    private CompletableFuture<Void> runLane(List<List<Customer>> chunks, AtomicInteger nextChunk, BulkCreateResult result) {
+        int index = nextChunk.getAndIncrement();
+        if (index >= chunks.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return write(chunks.get(index), 1, result)
+                .thenCompose(v -> runLane(chunks, nextChunk, result));
+    }
+
+    /**
+     * Writes one chunk in a single transaction, dropping the customers whose email or CPF is taken and
+     * retrying other cancellations until the attempts are exhausted. Never completes exceptionally:
+     * every customer of the chunk ends up in exactly one set of the result.
+     */
+    private CompletableFuture<Void> write(List<Customer> chunk, int attempt, BulkCreateResult result) {
+        return dynamoDbClient.transactWriteItems(request(chunk))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        chunk.forEach(customer -> result.created().add(customer.getCustomerId()));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (!(cause instanceof TransactionCanceledException canceled)) {
+                        chunk.forEach(customer -> result.failed().put(customer.getCustomerId(), String.valueOf(cause.getMessage())));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+
+                    List<Customer> remaining = withoutTakenKeys(chunk, canceled.cancellationReasons(), result);
+                    if (remaining.isEmpty()) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    if (remaining.size() < chunk.size()) {
+                        // Progress was made: write the rest again right away, on the same attempt.
+                        return write(remaining, attempt, result);
+                    }
+                    if (attempt >= maxAttempts) {
+                        String reason = "Transaction still canceled after " + maxAttempts + " attempts: " + reasonCodes(canceled);
+                        remaining.forEach(customer -> result.failed().put(customer.getCustomerId(), reason));
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    return BatchBackoff.delay(initialBackoff, attempt)
+                            .thenCompose(v -> write(remaining, attempt + 1, result));
+                })
+                .thenCompose(next -> next);
+    }
+
+    /**
+     * Records the customers whose reservation conditions failed and returns the others.
+     * The cancellation reasons are in the order of the transaction's items, four per customer.
+     */
+    private static List<Customer> withoutTakenKeys(List<Customer> chunk, List<CancellationReason> reasons, BulkCreateResult result) {
+        List<Customer> remaining = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            String customerId = chunk.get(i).getCustomerId();
+            int first = i * ITEMS_PER_CUSTOMER;
+            if (failedCondition(reasons, first + 1)) {
+                result.emailTaken().add(customerId);
+            } else if (failedCondition(reasons, first + 2)) {
+                result.cpfTaken().add(customerId);
+            } else if (failedCondition(reasons, first)) {
+                result.failed().put(customerId, "Customer ID already exists");
+            } else {
+                remaining.add(chunk.get(i));
+            }
+        }
+        return remaining;
+    }
+
+    private TransactWriteItemsRequest request(List<Customer> chunk) {
+        List<TransactWriteItem> items = new ArrayList<>(chunk.size() * ITEMS_PER_CUSTOMER);
+        for (Customer customer : chunk) {
+            items.add(conditionalPut(customerTable.tableName(), customerTable.tableSchema().itemToMap(customer, true), "customerId"));
+            items.add(conditionalPut(uniqueKeyTable.tableName(), uniqueKeyTable.tableSchema().itemToMap(
+                    UniqueKeyItem.forEmail(customer.getEmail(), customer.getCustomerId()), true), "uniqueKey"));
+            items.add(conditionalPut(uniqueKeyTable.tableName(), uniqueKeyTable.tableSchema().itemToMap(
+                    UniqueKeyItem.forCpf(customer.getCpf(), customer.getCustomerId()), true), "uniqueKey"));
+            items.add(TransactWriteItem.builder()
+                    .put(Put.builder()
+                            .tableName(outbox.table().tableName())
+                            .item(outbox.table().tableSchema().itemToMap(outbox.itemFor(CustomerRegisteredEvent.of(customer)), true))
+                            .build())
+                    .build());
+        }
+        // The token makes the SDK's own retries of this exact request idempotent: a retry after a lost
+        // response does not fail on the items the first attempt already wrote.
+        return TransactWriteItemsRequest.builder()
+                .transactItems(items)
+                .clientRequestToken(UUID.randomUUID().toString())
+                .build();
+    }
+
+    private static TransactWriteItem conditionalPut(String tableName, Map<String, AttributeValue> item, String keyAttribute) {
+        return TransactWriteItem.builder()
+                .put(Put.builder()
+                        .tableName(tableName)
+                        .item(item)
+                        .conditionExpression("attribute_not_exists(#key)")
+                        .expressionAttributeNames(Map.of("#key", keyAttribute))
+                        .build())
+                .build();
+    }
+
+    private static boolean failedCondition(List<CancellationReason> reasons, int itemIndex) {
+        return reasons.size() > itemIndex && CONDITIONAL_CHECK_FAILED.equals(reasons.get(itemIndex).code());
+    }
+
+    private static String reasonCodes(TransactionCanceledException exception) {
+        Set<String> codes = exception.cancellationReasons().stream()
+                .map(CancellationReason::code)
+                .filter(code -> code != null && !"None".equals(code))
+                .collect(Collectors.toCollection(TreeSet::new));
+        return codes.isEmpty() ? String.valueOf(exception.getMessage()) : String.join(", ", codes);
+    }
+}
@@ -0,0 +1,121 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The outbox table: registration events are put into it in the same transaction as the customer
+ * (see {@link DynamoDbCustomerRepository#createRequest} and {@link CustomerBatchWriter}), and read back and deleted by the relay
+ * that publishes them. An event is therefore only published if its customer was created, and it
+ * stays in the table until a publish has succeeded.
+ * <p>
+ * Events are spread over {@code shards} partitions by customer ID, so the relay can drain shards in
+ * parallel while each customer's events stay in one shard, in order. Changing the number of shards
+ * while events are pending leaves those of the old shards unread; drain the outbox first.
+ * The relay's shard leases ({@link OutboxLeases}) share the table, in a partition of their own.
+ */
+public class CustomerOutbox {
+
+    // BatchWriteItem accepts at most 25 requests.
+    private static final int MAX_DELETES_PER_REQUEST = 25;
+
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
+    private final DynamoDbAsyncTable<OutboxItem> table;
+    private final ObjectMapper objectMapper;
+    private final int shards;
+
+    public CustomerOutbox(DynamoDbEnhancedAsyncClient enhancedClient, DynamoDbAsyncTable<OutboxItem> table,
+                          ObjectMapper objectMapper, int shards) {
+        this.enhancedClient = enhancedClient;
+        this.table = table;
+        this.objectMapper = objectMapper;
+        this.shards = Math.max(1, shards);
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    MappedTableResource<OutboxItem> table() {
+        return table;
+    }
+
+    /**
+     * The outbox item that records the event, to be put in the same transaction as the customer.
+     */
+    OutboxItem itemFor(CustomerRegisteredEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return OutboxItem.builder()
+                .shard(OutboxItem.shardOf(event.customerId(), shards))
+                .sequence(OutboxItem.sequenceOf(event.occurredAt(), event.eventId()))
+                .eventId(event.eventId())
+                .eventType(CustomerRegisteredEvent.TYPE)
+                .customerId(event.customerId())
+                .payload(payload)
+                .occurredAt(event.occurredAt())
+                .build();
+    }
+
+    /**
+     * Reads the oldest events of a shard, oldest first.
+     * The read is strongly consistent, so an event that was just deleted is not read again.
+     *
+     * @param shard The shard, from 0 to {@link #shards()} - 1.
+     * @param limit The maximum number of events to read.
+     * @return A CompletableFuture with the events; empty when the shard is drained.
+     */
+    public CompletableFuture<List<OutboxItem>> findPending(int shard, int limit) {
+        CompletableFuture<List<OutboxItem>> future = new CompletableFuture<>();
+        table.query(r -> r.queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(Integer.toString(shard))))
+                        .limit(limit)
+                        .consistentRead(true))
+                .limit(1)
+                .subscribe(page -> future.complete(page.items()))
+                .whenComplete((v, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(List.of());
+                    }
+                });
+        return future;
+    }
+
+    /**
+     * Deletes published events. Deletes that DynamoDB leaves unprocessed are simply left: those events
+     * are published again on the next poll, which at-least-once delivery allows.
+     *
+     * @param items The events to delete.
+     * @return A CompletableFuture that completes once every delete request has been answered.
+     */
+    public CompletableFuture<Void> remove(List<OutboxItem> items) {
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += MAX_DELETES_PER_REQUEST) {
+            WriteBatch.Builder<OutboxItem> batch = WriteBatch.builder(OutboxItem.class).mappedTableResource(table);
+            items.subList(from, Math.min(from + MAX_DELETES_PER_REQUEST, items.size()))
+                    .forEach(item -> batch.addDeleteItem(Key.builder()
+                            .partitionValue(item.getShard())
+                            .sortValue(item.getSequence())
+                            .build()));
+            requests.add(enhancedClient.batchWriteItem(r -> r.addWriteBatch(batch.build())));
+        }
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new));
+    }
+}
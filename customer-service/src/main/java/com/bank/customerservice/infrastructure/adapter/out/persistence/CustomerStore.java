@@ -0,0 +1,24 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+/**
+ * Names shared by the customer store adapters and the configuration that wires them,
+ * so that neither has to reach into the other for them.
+ */
+public final class CustomerStore {
+
+    /**
+     * Qualifies the adapter that actually stores customers: DynamoDB, or the in-memory store
+     * under the {@value #IN_MEMORY_PROFILE} profile. Components that scan the whole store on start inject it
+     * directly: through the cache, a full scan would only evict the customers worth caching.
+     */
+    public static final String QUALIFIER = "customerStore";
+
+    /**
+     * The profile that replaces DynamoDB with in-memory stores, so the service can run, and be load
+     * tested, without LocalStack.
+     */
+    public static final String IN_MEMORY_PROFILE = "in-memory";
+
+    private CustomerStore() {
+    }
+}
@@ -0,0 +1,115 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the in-memory views of the customer store (the registered-email filter, the search index) on start.
+ * <p>
+ * A single parallel scan of the store runs in the background and hands every customer it reads to each
+ * {@link Target} in turn, so the table is read once however many views there are. A failed scan is retried
+ * from the start after {@link #LOAD_RETRY_DELAY}; targets are therefore given some customers twice.
+ */
+@Slf4j
+public class CustomerStoreLoader implements SmartLifecycle {
+
+    static final Duration LOAD_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final CustomerRepository store;
+    private final List<? extends Target> targets;
+    private final int segments;
+
+    private volatile ScheduledExecutorService executor;
+
+    /**
+     * @param store    The customer store to scan.
+     * @param targets  The views to fill.
+     * @param segments Into how many segments the store is split and scanned concurrently.
+     */
+    public CustomerStoreLoader(CustomerRepository store, List<? extends Target> targets, int segments) {
+        this.store = store;
+        this.targets = List.copyOf(targets);
+        this.segments = segments;
+    }
+
+    /**
+     * Passes every customer in the store to the targets, then tells them the load is complete.
+     */
+    void load() {
+        long started = System.nanoTime();
+        AtomicLong customers = new AtomicLong();
+        Flux.from(store.streamAll(segments))
+                .doOnNext(customer -> {
+                    customers.incrementAndGet();
+                    targets.forEach(target -> target.load(customer));
+                })
+                .blockLast();
+        targets.forEach(Target::loaded);
+        log.info("Loaded {} customers into {} in-memory views in {} s", customers.get(), targets.size(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+    }
+
+    private void loadOrRetry() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.warn("Could not load the customer store, retrying in {}: {}", LOAD_RETRY_DELAY, e.getMessage());
+            ScheduledExecutorService running = executor;
+            if (running != null) {
+                running.schedule(this::loadOrRetry, LOAD_RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService started = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "customer-store-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor = started;
+        started.execute(this::loadOrRetry);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService running = executor;
+        executor = null;
+        if (running != null) {
+            running.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * An in-memory view filled from the customer store on start. It is called from the loading thread
+     * while the application keeps changing it, e.g. with new registrations.
+     */
+    public interface Target {
+
+        /**
+         * Takes one stored customer.
+         */
+        void load(Customer customer);
+
+        /**
+         * Called once every stored customer has been passed to {@link #load(Customer)}.
+         */
+        void loaded();
+    }
+}
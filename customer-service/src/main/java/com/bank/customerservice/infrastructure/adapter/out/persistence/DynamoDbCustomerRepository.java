@@ -1,30 +1,112 @@
 package com.bank.customerservice.infrastructure.adapter.out.persistence;
 
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
 import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CpfAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
 import com.bank.customerservice.domain.model.Customer;
-import org.reactivestreams.Subscriber;
-import org.reactivestreams.Subscription;
+import com.bank.customerservice.infrastructure.config.BulkWriteProperties;
+import com.bank.customerservice.infrastructure.config.ReadBatchingProperties;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The concrete implementation of the CustomerRepository port for DynamoDB.
  * This is the "outgoing adapter" for our persistence layer.
+ * When requests run on virtual threads, {@link BlockingDynamoDbCustomerRepository} is used instead.
  */
 @Repository
+@Profile("!" + CustomerStore.IN_MEMORY_PROFILE)
+@ConditionalOnThreading(Threading.PLATFORM)
+@Qualifier(CustomerStore.QUALIFIER)
 public class DynamoDbCustomerRepository implements CustomerRepository {
 
+    private static final String CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+
+    // Positions of the email and CPF reservations inside the registration transaction.
+    private static final int EMAIL_RESERVATION_INDEX = 1;
+    private static final int CPF_RESERVATION_INDEX = 2;
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
     private final DynamoDbAsyncTable<Customer> customerTable;
+    private final DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable;
+    private final CustomerOutbox outbox;
+
+    // Concurrent lookups of the same customer share one getItem call.
+    private final SingleFlight<String, Optional<Customer>> findByIdFlights = new SingleFlight<>();
+
+    private final BatchGetItemReader<Customer> customerReader;
+
+    // Null when read batching is disabled; lookups then use one getItem each.
+    private final BatchingCustomerLoader batchingLoader;
 
-    public DynamoDbCustomerRepository(@Qualifier("customerDynamoDbAsyncTable") DynamoDbAsyncTable<Customer> customerTable) {
+    private final BatchGetItemReader<UniqueKeyItem> uniqueKeyReader;
+    private final CustomerBatchWriter batchWriter;
+
+    public DynamoDbCustomerRepository(
+            DynamoDbAsyncClient dynamoDbClient,
+            DynamoDbEnhancedAsyncClient enhancedClient,
+            @Qualifier("customerDynamoDbAsyncTable") DynamoDbAsyncTable<Customer> customerTable,
+            @Qualifier("uniqueKeyDynamoDbAsyncTable") DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable,
+            CustomerOutbox outbox,
+            ReadBatchingProperties readBatching,
+            BulkWriteProperties bulkWrite) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.enhancedClient = enhancedClient;
         this.customerTable = customerTable;
+        this.uniqueKeyTable = uniqueKeyTable;
+        this.outbox = outbox;
+
+        this.customerReader = new BatchGetItemReader<>(dynamoDbClient, customerTable, "customerId",
+                Customer::getCustomerId, readBatching.getMaxAttempts(), readBatching.getInitialBackoff());
+        this.batchingLoader = readBatching.isEnabled()
+                ? new BatchingCustomerLoader(customerReader, readBatching.getWindow(), readBatching.getMaxBatchSize())
+                : null;
+
+        this.uniqueKeyReader = new BatchGetItemReader<>(dynamoDbClient, uniqueKeyTable, "uniqueKey",
+                UniqueKeyItem::getUniqueKey, bulkWrite.getMaxAttempts(), bulkWrite.getInitialBackoff());
+        this.batchWriter = new CustomerBatchWriter(dynamoDbClient, customerTable, uniqueKeyTable, outbox,
+                bulkWrite.getMaxConcurrency(), bulkWrite.getMaxAttempts(), bulkWrite.getInitialBackoff());
     }
 
     @Override
@@ -33,62 +115,290 @@ public class DynamoDbCustomerRepository implements CustomerRepository {
                 .thenApply(v -> customer);
     }
 
+    @Override
+    public CompletableFuture<Customer> create(Customer customer, CustomerRegisteredEvent event) {
+        return enhancedClient.transactWriteItems(createRequest(customerTable, uniqueKeyTable, outbox, customer, event))
+                .handle((v, error) -> {
+                    if (error == null) {
+                        return customer;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof TransactionCanceledException canceled && isEmailConflict(canceled)) {
+                        throw new EmailAlreadyRegisteredException("Email already registered");
+                    }
+                    if (cause instanceof TransactionCanceledException canceled && isCpfConflict(canceled)) {
+                        throw new CpfAlreadyRegisteredException("CPF already registered");
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    @Override
+    public CompletableFuture<BulkCreateResult> createAll(List<Customer> customers) {
+        List<String> uniqueKeys = new ArrayList<>(customers.size() * 2);
+        customers.forEach(customer -> {
+            uniqueKeys.add(UniqueKeyItem.emailKey(customer.getEmail()));
+            uniqueKeys.add(UniqueKeyItem.cpfKey(customer.getCpf()));
+        });
+
+        // Emails and CPFs that are already reserved are filtered out with a BatchGetItem on the reservations first.
+        // The writes are conditional as well, so this only spares transactions that would be canceled anyway;
+        // reservations made between the read and the write are still caught.
+        return uniqueKeyReader.findAll(uniqueKeys)
+                .thenCompose(reserved -> {
+                    Set<String> emailTaken = new HashSet<>();
+                    Set<String> cpfTaken = new HashSet<>();
+                    List<Customer> toWrite = new ArrayList<>();
+                    for (Customer customer : customers) {
+                        if (reserved.containsKey(UniqueKeyItem.emailKey(customer.getEmail()))) {
+                            emailTaken.add(customer.getCustomerId());
+                        } else if (reserved.containsKey(UniqueKeyItem.cpfKey(customer.getCpf()))) {
+                            cpfTaken.add(customer.getCustomerId());
+                        } else {
+                            toWrite.add(customer);
+                        }
+                    }
+
+                    return batchWriter.writeAll(toWrite).thenApply(written -> {
+                        emailTaken.addAll(written.emailTaken());
+                        cpfTaken.addAll(written.cpfTaken());
+                        return new BulkCreateResult(written.created(), emailTaken, cpfTaken, written.failed());
+                    });
+                });
+    }
+
+    @Override
+    public CompletableFuture<Customer> update(String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        return dynamoDbClient.updateItem(updateRequest(customerTable.tableName(), customerId, update, expectedVersions))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return customerTable.tableSchema().mapToItem(response.attributes());
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof ConditionalCheckFailedException failed) {
+                        throw updateFailure(customerId, failed);
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
     @Override
     public CompletableFuture<Optional<Customer>> findById(String customerId) {
-        return customerTable.getItem(r -> r.key(k -> k.partitionValue(customerId)))
-                .thenApply(Optional::ofNullable);
+        return findByIdFlights.execute(customerId, id -> batchingLoader != null
+                ? batchingLoader.load(id)
+                : customerTable.getItem(r -> r.key(k -> k.partitionValue(id))).thenApply(Optional::ofNullable));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Customer>> findAllByIds(Collection<String> customerIds) {
+        // Split into 100-key BatchGetItem calls that run concurrently.
+        return customerReader.findAll(customerIds);
     }
 
     @Override
     public CompletableFuture<Optional<Customer>> findByEmail(String email) {
-        // Note: For production, looking up by a non-key attribute requires creating a
-        // Global Secondary Index (GSI) on the 'email' field for efficiency.
-        // A full table scan with a filter is inefficient and costly at scale.
-        // We use it here to make the service logic work for this project.
-
-        Expression filterExpression = Expression.builder()
-                .expression("email = :emailVal")
-                .expressionValues(Map.of(":emailVal", AttributeValue.builder().s(email).build()))
-                .build();
+        return findFirstInIndex(Customer.EMAIL_INDEX, email);
+    }
 
+    @Override
+    public CompletableFuture<Optional<Customer>> findByCpf(String cpf) {
+        return findFirstInIndex(Customer.CPF_INDEX, cpf);
+    }
+
+    private CompletableFuture<Optional<Customer>> findFirstInIndex(String indexName, String key) {
+        // A key-equality query on a GSI reads a single item, so its cost does not grow with the table.
+        // The indexes project all attributes, so no follow-up getItem is needed.
         CompletableFuture<Optional<Customer>> future = new CompletableFuture<>();
 
-        customerTable.scan(req -> req.filterExpression(filterExpression))
-                .items()
-                .limit(1) // We only need to know if at least one item exists.
-                .subscribe(new Subscriber<>() {
-                    private Subscription subscription;
-
-                    @Override
-                    public void onSubscribe(Subscription s) {
-                        this.subscription = s;
-                        // Request the first item.
-                        s.request(1);
+        customerTable.index(indexName)
+                .query(r -> r.queryConditional(QueryConditional.keyEqualTo(k -> k.partitionValue(key)))
+                        .limit(1))
+                .limit(1) // We only need the first page.
+                .subscribe(page -> future.complete(page.items().stream().findFirst()))
+                .whenComplete((v, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        // The index returned no pages at all; nothing matches this key.
+                        future.complete(Optional.empty());
                     }
+                });
 
-                    @Override
-                    public void onNext(Customer customer) {
-                        // Item found, complete the future and cancel the subscription.
-                        future.complete(Optional.of(customer));
-                        subscription.cancel();
-                    }
+        return future;
+    }
 
-                    @Override
-                    public void onError(Throwable t) {
-                        // Error occurred during the stream, complete the future exceptionally.
-                        future.completeExceptionally(t);
-                    }
+    @Override
+    public CompletableFuture<CustomerPage> findPage(int limit, String cursor, Set<String> attributes) {
+        Map<String, AttributeValue> exclusiveStartKey;
+        try {
+            exclusiveStartKey = cursor == null ? null : decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new InvalidRequestException("Invalid page cursor"));
+        }
 
-                    @Override
-                    public void onComplete() {
-                        // The stream completed without emitting any items.
-                        // If the future is not already done, complete it with an empty Optional.
-                        if (!future.isDone()) {
-                            future.complete(Optional.empty());
-                        }
+        // A single Scan call with Limit and ExclusiveStartKey: every page reads at most `limit` items,
+        // and the projection keeps both the read payload and the response small.
+        CompletableFuture<CustomerPage> future = new CompletableFuture<>();
+        customerTable.scan(r -> r.limit(limit).exclusiveStartKey(exclusiveStartKey).attributesToProject(attributes))
+                .limit(1)
+                .subscribe(page -> future.complete(new CustomerPage(page.items(), encodeCursor(page.lastEvaluatedKey()))))
+                .whenComplete((v, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        future.complete(new CustomerPage(List.of(), null));
                     }
                 });
-
         return future;
     }
+
+    @Override
+    public Publisher<Customer> streamAll(int totalSegments) {
+        // A parallel scan: every segment is an independent, paginated scan publisher.
+        // Merging them keeps backpressure intact, so at most a page per segment is buffered.
+        List<Publisher<Customer>> segments = new ArrayList<>(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            int current = segment;
+            segments.add(customerTable.scan(r -> r.segment(current).totalSegments(totalSegments)).items());
+        }
+        return Flux.merge(segments);
+    }
+
+    /**
+     * The registration transaction: the customer item, its email and CPF reservations and the registration
+     * event in the outbox, written in one TransactWriteItems call. The puts on the customer side are conditional,
+     * so a concurrent registration with the same email or CPF cancels the whole transaction, event included,
+     * instead of racing past a separate "check" read. The event adds an item, not a round-trip.
+     */
+    static TransactWriteItemsEnhancedRequest createRequest(MappedTableResource<Customer> customerTable,
+                                                           MappedTableResource<UniqueKeyItem> uniqueKeyTable,
+                                                           CustomerOutbox outbox,
+                                                           Customer customer,
+                                                           CustomerRegisteredEvent event) {
+        return TransactWriteItemsEnhancedRequest.builder()
+                .addPutItem(customerTable, TransactPutItemEnhancedRequest.builder(Customer.class)
+                        .item(customer)
+                        .conditionExpression(attributeNotExists("customerId"))
+                        .build())
+                .addPutItem(uniqueKeyTable, TransactPutItemEnhancedRequest.builder(UniqueKeyItem.class)
+                        .item(UniqueKeyItem.forEmail(customer.getEmail(), customer.getCustomerId()))
+                        .conditionExpression(attributeNotExists("uniqueKey"))
+                        .build())
+                .addPutItem(uniqueKeyTable, TransactPutItemEnhancedRequest.builder(UniqueKeyItem.class)
+                        .item(UniqueKeyItem.forCpf(customer.getCpf(), customer.getCustomerId()))
+                        .conditionExpression(attributeNotExists("uniqueKey"))
+                        .build())
+                .addPutItem(outbox.table(), TransactPutItemEnhancedRequest.builder(OutboxItem.class)
+                        .item(outbox.itemFor(event))
+                        .build())
+                .build();
+    }
+
+    /**
+     * A partial update: an UpdateItem that sets only the changed attributes and adds 1 to the version,
+     * instead of a read followed by a put of the whole item. The condition keeps it from creating a
+     * customer that does not exist and, given expected versions, from overwriting someone else's change.
+     * The updated item comes back with the response, and the stored one with a failed condition, so that
+     * neither case needs another read.
+     */
+    static UpdateItemRequest updateRequest(String tableName, String customerId, CustomerUpdate update, Set<Long> expectedVersions) {
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> assignments = new ArrayList<>(2);
+        if (update.firstName() != null) {
+            names.put("#firstName", "firstName");
+            values.put(":firstName", AttributeValue.builder().s(update.firstName()).build());
+            assignments.add("#firstName = :firstName");
+        }
+        if (update.lastName() != null) {
+            names.put("#lastName", "lastName");
+            values.put(":lastName", AttributeValue.builder().s(update.lastName()).build());
+            assignments.add("#lastName = :lastName");
+        }
+        names.put("#customerId", "customerId");
+        names.put("#version", "version");
+        values.put(":one", AttributeValue.builder().n("1").build());
+
+        String condition = "attribute_exists(#customerId)";
+        if (expectedVersions != null) {
+            List<String> alternatives = new ArrayList<>(2);
+            if (expectedVersions.contains(0L)) {
+                // Customers registered before versioning have no version attribute; ADD starts it at 1.
+                alternatives.add("attribute_not_exists(#version)");
+            }
+            List<String> versions = new ArrayList<>(expectedVersions.size());
+            for (Long expectedVersion : expectedVersions) {
+                if (expectedVersion != 0) {
+                    String value = ":expectedVersion" + versions.size();
+                    values.put(value, AttributeValue.builder().n(Long.toString(expectedVersion)).build());
+                    versions.add(value);
+                }
+            }
+            if (versions.size() == 1) {
+                alternatives.add("#version = " + versions.get(0));
+            } else if (versions.size() > 1) {
+                alternatives.add("#version IN (" + String.join(", ", versions) + ")");
+            }
+            condition += alternatives.size() == 1
+                    ? " AND " + alternatives.get(0)
+                    : " AND (" + String.join(" OR ", alternatives) + ")";
+        }
+
+        return UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of("customerId", AttributeValue.builder().s(customerId).build()))
+                .updateExpression("SET " + String.join(", ", assignments) + " ADD #version :one")
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .returnValues(ReturnValue.ALL_NEW)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+    }
+
+    /**
+     * Tells the two reasons an update's condition can fail apart by the item DynamoDB returned with the failure.
+     */
+    static RuntimeException updateFailure(String customerId, ConditionalCheckFailedException exception) {
+        return exception.hasItem() && !exception.item().isEmpty()
+                ? new CustomerVersionConflictException("Customer was changed by another request; read it again and retry")
+                : new CustomerNotFoundException("Customer not found with ID: " + customerId);
+    }
+
+    private static Expression attributeNotExists(String attribute) {
+        return Expression.builder()
+                .expression("attribute_not_exists(#key)")
+                .expressionNames(Map.of("#key", attribute))
+                .build();
+    }
+
+    // The cursor is the scan's LastEvaluatedKey (just the partition key of this table), URL-safe encoded.
+    private static String encodeCursor(Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+        byte[] customerId = lastEvaluatedKey.get("customerId").s().getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(customerId);
+    }
+
+    private static Map<String, AttributeValue> decodeCursor(String cursor) {
+        String customerId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (customerId.isBlank()) {
+            throw new IllegalArgumentException("Empty cursor");
+        }
+        return Map.of("customerId", AttributeValue.builder().s(customerId).build());
+    }
+
+    static boolean isEmailConflict(TransactionCanceledException exception) {
+        return failedCondition(exception, EMAIL_RESERVATION_INDEX);
+    }
+
+    static boolean isCpfConflict(TransactionCanceledException exception) {
+        return failedCondition(exception, CPF_RESERVATION_INDEX);
+    }
+
+    private static boolean failedCondition(TransactionCanceledException exception, int itemIndex) {
+        List<CancellationReason> reasons = exception.cancellationReasons();
+        return reasons.size() > itemIndex && CONDITIONAL_CHECK_FAILED.equals(reasons.get(itemIndex).code());
+    }
 }
@@ -0,0 +1,151 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.domain.model.Customer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The IdempotencyStore port on a DynamoDB table with a TTL on {@code expiresAt}.
+ * <p>
+ * A claim is a single conditional put of an in-progress item that only succeeds if the key is free,
+ * i.e. absent or expired. When it is not, the put returns the item that holds the key
+ * (ReturnValuesOnConditionCheckFailure), so a retry learns the stored result in the same round trip.
+ * An in-progress item expires after {@code inProgressTimeout}, which should comfortably exceed the
+ * slowest registration; a completed one after {@code ttl}.
+ * <p>
+ * Releasing is a conditional delete of the exact claim this instance made, matched by its status, request
+ * hash and expiry, so a request that ran past its claim cannot delete the claim a retry took over meanwhile.
+ */
+public class DynamoDbIdempotencyStore implements IdempotencyStore {
+
+    private static final String KEY_IS_FREE = "attribute_not_exists(idempotencyKey) OR expiresAt < :now";
+    private static final String IS_OUR_CLAIM = "#status = :inProgress AND requestHash = :hash AND expiresAt = :claimedExpiry";
+
+    private final DynamoDbAsyncTable<IdempotencyItem> table;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Clock clock;
+
+    // The expiry of each claim this instance holds, from the claim until it is completed or released.
+    private final Map<String, Long> claimedExpiries = new ConcurrentHashMap<>();
+
+    public DynamoDbIdempotencyStore(DynamoDbAsyncTable<IdempotencyItem> table, ObjectMapper objectMapper,
+                                    Duration ttl, Duration inProgressTimeout, Clock clock) {
+        this.table = table;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public CompletableFuture<Optional<IdempotencyRecord>> claim(String key, String requestHash) {
+        long now = clock.instant().getEpochSecond();
+        long expiresAt = now + inProgressTimeout.toSeconds();
+        IdempotencyItem item = IdempotencyItem.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(IdempotencyItem.IN_PROGRESS)
+                .expiresAt(expiresAt)
+                .build();
+        PutItemEnhancedRequest<IdempotencyItem> request = PutItemEnhancedRequest.builder(IdempotencyItem.class)
+                .item(item)
+                .conditionExpression(Expression.builder()
+                        .expression(KEY_IS_FREE)
+                        .expressionValues(Map.of(":now", AttributeValue.fromN(Long.toString(now))))
+                        .build())
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+        return table.putItem(request)
+                .handle((v, error) -> {
+                    if (error == null) {
+                        claimedExpiries.put(key, expiresAt);
+                        return Optional.empty();
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof ConditionalCheckFailedException conflict && conflict.hasItem()) {
+                        return Optional.of(toRecord(table.tableSchema().mapToItem(conflict.item())));
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> complete(String key, String requestHash, Customer customer) {
+        claimedExpiries.remove(key);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(customer);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException(e));
+        }
+        return table.putItem(IdempotencyItem.builder()
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .status(IdempotencyItem.COMPLETED)
+                .customer(json)
+                .expiresAt(clock.instant().plus(ttl).getEpochSecond())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<Void> release(String key, String requestHash) {
+        Long claimedExpiry = claimedExpiries.remove(key);
+        if (claimedExpiry == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DeleteItemEnhancedRequest request = DeleteItemEnhancedRequest.builder()
+                .key(Key.builder().partitionValue(key).build())
+                .conditionExpression(Expression.builder()
+                        .expression(IS_OUR_CLAIM)
+                        .expressionNames(Map.of("#status", "status"))
+                        .expressionValues(Map.of(
+                                ":inProgress", AttributeValue.fromS(IdempotencyItem.IN_PROGRESS),
+                                ":hash", AttributeValue.fromS(requestHash),
+                                ":claimedExpiry", AttributeValue.fromN(Long.toString(claimedExpiry))))
+                        .build())
+                .build();
+        return table.deleteItem(request)
+                .handle((deleted, error) -> {
+                    if (error == null) {
+                        return null;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof ConditionalCheckFailedException) {
+                        return null; // The claim lapsed and the key is someone else's now.
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(cause);
+                });
+    }
+
+    private IdempotencyRecord toRecord(IdempotencyItem item) {
+        if (!IdempotencyItem.COMPLETED.equals(item.getStatus())) {
+            return IdempotencyRecord.inProgress(item.getRequestHash());
+        }
+        try {
+            return IdempotencyRecord.completed(item.getRequestHash(), objectMapper.readValue(item.getCustomer(), Customer.class));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
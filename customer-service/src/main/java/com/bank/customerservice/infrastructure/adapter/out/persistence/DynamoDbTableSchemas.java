@@ -0,0 +1,130 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.model.Customer;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.Instant;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primarySortKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+
+/**
+ * Hand-built table schemas for the items this adapter persists.
+ * <p>
+ * {@code TableSchema.fromBean} runs {@code java.beans} introspection and spins up a lambda per
+ * accessor through the metafactory the first time each bean class is used, which every cold start
+ * pays. These schemas bind plain method references instead. Once built, both kinds marshal an
+ * item through the same {@code StaticTableSchema} machinery, so the saving is at startup rather
+ * than per item (see {@code DynamoDbTableSchemasBenchmark}). They must stay equivalent to the bean
+ * annotations on the model classes (see {@code DynamoDbTableSchemasTest}); add an attribute here
+ * whenever a field is added.
+ */
+public final class DynamoDbTableSchemas {
+
+    public static final TableSchema<Customer> CUSTOMER = customerSchema();
+
+    public static final TableSchema<UniqueKeyItem> UNIQUE_KEY = uniqueKeySchema();
+
+    public static final TableSchema<OutboxItem> OUTBOX = outboxSchema();
+
+    public static final TableSchema<IdempotencyItem> IDEMPOTENCY = idempotencySchema();
+
+    private DynamoDbTableSchemas() {
+    }
+
+    static TableSchema<Customer> customerSchema() {
+        return StaticTableSchema.builder(Customer.class)
+                .newItemSupplier(Customer::new)
+                .addAttribute(String.class, a -> a.name("customerId")
+                        .getter(Customer::getCustomerId)
+                        .setter(Customer::setCustomerId)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("firstName")
+                        .getter(Customer::getFirstName)
+                        .setter(Customer::setFirstName))
+                .addAttribute(String.class, a -> a.name("lastName")
+                        .getter(Customer::getLastName)
+                        .setter(Customer::setLastName))
+                .addAttribute(String.class, a -> a.name("email")
+                        .getter(Customer::getEmail)
+                        .setter(Customer::setEmail)
+                        .tags(secondaryPartitionKey(Customer.EMAIL_INDEX)))
+                .addAttribute(String.class, a -> a.name("cpf")
+                        .getter(Customer::getCpf)
+                        .setter(Customer::setCpf)
+                        .tags(secondaryPartitionKey(Customer.CPF_INDEX)))
+                .addAttribute(Instant.class, a -> a.name("createdAt")
+                        .getter(Customer::getCreatedAt)
+                        .setter(Customer::setCreatedAt))
+                .addAttribute(Long.class, a -> a.name("version")
+                        .getter(Customer::getVersion)
+                        .setter(Customer::setVersion))
+                .build();
+    }
+
+    static TableSchema<UniqueKeyItem> uniqueKeySchema() {
+        return StaticTableSchema.builder(UniqueKeyItem.class)
+                .newItemSupplier(UniqueKeyItem::new)
+                .addAttribute(String.class, a -> a.name("uniqueKey")
+                        .getter(UniqueKeyItem::getUniqueKey)
+                        .setter(UniqueKeyItem::setUniqueKey)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("customerId")
+                        .getter(UniqueKeyItem::getCustomerId)
+                        .setter(UniqueKeyItem::setCustomerId))
+                .build();
+    }
+
+    static TableSchema<OutboxItem> outboxSchema() {
+        return StaticTableSchema.builder(OutboxItem.class)
+                .newItemSupplier(OutboxItem::new)
+                .addAttribute(String.class, a -> a.name("shard")
+                        .getter(OutboxItem::getShard)
+                        .setter(OutboxItem::setShard)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("sequence")
+                        .getter(OutboxItem::getSequence)
+                        .setter(OutboxItem::setSequence)
+                        .tags(primarySortKey()))
+                .addAttribute(String.class, a -> a.name("eventId")
+                        .getter(OutboxItem::getEventId)
+                        .setter(OutboxItem::setEventId))
+                .addAttribute(String.class, a -> a.name("eventType")
+                        .getter(OutboxItem::getEventType)
+                        .setter(OutboxItem::setEventType))
+                .addAttribute(String.class, a -> a.name("customerId")
+                        .getter(OutboxItem::getCustomerId)
+                        .setter(OutboxItem::setCustomerId))
+                .addAttribute(String.class, a -> a.name("payload")
+                        .getter(OutboxItem::getPayload)
+                        .setter(OutboxItem::setPayload))
+                .addAttribute(Instant.class, a -> a.name("occurredAt")
+                        .getter(OutboxItem::getOccurredAt)
+                        .setter(OutboxItem::setOccurredAt))
+                .build();
+    }
+
+    static TableSchema<IdempotencyItem> idempotencySchema() {
+        return StaticTableSchema.builder(IdempotencyItem.class)
+                .newItemSupplier(IdempotencyItem::new)
+                .addAttribute(String.class, a -> a.name("idempotencyKey")
+                        .getter(IdempotencyItem::getIdempotencyKey)
+                        .setter(IdempotencyItem::setIdempotencyKey)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("requestHash")
+                        .getter(IdempotencyItem::getRequestHash)
+                        .setter(IdempotencyItem::setRequestHash))
+                .addAttribute(String.class, a -> a.name("status")
+                        .getter(IdempotencyItem::getStatus)
+                        .setter(IdempotencyItem::setStatus))
+                .addAttribute(String.class, a -> a.name("customer")
+                        .getter(IdempotencyItem::getCustomer)
+                        .setter(IdempotencyItem::setCustomer))
+                .addAttribute(Long.class, a -> a.name("expiresAt")
+                        .getter(IdempotencyItem::getExpiresAt)
+                        .setter(IdempotencyItem::setExpiresAt))
+                .build();
+    }
+}
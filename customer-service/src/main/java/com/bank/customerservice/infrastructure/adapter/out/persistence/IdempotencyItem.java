@@ -0,0 +1,38 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * The record of an idempotency key in the idempotency-keys table.
+ * {@code expiresAt} (epoch seconds) is the table's TTL attribute: DynamoDB deletes expired items in the
+ * background, possibly days later, so readers must treat an item past its expiry as absent themselves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class IdempotencyItem {
+
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String COMPLETED = "COMPLETED";
+
+    private String idempotencyKey;
+    private String requestHash;
+    private String status;
+
+    // The registered customer as JSON, once the request has completed.
+    private String customer;
+
+    private Long expiresAt;
+
+    @DynamoDbPartitionKey
+    public String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+import java.time.Instant;
+
+/**
+ * An event waiting in the outbox table to be published to the queue.
+ * It is written in the same transaction as the change it announces and deleted once published.
+ * Events are spread over a fixed number of shards by customer ID, and sorted by time within a
+ * shard, so that all events of one customer are read back in the order they were written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class OutboxItem {
+
+    private String shard;
+    private String sequence;
+    private String eventId;
+    private String eventType;
+    private String customerId;
+    private String payload;
+    private Instant occurredAt;
+
+    @DynamoDbPartitionKey
+    public String getShard() {
+        return this.shard;
+    }
+
+    /**
+     * The zero-padded epoch milliseconds of the event followed by its ID, which sorts by time
+     * and stays unique when two events share a millisecond.
+     */
+    @DynamoDbSortKey
+    public String getSequence() {
+        return this.sequence;
+    }
+
+    static String shardOf(String customerId, int shards) {
+        return Integer.toString(Math.floorMod(customerId.hashCode(), shards));
+    }
+
+    static String sequenceOf(Instant occurredAt, String eventId) {
+        return String.format("%015d#%s", occurredAt.toEpochMilli(), eventId);
+    }
+}
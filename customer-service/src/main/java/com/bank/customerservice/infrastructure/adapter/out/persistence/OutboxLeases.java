@@ -0,0 +1,135 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Leases on the outbox shards, so that each shard is drained by one relay instance at a time.
+ * Without them every instance would read and send the same pending events, multiplying the publishes
+ * by the number of instances.
+ * <p>
+ * A lease is an item of the outbox table in the {@value #LEASE_PARTITION} partition (which holds no events),
+ * with the shard number as sort key, the owner and an expiry time. It is taken with a conditional put
+ * that only succeeds if the lease is free, expired or already ours, and renewed the same way once less
+ * than half of it is left, so a live owner keeps its shards and those of a stopped instance are taken
+ * over once its leases expire. A failed attempt returns the current lease, and its owner is not
+ * challenged again before it expires, so idle contenders cost no writes.
+ * <p>
+ * Expiry is compared between the clocks of different instances; the renewal at half-time tolerates a
+ * skew of up to half the lease duration. Should an owner stall past its lease anyway, the next owner
+ * may publish some of its events again, which at-least-once delivery allows.
+ */
+public class OutboxLeases {
+
+    static final String LEASE_PARTITION = "lease";
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String tableName;
+    private final String owner;
+    private final Duration duration;
+    private final Clock clock;
+
+    // Per shard, in epoch milliseconds: until when we hold its lease (0 if we don't),
+    // and until when another instance holds it, as of our last attempt.
+    private final AtomicLongArray heldUntil;
+    private final AtomicLongArray takenUntil;
+
+    public OutboxLeases(DynamoDbAsyncClient dynamoDbClient, String tableName, int shards, String owner,
+                        Duration duration, Clock clock) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = tableName;
+        this.owner = owner;
+        this.duration = duration;
+        this.clock = clock;
+        this.heldUntil = new AtomicLongArray(shards);
+        this.takenUntil = new AtomicLongArray(shards);
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    /**
+     * Takes or renews the lease of a shard, if it is not held by another instance.
+     * @param shard The shard, from 0 to the number of shards - 1.
+     * @return Whether this instance holds the lease and may drain the shard.
+     */
+    public boolean tryAcquire(int shard) {
+        long now = clock.millis();
+        if (heldUntil.get(shard) - now > duration.toMillis() / 2) {
+            return true;
+        }
+        if (takenUntil.get(shard) > now) {
+            return false;
+        }
+
+        long expiresAt = now + duration.toMillis();
+        PutItemRequest request = PutItemRequest.builder()
+                .tableName(tableName)
+                .item(Map.of(
+                        "shard", string(LEASE_PARTITION),
+                        "sequence", string(Integer.toString(shard)),
+                        "owner", string(owner),
+                        "expiresAt", number(expiresAt)))
+                .conditionExpression("attribute_not_exists(#shard) OR #owner = :owner OR #expiresAt < :now")
+                .expressionAttributeNames(Map.of("#shard", "shard", "#owner", "owner", "#expiresAt", "expiresAt"))
+                .expressionAttributeValues(Map.of(":owner", string(owner), ":now", number(now)))
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+        try {
+            dynamoDbClient.putItem(request).join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof ConditionalCheckFailedException taken)) {
+                throw e;
+            }
+            heldUntil.set(shard, 0);
+            AttributeValue otherExpiry = taken.hasItem() ? taken.item().get("expiresAt") : null;
+            takenUntil.set(shard, otherExpiry != null ? Long.parseLong(otherExpiry.n()) : now + duration.toMillis());
+            return false;
+        }
+        heldUntil.set(shard, expiresAt);
+        takenUntil.set(shard, 0);
+        return true;
+    }
+
+    /**
+     * Gives up the leases this instance holds, so that another instance can take the shards over right away.
+     * Failures are ignored: the leases then simply expire.
+     */
+    public void releaseAll() {
+        for (int shard = 0; shard < heldUntil.length(); shard++) {
+            if (heldUntil.getAndSet(shard, 0) == 0) {
+                continue;
+            }
+            try {
+                dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                        .tableName(tableName)
+                        .key(Map.of("shard", string(LEASE_PARTITION), "sequence", string(Integer.toString(shard))))
+                        .conditionExpression("#owner = :owner")
+                        .expressionAttributeNames(Map.of("#owner", "owner"))
+                        .expressionAttributeValues(Map.of(":owner", string(owner)))
+                        .build()).join();
+            } catch (CompletionException e) {
+                // Taken over or unreachable; it expires on its own.
+            }
+        }
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+
+    private static AttributeValue number(long value) {
+        return AttributeValue.builder().n(Long.toString(value)).build();
+    }
+}
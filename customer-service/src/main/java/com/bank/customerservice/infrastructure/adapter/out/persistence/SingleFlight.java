@@ -0,0 +1,63 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent asynchronous calls for the same key into a single call.
+ * While a call for a key is in flight, every other caller asking for that key shares its result
+ * instead of starting a new one. The entry is removed as soon as the call completes, so the next
+ * request after completion always triggers a fresh call: this removes duplicate work without
+ * serving stale data.
+ *
+ * @param <K> The key type (e.g. a customer ID).
+ * @param <V> The type of the value the call produces.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for the given key, or joins the one already in flight.
+     *
+     * @param key  The key identifying the call.
+     * @param call The asynchronous call to start if none is in flight for this key.
+     * @return A future with the (shared) result. Each caller gets its own dependent copy, so
+     * cancelling or completing it does not affect the other callers.
+     */
+    public CompletableFuture<V> execute(K key, Function<K, CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletableFuture<V> result;
+        try {
+            result = call.apply(key);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        // Remove the entry before completing the promise, so that a caller reacting to
+        // the result and asking again starts a fresh call instead of joining a finished one.
+        result.whenComplete((value, error) -> {
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(value);
+            }
+        });
+        return promise.copy();
+    }
+
+    /**
+     * The number of keys that currently have a call in flight.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * A reservation item that claims a unique value (an email address or a CPF) for a single customer.
+ * It is written in the same transaction as the customer itself, so the conditional put on
+ * its partition key is what actually enforces uniqueness.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@DynamoDbBean
+public class UniqueKeyItem {
+
+    static final String EMAIL_PREFIX = "EMAIL#";
+    static final String CPF_PREFIX = "CPF#";
+
+    private String uniqueKey;
+    private String customerId;
+
+    @DynamoDbPartitionKey
+    public String getUniqueKey() {
+        return this.uniqueKey;
+    }
+
+    /**
+     * Builds the reservation item for a customer's (already normalized) email.
+     */
+    static UniqueKeyItem forEmail(String email, String customerId) {
+        return new UniqueKeyItem(emailKey(email), customerId);
+    }
+
+    /**
+     * The partition key under which a (normalized) email is reserved.
+     */
+    static String emailKey(String email) {
+        return EMAIL_PREFIX + email;
+    }
+
+    /**
+     * Builds the reservation item for a customer's (already normalized) CPF.
+     */
+    static UniqueKeyItem forCpf(String cpf, String customerId) {
+        return new UniqueKeyItem(cpfKey(cpf), customerId);
+    }
+
+    /**
+     * The partition key under which a (normalized) CPF is reserved.
+     */
+    static String cpfKey(String cpf) {
+        return CPF_PREFIX + cpf;
+    }
+}
@@ -0,0 +1,421 @@
+package com.bank.customerservice.infrastructure.adapter.out.search;
+
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStoreLoader;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The CustomerSearchIndex as an inverted index held in memory.
+ * <p>
+ * Customers are numbered in the order they are first indexed, and everything is stored against those numbers
+ * in primitive arrays: the customer ID as the two longs of its UUID, the IDs of the customer's terms,
+ * and for each distinct term a sorted int array of the customers that have it. The distinct terms are
+ * kept in a sorted map, so the terms a query word is a prefix of are one contiguous range. A map from
+ * customer ID to number keeps each customer in one slot: indexing it again is ignored, and an update
+ * takes it out of the postings of its old terms and puts it in those of its new ones, keeping its number.
+ * <p>
+ * A search starts from the query word with the fewest customers and walks them from the most recently
+ * indexed back, merging the postings of every term in its range. Results are therefore in reverse indexing
+ * order, which is not registration order: the customers loaded on start are indexed in scan order. Each candidate is then checked against the other words by
+ * its own term IDs, against the IDs of the terms each word starts, which are looked up once per query;
+ * no posting list or term text is touched per candidate. The search stops at {@code limit} matches or
+ * after {@link #MAX_CANDIDATES} candidates, which bounds the time a query of only common words takes,
+ * at the price of missing older matches of such queries.
+ * <p>
+ * On start, the index is filled in the background by the {@link CustomerStoreLoader}; customers
+ * registered meanwhile are indexed as they come. At most {@code maxCustomers} customers are indexed, which
+ * bounds the heap used; later ones are left out (see {@code customer.search.index.rejected}). Searches and
+ * changes share a read-write lock: searches run concurrently, an addition or update holds it for microseconds.
+ */
+@Slf4j
+public class InMemoryCustomerSearchIndex implements CustomerSearchIndex, CustomerStoreLoader.Target, MeterBinder {
+
+    static final int MAX_CANDIDATES = 10_000;
+
+    // Query words that start up to this many terms are matched by term ID; longer ranges by text.
+    private static final int MAX_TERM_IDS_PER_WORD = 4096;
+
+    private final int maxCustomers;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Term> termsByText = new TreeMap<>();
+    private Term[] termsById = new Term[1024];
+    private int termCount;
+
+    // Customer c's ID is customerIds[2c] (most significant bits) and customerIds[2c + 1];
+    // its term IDs are customerTerms[termStarts[c]] up to customerTerms[termEnds[c]]. An update that
+    // gives a customer more terms than it had moves them to the end of customerTerms.
+    private final Map<UUID, Integer> customerNumbers = new HashMap<>();
+    private long[] customerIds = new long[2 * 1024];
+    private int[] termStarts = new int[1024];
+    private int[] termEnds = new int[1024];
+    private int[] customerTerms = new int[8 * 1024];
+    private int customerTermCount;
+    private int customerCount;
+
+    // Approximate heap used, updated by every change so that reading it takes no lock. Only written
+    // under the write lock. Each distinct term also costs its String and a map entry, counted as 64 bytes
+    // plus its length; each customer its entry in customerNumbers, counted as 64 bytes.
+    private volatile long sizeInBytes = 8L * customerIds.length + 4L * termStarts.length + 4L * termEnds.length
+            + 4L * customerTerms.length + 8L * termsById.length;
+    private long rejected;
+
+    /**
+     * @param maxCustomers The maximum number of customers indexed.
+     */
+    public InMemoryCustomerSearchIndex(int maxCustomers) {
+        this.maxCustomers = maxCustomers;
+    }
+
+    @Override
+    public void add(Customer customer) {
+        index(customer, false);
+    }
+
+    @Override
+    public void update(Customer customer) {
+        index(customer, true);
+    }
+
+    private void index(Customer customer, boolean replace) {
+        UUID customerId;
+        try {
+            customerId = UUID.fromString(customer.getCustomerId());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.debug("Not indexing customer {}: its ID is not a UUID", customer.getCustomerId());
+            return;
+        }
+        List<String> terms = customer.searchTerms();
+
+        lock.writeLock().lock();
+        try {
+            Integer indexed = customerNumbers.get(customerId);
+            if (indexed != null) {
+                if (replace) {
+                    replaceTerms(indexed, terms);
+                }
+                return;
+            }
+            if (customerCount == maxCustomers) {
+                if (rejected++ == 0) {
+                    log.warn("The search index is full at {} customers; customers registered from now on are not searchable",
+                            maxCustomers);
+                }
+                return;
+            }
+            int number = customerCount;
+            if (customerIds.length == 2 * number) {
+                sizeInBytes += 8L * customerIds.length + 4L * termStarts.length + 4L * termEnds.length;
+                customerIds = Arrays.copyOf(customerIds, customerIds.length * 2);
+                termStarts = Arrays.copyOf(termStarts, termStarts.length * 2);
+                termEnds = Arrays.copyOf(termEnds, termEnds.length * 2);
+            }
+            customerIds[2 * number] = customerId.getMostSignificantBits();
+            customerIds[2 * number + 1] = customerId.getLeastSignificantBits();
+            customerNumbers.put(customerId, number);
+            sizeInBytes += 64;
+            customerCount++;
+            setTerms(number, appendCustomerTerms(terms.size()), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceTerms(int customer, List<String> terms) {
+        for (int i = termStarts[customer]; i < termEnds[customer]; i++) {
+            termsById[customerTerms[i]].remove(customer);
+        }
+        int start = terms.size() <= termEnds[customer] - termStarts[customer]
+                ? termStarts[customer]
+                : appendCustomerTerms(terms.size());
+        setTerms(customer, start, terms);
+    }
+
+    private void setTerms(int customer, int start, List<String> terms) {
+        for (int i = 0; i < terms.size(); i++) {
+            Term term = termsByText.get(terms.get(i));
+            if (term == null) {
+                term = newTerm(terms.get(i));
+            }
+            customerTerms[start + i] = term.id;
+            term.add(customer);
+        }
+        termStarts[customer] = start;
+        termEnds[customer] = start + terms.size();
+    }
+
+    /**
+     * @return Where in customerTerms the next {@code count} term IDs go.
+     */
+    private int appendCustomerTerms(int count) {
+        int start = customerTermCount;
+        if (customerTerms.length < start + count) {
+            int length = Math.max(customerTerms.length * 2, start + count);
+            sizeInBytes += 4L * (length - customerTerms.length);
+            customerTerms = Arrays.copyOf(customerTerms, length);
+        }
+        customerTermCount += count;
+        return start;
+    }
+
+    @Override
+    public List<String> search(List<String> terms, int limit) {
+        lock.readLock().lock();
+        try {
+            // The query word with the fewest customers drives the search.
+            List<Term> driving = null;
+            long drivingCount = Long.MAX_VALUE;
+            int drivingWord = -1;
+            for (int word = 0; word < terms.size(); word++) {
+                List<Term> matching = new ArrayList<>();
+                long count = 0;
+                for (Term term : prefixRange(terms.get(word))) {
+                    matching.add(term);
+                    count += term.size;
+                    if (count >= drivingCount) {
+                        break;
+                    }
+                }
+                if (count < drivingCount) {
+                    driving = matching;
+                    drivingCount = count;
+                    drivingWord = word;
+                }
+                if (count == 0) {
+                    return List.of();
+                }
+            }
+
+            int[][] otherWordTermIds = new int[terms.size()][];
+            for (int word = 0; word < terms.size(); word++) {
+                if (word != drivingWord) {
+                    otherWordTermIds[word] = termIdsStartingWith(terms.get(word));
+                }
+            }
+
+            // Most recently indexed first: merge the driving terms' postings from their ends.
+            PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, driving.size()),
+                    Comparator.comparingInt(Cursor::customer).reversed());
+            for (Term term : driving) {
+                if (term.size > 0) { // Updates may have taken every customer out of it.
+                    cursors.add(new Cursor(term));
+                }
+            }
+            List<String> found = new ArrayList<>(limit);
+            int previous = -1;
+            int candidates = 0;
+            while (!cursors.isEmpty() && found.size() < limit && candidates < MAX_CANDIDATES) {
+                Cursor cursor = cursors.poll();
+                int customer = cursor.customer();
+                if (--cursor.position >= 0) {
+                    cursors.add(cursor);
+                }
+                if (customer == previous) {
+                    continue; // It has more than one term in the driving range.
+                }
+                previous = customer;
+                candidates++;
+                if (matchesOtherWords(customer, terms, otherWordTermIds, drivingWord)) {
+                    found.add(new UUID(customerIds[2 * customer], customerIds[2 * customer + 1]).toString());
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matchesOtherWords(int customer, List<String> words, int[][] termIds, int skippedWord) {
+        for (int word = 0; word < words.size(); word++) {
+            if (word != skippedWord && !hasTermStartingWith(customer, words.get(word), termIds[word])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param termIds The sorted IDs of the terms that start with the prefix, or null to compare texts.
+     */
+    private boolean hasTermStartingWith(int customer, String prefix, int[] termIds) {
+        for (int i = termStarts[customer]; i < termEnds[customer]; i++) {
+            int termId = customerTerms[i];
+            if (termIds != null ? Arrays.binarySearch(termIds, termId) >= 0 : termsById[termId].text.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Checking a candidate's term IDs against these stays within two int arrays, where comparing
+    // texts would chase a pointer per term.
+    private int[] termIdsStartingWith(String prefix) {
+        int[] termIds = new int[16];
+        int count = 0;
+        for (Term term : prefixRange(prefix)) {
+            if (count == MAX_TERM_IDS_PER_WORD) {
+                return null;
+            }
+            if (count == termIds.length) {
+                termIds = Arrays.copyOf(termIds, count * 2);
+            }
+            termIds[count++] = term.id;
+        }
+        termIds = Arrays.copyOf(termIds, count);
+        Arrays.sort(termIds);
+        return termIds;
+    }
+
+    private Iterable<Term> prefixRange(String prefix) {
+        return termsByText.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private Term newTerm(String text) {
+        if (termCount == termsById.length) {
+            sizeInBytes += 8L * termsById.length;
+            termsById = Arrays.copyOf(termsById, termCount * 2);
+        }
+        Term term = new Term(text, termCount);
+        termsById[termCount++] = term;
+        termsByText.put(text, term);
+        sizeInBytes += 64 + text.length() + 4L * term.customers.length;
+        return term;
+    }
+
+    @Override
+    public void load(Customer customer) {
+        add(customer);
+    }
+
+    @Override
+    public void loaded() {
+        log.info("Indexed {} customers with {} distinct terms for search ({} MiB)", customers(), terms(), sizeInBytes() >> 20);
+    }
+
+    int customers() {
+        lock.readLock().lock();
+        try {
+            return customerCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int terms() {
+        lock.readLock().lock();
+        try {
+            return termCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long rejected() {
+        lock.readLock().lock();
+        try {
+            return rejected;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the index.
+     */
+    long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("customer.search.index.customers", this, InMemoryCustomerSearchIndex::customers)
+                .description("Customers in the search index")
+                .register(registry);
+        Gauge.builder("customer.search.index.terms", this, InMemoryCustomerSearchIndex::terms)
+                .description("Distinct terms in the search index")
+                .register(registry);
+        Gauge.builder("customer.search.index.rejected", this, InMemoryCustomerSearchIndex::rejected)
+                .description("Customers left out of the search index because it was full")
+                .register(registry);
+        Gauge.builder("customer.search.index.memory", this, InMemoryCustomerSearchIndex::sizeInBytes)
+                .description("Approximate memory used by the search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * A distinct term and, in ascending order, the customers that have it.
+     */
+    private final class Term {
+
+        final String text;
+        final int id;
+        int[] customers = new int[2];
+        int size;
+
+        Term(String text, int id) {
+            this.text = text;
+            this.id = id;
+        }
+
+        void add(int customer) {
+            // New customers go at the end; only an updated one goes in between.
+            int position = size == 0 || customers[size - 1] < customer
+                    ? size
+                    : Arrays.binarySearch(customers, 0, size, customer);
+            if (position < 0) {
+                position = -position - 1;
+            } else if (position < size) {
+                return;
+            }
+            if (size == customers.length) {
+                sizeInBytes += 4L * customers.length;
+                customers = Arrays.copyOf(customers, customers.length * 2);
+            }
+            System.arraycopy(customers, position, customers, position + 1, size - position);
+            customers[position] = customer;
+            size++;
+        }
+
+        void remove(int customer) {
+            int position = Arrays.binarySearch(customers, 0, size, customer);
+            if (position >= 0) {
+                System.arraycopy(customers, position + 1, customers, position, size - position - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * A position in a term's customers, moving from the most recently indexed to the first.
+     */
+    private static final class Cursor {
+
+        final Term term;
+        int position;
+
+        Cursor(Term term) {
+            this.term = term;
+            this.position = term.size - 1;
+        }
+
+        int customer() {
+            return term.customers[position];
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for bulk customer registration through DynamoDB TransactWriteItems.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.dynamodb.bulk-write")
+public class BulkWriteProperties {
+
+    /**
+     * How many TransactWriteItems calls of one bulk registration may be in flight at the same time.
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * How many calls are made, in total, before customers whose transaction keeps being canceled
+     * (by conflicting transactions or throttling) are reported as failed.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Backoff before the first retry of a canceled transaction. It doubles on every following retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(50);
+}
@@ -0,0 +1,32 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.cache.CachingCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CustomerCacheProperties.class)
+public class CustomerCacheConfig {
+
+    /**
+     * Wraps the customer store with the read-through cache. The metered repository in front of it
+     * (see {@link CustomerRepositoryMetricsConfig}) is what the use cases receive.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "customer.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CachingCustomerRepository cachingCustomerRepository(
+            @Qualifier(CustomerStore.QUALIFIER) CustomerRepository delegate,
+            CustomerCacheProperties properties) {
+        return new CachingCustomerRepository(
+                delegate,
+                properties.getMaximumSize(),
+                properties.getTtl(),
+                properties.getNegativeTtl()
+        );
+    }
+}
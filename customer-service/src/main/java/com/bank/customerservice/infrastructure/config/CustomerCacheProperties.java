@@ -0,0 +1,34 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process customer cache that sits in front of the persistence adapter.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.cache")
+public class CustomerCacheProperties {
+
+    /**
+     * Whether reads by customer ID go through the local cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of customers (and cached "not found" results) kept in memory.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a found customer stays cached after it was loaded.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * How long a "customer not found" result stays cached. Zero disables negative caching.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+}
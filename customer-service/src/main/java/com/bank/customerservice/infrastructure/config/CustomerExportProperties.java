@@ -0,0 +1,40 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Settings for the full customer export (streaming HTTP endpoint and nightly file).
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.export")
+public class CustomerExportProperties {
+
+    /**
+     * Default number of parallel scan segments. Throughput grows with it until the table or client saturates.
+     */
+    private int totalSegments = 4;
+
+    private final File file = new File();
+
+    @Data
+    public static class File {
+
+        /**
+         * Whether the scheduled export to a local NDJSON file runs.
+         */
+        private boolean enabled = false;
+
+        /**
+         * When the scheduled export runs.
+         */
+        private String cron = "0 0 2 * * *";
+
+        /**
+         * Directory the export files are written to.
+         */
+        private Path directory = Path.of("exports");
+    }
+}
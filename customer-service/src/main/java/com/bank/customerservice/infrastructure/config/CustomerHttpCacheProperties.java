@@ -0,0 +1,25 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * HTTP caching of single-customer reads: the Cache-Control header sent with them, next to their ETag.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.http-cache")
+public class CustomerHttpCacheProperties {
+
+    /**
+     * How long clients may reuse a customer without asking again. Zero makes them revalidate every time,
+     * which is cheap: an unchanged customer is answered with 304 NOT MODIFIED and no body.
+     */
+    private Duration maxAge = Duration.ZERO;
+
+    /**
+     * Whether only the client itself may cache customers, not shared caches between it and the service.
+     */
+    private boolean cachePrivate = true;
+}
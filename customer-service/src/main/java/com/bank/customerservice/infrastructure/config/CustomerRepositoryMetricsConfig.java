@@ -0,0 +1,30 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.cache.CachingCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.metrics.MeteredCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class CustomerRepositoryMetricsConfig {
+
+    /**
+     * Times every call the use cases make to the repository. Marked @Primary so that the use cases
+     * receive it; it wraps the cache when the cache is enabled, and the customer store otherwise.
+     */
+    @Bean
+    @Primary
+    public MeteredCustomerRepository meteredCustomerRepository(
+            ObjectProvider<CachingCustomerRepository> cachingRepository,
+            @Qualifier(CustomerStore.QUALIFIER) CustomerRepository store,
+            MeterRegistry meterRegistry) {
+        CustomerRepository delegate = cachingRepository.getIfAvailable();
+        return new MeteredCustomerRepository(delegate != null ? delegate : store, meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.infrastructure.adapter.out.search.InMemoryCustomerSearchIndex;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CustomerSearchProperties.class)
+public class CustomerSearchConfig {
+
+    /**
+     * The index is filled on start by the customer store loader, then kept current by this
+     * instance's registrations and updates.
+     */
+    @Bean
+    public InMemoryCustomerSearchIndex customerSearchIndex(CustomerSearchProperties properties) {
+        return new InMemoryCustomerSearchIndex(properties.getMaxCustomers());
+    }
+}
@@ -0,0 +1,18 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory customer search index.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.search")
+public class CustomerSearchProperties {
+
+    /**
+     * The maximum number of customers indexed, which bounds the heap the index takes: roughly 80 bytes
+     * per customer, plus about 150 bytes per distinct word. Customers beyond it are not searchable.
+     */
+    private int maxCustomers = 2_000_000;
+}
@@ -0,0 +1,28 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStoreLoader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(CustomerStoreLoadProperties.class)
+public class CustomerStoreLoadConfig {
+
+    /**
+     * One scan of the store on start fills every in-memory view of it, e.g. the registered-email filter
+     * and the search index.
+     */
+    @Bean
+    public CustomerStoreLoader customerStoreLoader(
+            @Qualifier(CustomerStore.QUALIFIER) CustomerRepository store,
+            List<CustomerStoreLoader.Target> targets,
+            CustomerStoreLoadProperties properties) {
+        return new CustomerStoreLoader(store, targets, properties.getSegments());
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the scan of the customer store that fills the in-memory views of it on start.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.store-load")
+public class CustomerStoreLoadProperties {
+
+    /**
+     * Into how many segments the customer store is split and scanned concurrently.
+     */
+    private int segments = 8;
+}
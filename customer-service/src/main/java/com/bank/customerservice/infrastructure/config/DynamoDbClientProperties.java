@@ -0,0 +1,86 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import software.amazon.awssdk.core.retry.RetryMode;
+
+import java.time.Duration;
+
+/**
+ * Settings for the DynamoDB client: its HTTP connection pool, timeouts and retries.
+ * The defaults are the SDK's own, except for TCP keep-alive and the adaptive retry mode.
+ * They apply to the async (Netty) client and, in virtual-thread mode, to the blocking (Apache) client.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.dynamodb.client")
+public class DynamoDbClientProperties {
+
+    /**
+     * Maximum number of concurrent requests, i.e. of open HTTP/1.1 connections. Size it to the expected
+     * rate times the average latency of a call (Little's law), with headroom for latency spikes.
+     */
+    private int maxConcurrency = 50;
+
+    /**
+     * How many requests may wait for a free connection before new ones fail immediately (async client only).
+     */
+    private int maxPendingConnectionAcquires = 10_000;
+
+    /**
+     * How long a request waits for a free connection before it fails.
+     */
+    private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long opening a new connection may take.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Connections are closed after this long even when healthy, so that traffic moves to new DynamoDB
+     * hosts as DNS changes. Zero keeps connections for as long as they work.
+     */
+    private Duration connectionTimeToLive = Duration.ZERO;
+
+    /**
+     * Connections idle for longer than this are closed.
+     */
+    private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+
+    /**
+     * How long to wait for data from DynamoDB on an open connection (the socket timeout of the blocking client).
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * How long writing a request to the connection may take (async client only).
+     */
+    private Duration writeTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Whether idle pooled connections send TCP keep-alive probes, so that connections dropped by a
+     * NAT gateway or load balancer are detected before a request is sent on them.
+     */
+    private boolean tcpKeepAlive = true;
+
+    /**
+     * Upper bound for a whole call, retries and backoff included. Unset means no bound.
+     */
+    private Duration apiCallTimeout;
+
+    /**
+     * Upper bound for a single attempt of a call; a slow attempt is abandoned and retried. Unset means no bound.
+     */
+    private Duration apiCallAttemptTimeout;
+
+    /**
+     * How failed calls are retried. ADAPTIVE adds a client-side rate limiter that slows this client
+     * down when DynamoDB throttles it, instead of retrying into the throttling.
+     */
+    private RetryMode retryMode = RetryMode.ADAPTIVE;
+
+    /**
+     * Attempts per call, the first one included. Unset keeps the default of the retry mode.
+     */
+    private Integer maxAttempts;
+}
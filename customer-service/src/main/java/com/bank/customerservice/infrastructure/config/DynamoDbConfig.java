@@ -1,40 +1,86 @@
 package com.bank.customerservice.infrastructure.config;
 
+import com.bank.customerservice.application.port.out.IdempotencyStore;
 import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.out.metrics.ConsumedCapacityInterceptor;
+import com.bank.customerservice.infrastructure.adapter.out.metrics.MicrometerSdkMetricPublisher;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerOutbox;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.DynamoDbIdempotencyStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.DynamoDbTableSchemas;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.IdempotencyItem;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxItem;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.UniqueKeyItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.metrics.MetricPublisher;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 
 import java.net.URI;
+import java.time.Clock;
 
 @Configuration
+@Profile("!" + CustomerStore.IN_MEMORY_PROFILE)
+@EnableConfigurationProperties({DynamoDbClientProperties.class, ReadBatchingProperties.class, BulkWriteProperties.class,
+        OutboxProperties.class})
 public class DynamoDbConfig {
 
-    private static final String TABLE_NAME = "customers";
+    static final String TABLE_NAME = "customers";
+    static final String UNIQUE_KEYS_TABLE_NAME = "customer-unique-keys";
+    static final String OUTBOX_TABLE_NAME = "customer-outbox";
+    static final String IDEMPOTENCY_TABLE_NAME = "customer-idempotency-keys";
+
+    @Bean
+    public MicrometerSdkMetricPublisher sdkMetricPublisher(MeterRegistry meterRegistry) {
+        return new MicrometerSdkMetricPublisher(meterRegistry);
+    }
+
+    @Bean
+    public ConsumedCapacityInterceptor consumedCapacityInterceptor(MeterRegistry meterRegistry) {
+        return new ConsumedCapacityInterceptor(meterRegistry);
+    }
 
     @Bean
     public DynamoDbAsyncClient dynamoDbAsyncClient(
             @Value("${spring.cloud.aws.region.static:sa-east-1}") String region,
             @Value("${spring.cloud.aws.credentials.access-key:test}") String accessKey,
             @Value("${spring.cloud.aws.credentials.secret-key:test}") String secretKey,
-            @Value("${spring.cloud.aws.endpoint:http://localhost:4566}") String endpoint
+            @Value("${spring.cloud.aws.endpoint:http://localhost:4566}") String endpoint,
+            DynamoDbClientProperties clientProperties,
+            MicrometerSdkMetricPublisher sdkMetricPublisher,
+            ConsumedCapacityInterceptor consumedCapacityInterceptor
     ) {
-        // Explicitly create the underlying HTTP client
         SdkAsyncHttpClient httpClient = NettyNioAsyncHttpClient.builder()
-                // You can add further configuration here, like timeouts
+                .maxConcurrency(clientProperties.getMaxConcurrency())
+                .maxPendingConnectionAcquires(clientProperties.getMaxPendingConnectionAcquires())
+                .connectionAcquisitionTimeout(clientProperties.getConnectionAcquisitionTimeout())
+                .connectionTimeout(clientProperties.getConnectionTimeout())
+                .connectionTimeToLive(clientProperties.getConnectionTimeToLive())
+                .connectionMaxIdleTime(clientProperties.getConnectionMaxIdleTime())
+                .readTimeout(clientProperties.getReadTimeout())
+                .writeTimeout(clientProperties.getWriteTimeout())
+                .tcpKeepAlive(clientProperties.isTcpKeepAlive())
                 .build();
 
         return DynamoDbAsyncClient.builder()
-                .httpClient(httpClient) // <-- Set the explicit HTTP client
+                .httpClient(httpClient)
+                .overrideConfiguration(overrideConfiguration(clientProperties, sdkMetricPublisher, consumedCapacityInterceptor))
                 .region(Region.of(region))
                 .credentialsProvider(
                         StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
@@ -52,6 +98,59 @@ public class DynamoDbConfig {
 
     @Bean
     public DynamoDbAsyncTable<Customer> customerDynamoDbAsyncTable(DynamoDbEnhancedAsyncClient enhancedAsyncClient) {
-        return enhancedAsyncClient.table(TABLE_NAME, TableSchema.fromBean(Customer.class));
+        return enhancedAsyncClient.table(TABLE_NAME, DynamoDbTableSchemas.CUSTOMER);
+    }
+
+    @Bean
+    public DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyDynamoDbAsyncTable(DynamoDbEnhancedAsyncClient enhancedAsyncClient) {
+        return enhancedAsyncClient.table(UNIQUE_KEYS_TABLE_NAME, DynamoDbTableSchemas.UNIQUE_KEY);
+    }
+
+    @Bean
+    public DynamoDbAsyncTable<OutboxItem> outboxDynamoDbAsyncTable(DynamoDbEnhancedAsyncClient enhancedAsyncClient) {
+        return enhancedAsyncClient.table(OUTBOX_TABLE_NAME, DynamoDbTableSchemas.OUTBOX);
+    }
+
+    @Bean
+    public CustomerOutbox customerOutbox(
+            DynamoDbEnhancedAsyncClient enhancedAsyncClient,
+            DynamoDbAsyncTable<OutboxItem> outboxDynamoDbAsyncTable,
+            ObjectMapper objectMapper,
+            OutboxProperties properties) {
+        return new CustomerOutbox(enhancedAsyncClient, outboxDynamoDbAsyncTable, objectMapper, properties.getShards());
+    }
+
+    @Bean
+    public DynamoDbAsyncTable<IdempotencyItem> idempotencyDynamoDbAsyncTable(DynamoDbEnhancedAsyncClient enhancedAsyncClient) {
+        return enhancedAsyncClient.table(IDEMPOTENCY_TABLE_NAME, DynamoDbTableSchemas.IDEMPOTENCY);
+    }
+
+    @Bean
+    @Qualifier(IdempotencyConfig.IDEMPOTENCY_STORE)
+    public IdempotencyStore dynamoDbIdempotencyStore(
+            DynamoDbAsyncTable<IdempotencyItem> idempotencyDynamoDbAsyncTable,
+            ObjectMapper objectMapper,
+            IdempotencyProperties properties) {
+        return new DynamoDbIdempotencyStore(idempotencyDynamoDbAsyncTable, objectMapper, properties.getTtl(),
+                properties.getInProgressTimeout(), Clock.systemUTC());
+    }
+
+    /**
+     * Timeouts, retries and metrics of a DynamoDB client, shared by the async and the blocking client.
+     */
+    static ClientOverrideConfiguration overrideConfiguration(DynamoDbClientProperties properties,
+                                                             MetricPublisher metricPublisher,
+                                                             ExecutionInterceptor consumedCapacityInterceptor) {
+        RetryPolicy.Builder retryPolicy = RetryPolicy.builder(properties.getRetryMode());
+        if (properties.getMaxAttempts() != null) {
+            retryPolicy.numRetries(Math.max(0, properties.getMaxAttempts() - 1));
+        }
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(retryPolicy.build())
+                .apiCallTimeout(properties.getApiCallTimeout())
+                .apiCallAttemptTimeout(properties.getApiCallAttemptTimeout())
+                .addMetricPublisher(metricPublisher)
+                .addExecutionInterceptor(consumedCapacityInterceptor)
+                .build();
     }
 }
@@ -0,0 +1,21 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.infrastructure.adapter.out.email.FileEmailDomainValidator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmailValidationProperties.class)
+public class EmailValidationConfig {
+
+    /**
+     * The email domain rules, in every profile: they are read from local files, not from AWS.
+     * With no files configured every domain is allowed.
+     */
+    @Bean
+    public FileEmailDomainValidator emailDomainValidator(EmailValidationProperties properties) {
+        return new FileEmailDomainValidator(properties.getRulesFile(), properties.getDisposableDomainsFile(),
+                properties.getReloadInterval());
+    }
+}
@@ -0,0 +1,31 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the email domain rules checked on registration.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.email-validation")
+public class EmailValidationProperties {
+
+    /**
+     * File of {@code allow <domain>} and {@code deny <domain>} lines; a domain covers its subdomains
+     * unless prefixed with {@code =}. Unset for no such rules.
+     */
+    private Path rulesFile;
+
+    /**
+     * File of disposable email domains to deny, one per line. Unset for no such list.
+     */
+    private Path disposableDomainsFile;
+
+    /**
+     * How often the files are checked for changes; zero disables reloading.
+     */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+}
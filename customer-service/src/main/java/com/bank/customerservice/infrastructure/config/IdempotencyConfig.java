@@ -0,0 +1,32 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.infrastructure.adapter.out.cache.CachingIdempotencyStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Qualifies the adapter that actually stores idempotency keys: DynamoDB, or the in-memory store
+     * under the {@code in-memory} profile.
+     */
+    public static final String IDEMPOTENCY_STORE = "idempotencyStore";
+
+    /**
+     * Wraps the idempotency store with the local cache of completed keys. Marked @Primary so that
+     * the registration use case receives the cached store instead of the raw adapter.
+     */
+    @Bean
+    @Primary
+    public CachingIdempotencyStore cachingIdempotencyStore(
+            @Qualifier(IDEMPOTENCY_STORE) IdempotencyStore delegate,
+            IdempotencyProperties properties) {
+        return new CachingIdempotencyStore(delegate, properties.getLocalCacheMaximumSize(), properties.getLocalCacheTtl());
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Idempotency-Key support of customer registration.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long the result of a registration is replayed to retries with the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a key stays claimed by a registration that neither completed nor failed, e.g. because
+     * its instance died. Must exceed the slowest registration, retries included.
+     */
+    private Duration inProgressTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of completed keys cached locally.
+     */
+    private long localCacheMaximumSize = 10_000;
+
+    /**
+     * How long a completed key stays in the local cache. Keep it at most {@code ttl}.
+     */
+    private Duration localCacheTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,34 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.infrastructure.adapter.out.memory.InMemoryCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.memory.InMemoryIdempotencyStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces DynamoDB with an in-memory customer store when the {@code in-memory} profile is active,
+ * so the service can run, and be load tested, without LocalStack.
+ */
+@Configuration
+@Profile(CustomerStore.IN_MEMORY_PROFILE)
+@EnableConfigurationProperties(InMemoryStoreProperties.class)
+public class InMemoryStoreConfig {
+
+    @Bean
+    @Qualifier(CustomerStore.QUALIFIER)
+    public CustomerRepository inMemoryCustomerRepository(InMemoryStoreProperties properties) {
+        return new InMemoryCustomerRepository(properties.getLatency());
+    }
+
+    @Bean
+    @Qualifier(IdempotencyConfig.IDEMPOTENCY_STORE)
+    public IdempotencyStore inMemoryIdempotencyStore() {
+        return new InMemoryIdempotencyStore();
+    }
+}
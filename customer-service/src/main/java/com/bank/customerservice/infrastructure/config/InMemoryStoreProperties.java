@@ -0,0 +1,19 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory customer store used under the {@code in-memory} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.in-memory")
+public class InMemoryStoreProperties {
+
+    /**
+     * Simulated latency of every store call. Zero completes calls immediately on the calling thread.
+     */
+    private Duration latency = Duration.ZERO;
+}
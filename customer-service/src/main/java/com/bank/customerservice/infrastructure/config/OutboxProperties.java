@@ -0,0 +1,57 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the transactional outbox of customer events and the relay that publishes them to SQS.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.outbox")
+public class OutboxProperties {
+
+    /**
+     * Into how many partitions the outbox is split. Must be the same on every instance, and only changed once the outbox is drained.
+     */
+    private int shards = 8;
+
+    private final Relay relay = new Relay();
+
+    @Data
+    public static class Relay {
+
+        /**
+         * Whether this instance publishes the outbox to the queue. Every instance may: each shard is leased
+         * to one instance at a time, so the instances split the shards between them.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Name of the queue the events are published to.
+         */
+        private String queueName = "customer-registered-events";
+
+        /**
+         * How many threads drain shards in parallel. Each thread owns every n-th shard.
+         */
+        private int workers = 2;
+
+        /**
+         * Pause between two polls of a drained shard. Bounds the publish delay when the outbox is idle.
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        /**
+         * How long a shard stays leased to an instance that stops renewing it, e.g. because it crashed.
+         * The owner renews at half-time, so clocks of different instances may be off by up to half of it.
+         */
+        private Duration leaseDuration = Duration.ofSeconds(30);
+
+        /**
+         * How many events are read from a shard at once (then sent in SendMessageBatch calls of 10).
+         */
+        private int pageSize = 100;
+    }
+}
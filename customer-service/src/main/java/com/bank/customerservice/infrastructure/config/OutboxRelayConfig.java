@@ -0,0 +1,37 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.infrastructure.adapter.out.messaging.OutboxRelay;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerOutbox;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxLeases;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.time.Clock;
+import java.util.UUID;
+
+/**
+ * Starts the relay that publishes the customer outbox to SQS. The SQS client is the one Spring Cloud AWS
+ * configures from the same {@code spring.cloud.aws.*} settings (region, credentials, LocalStack endpoint).
+ */
+@Configuration
+@Profile("!" + CustomerStore.IN_MEMORY_PROFILE)
+@ConditionalOnProperty(prefix = "customer.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayConfig {
+
+    @Bean
+    public OutboxRelay outboxRelay(CustomerOutbox outbox, DynamoDbAsyncClient dynamoDbAsyncClient, SqsAsyncClient sqsAsyncClient,
+                                   MeterRegistry meterRegistry, OutboxProperties properties) {
+        OutboxProperties.Relay relay = properties.getRelay();
+        // Every start is a new owner, so a restarted instance does not mistake a lease of its previous run for its own.
+        OutboxLeases leases = new OutboxLeases(dynamoDbAsyncClient, DynamoDbConfig.OUTBOX_TABLE_NAME, outbox.shards(),
+                UUID.randomUUID().toString(), relay.getLeaseDuration(), Clock.systemUTC());
+        return new OutboxRelay(outbox, leases, sqsAsyncClient, meterRegistry, relay.getQueueName(), relay.getWorkers(),
+                relay.getPollInterval(), relay.getPageSize(), Clock.systemUTC());
+    }
+}
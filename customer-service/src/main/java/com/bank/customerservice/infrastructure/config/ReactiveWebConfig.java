@@ -0,0 +1,22 @@
+package com.bank.customerservice.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Web server for the reactive stack ({@code spring.main.web-application-type=reactive}).
+ * Tomcat stays on the classpath for the servlet stack and Spring Boot would prefer it for WebFlux as
+ * well, serving reactive handlers through the servlet container; Reactor Netty is chosen explicitly
+ * so that connections are handled by its event loops.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for batching point reads of customers into DynamoDB BatchGetItem calls.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.dynamodb.read-batching")
+public class ReadBatchingProperties {
+
+    /**
+     * Whether concurrent lookups by ID are collected into BatchGetItem calls instead of one GetItem each.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long the first lookup of a batch waits for others to join before the batch is sent.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * A batch is sent as soon as it holds this many keys. DynamoDB accepts at most 100 keys per call.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * How many BatchGetItem calls are made, in total, before keys left unprocessed by DynamoDB are given up on.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Backoff before the first retry of unprocessed keys. It doubles on every following retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(20);
+}
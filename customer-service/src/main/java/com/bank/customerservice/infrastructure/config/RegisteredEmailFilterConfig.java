@@ -0,0 +1,20 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.infrastructure.adapter.out.cache.BloomRegisteredEmailFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RegisteredEmailFilterProperties.class)
+public class RegisteredEmailFilterConfig {
+
+    /**
+     * The filter is sized for the expected number of emails and filled on start, by the customer store
+     * loader, with the email of every stored customer.
+     */
+    @Bean
+    public BloomRegisteredEmailFilter registeredEmailFilter(RegisteredEmailFilterProperties properties) {
+        return new BloomRegisteredEmailFilter(properties.getExpectedEmails(), properties.getFalsePositiveRate());
+    }
+}
@@ -0,0 +1,23 @@
+package com.bank.customerservice.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the in-memory filter of registered emails.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.email-filter")
+public class RegisteredEmailFilterProperties {
+
+    /**
+     * How many emails the filter is sized for up front. It grows past this, but using more memory
+     * than if it had been sized right; set it to about the number of customers.
+     */
+    private long expectedEmails = 1_000_000;
+
+    /**
+     * Rate of unregistered emails that are reported as possibly registered.
+     */
+    private double falsePositiveRate = 0.01;
+}
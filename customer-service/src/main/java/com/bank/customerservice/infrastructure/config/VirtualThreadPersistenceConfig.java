@@ -0,0 +1,119 @@
+package com.bank.customerservice.infrastructure.config;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.out.metrics.ConsumedCapacityInterceptor;
+import com.bank.customerservice.infrastructure.adapter.out.metrics.MicrometerSdkMetricPublisher;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.BlockingDynamoDbCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerOutbox;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.DynamoDbCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.DynamoDbTableSchemas;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.UniqueKeyItem;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.net.URI;
+
+/**
+ * Persistence wiring for {@code spring.threads.virtual.enabled=true} on Java 21+, where Tomcat
+ * handles every request on its own virtual thread. The customer store is then the blocking
+ * adapter, on a synchronous client configured from the same settings as the async one.
+ */
+@Configuration
+@Profile("!" + CustomerStore.IN_MEMORY_PROFILE)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPersistenceConfig {
+
+    /**
+     * Replaces the synchronous client Spring Cloud AWS would configure, with the same pool, timeout,
+     * retry and metrics settings as the async client. The pool size also caps how many calls the blocking adapter
+     * admits at a time (see there why).
+     */
+    @Bean
+    public DynamoDbClient dynamoDbClient(
+            @Value("${spring.cloud.aws.region.static:sa-east-1}") String region,
+            @Value("${spring.cloud.aws.credentials.access-key:test}") String accessKey,
+            @Value("${spring.cloud.aws.credentials.secret-key:test}") String secretKey,
+            @Value("${spring.cloud.aws.endpoint:http://localhost:4566}") String endpoint,
+            DynamoDbClientProperties clientProperties,
+            MicrometerSdkMetricPublisher sdkMetricPublisher,
+            ConsumedCapacityInterceptor consumedCapacityInterceptor
+    ) {
+        return DynamoDbClient.builder()
+                .httpClient(ApacheHttpClient.builder()
+                        .maxConnections(clientProperties.getMaxConcurrency())
+                        .connectionAcquisitionTimeout(clientProperties.getConnectionAcquisitionTimeout())
+                        .connectionTimeout(clientProperties.getConnectionTimeout())
+                        .connectionTimeToLive(clientProperties.getConnectionTimeToLive())
+                        .connectionMaxIdleTime(clientProperties.getConnectionMaxIdleTime())
+                        .socketTimeout(clientProperties.getReadTimeout())
+                        .tcpKeepAlive(clientProperties.isTcpKeepAlive())
+                        .build())
+                .overrideConfiguration(DynamoDbConfig.overrideConfiguration(clientProperties, sdkMetricPublisher,
+                        consumedCapacityInterceptor))
+                .region(Region.of(region))
+                .credentialsProvider(
+                        StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                )
+                .endpointOverride(URI.create(endpoint))
+                .build();
+    }
+
+    @Bean
+    public DynamoDbEnhancedClient dynamoDbEnhancedClient(DynamoDbClient dynamoDbClient) {
+        return DynamoDbEnhancedClient.builder()
+                .dynamoDbClient(dynamoDbClient)
+                .build();
+    }
+
+    @Bean
+    public DynamoDbTable<Customer> customerDynamoDbTable(DynamoDbEnhancedClient enhancedClient) {
+        return enhancedClient.table(DynamoDbConfig.TABLE_NAME, DynamoDbTableSchemas.CUSTOMER);
+    }
+
+    @Bean
+    public DynamoDbTable<UniqueKeyItem> uniqueKeyDynamoDbTable(DynamoDbEnhancedClient enhancedClient) {
+        return enhancedClient.table(DynamoDbConfig.UNIQUE_KEYS_TABLE_NAME, DynamoDbTableSchemas.UNIQUE_KEY);
+    }
+
+    /**
+     * The blocking adapter still hands batch, paged and streaming operations to the async adapter,
+     * which is created here rather than registered as a bean so that there is only one customer store.
+     */
+    @Bean
+    @Qualifier(CustomerStore.QUALIFIER)
+    public CustomerRepository blockingDynamoDbCustomerRepository(
+            DynamoDbClient dynamoDbClient,
+            DynamoDbEnhancedClient enhancedClient,
+            @Qualifier("customerDynamoDbTable") DynamoDbTable<Customer> customerTable,
+            @Qualifier("uniqueKeyDynamoDbTable") DynamoDbTable<UniqueKeyItem> uniqueKeyTable,
+            DynamoDbAsyncClient asyncClient,
+            DynamoDbEnhancedAsyncClient enhancedAsyncClient,
+            @Qualifier("customerDynamoDbAsyncTable") DynamoDbAsyncTable<Customer> customerAsyncTable,
+            @Qualifier("uniqueKeyDynamoDbAsyncTable") DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyAsyncTable,
+            CustomerOutbox outbox,
+            ReadBatchingProperties readBatching,
+            BulkWriteProperties bulkWrite,
+            DynamoDbClientProperties clientProperties) {
+        CustomerRepository asyncRepository = new DynamoDbCustomerRepository(asyncClient, enhancedAsyncClient,
+                customerAsyncTable, uniqueKeyAsyncTable, outbox, readBatching, bulkWrite);
+        return new BlockingDynamoDbCustomerRepository(dynamoDbClient, enhancedClient, customerTable, uniqueKeyTable, outbox,
+                asyncRepository, clientProperties.getMaxConcurrency());
+    }
+}
@@ -0,0 +1,12 @@
+package com.bank.customerservice.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings of the HTTP adapters that are shared by the servlet and the reactive stack.
+ */
+@Configuration
+@EnableConfigurationProperties(CustomerHttpCacheProperties.class)
+public class WebConfig {
+}
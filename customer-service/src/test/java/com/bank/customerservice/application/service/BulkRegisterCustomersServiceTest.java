@@ -0,0 +1,163 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.ItemResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.Status;
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.RegisteredEmailFilter;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.CpfFixtures;
+import com.bank.customerservice.domain.model.Customer;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkRegisterCustomersServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    private BulkRegisterCustomersService bulkRegisterCustomersService;
+
+    @BeforeEach
+    void setUp() {
+        bulkRegisterCustomersService = new BulkRegisterCustomersService(
+                customerRepository, Validation.buildDefaultValidatorFactory().getValidator(),
+                email -> !email.endsWith("@mailinator.com"), registeredEmailFilter, customerSearchIndex);
+    }
+
+    @Test
+    void shouldReportEveryItem_inSubmissionOrder() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        List<RegisterCustomerCommand> commands = Arrays.asList(
+                command("john@example.com"),                     // created
+                command("not-an-email"),                         // invalid
+                command("John@Example.com"),                     // same email as item 0
+                command("taken@example.com"),                    // already registered
+                command("flaky@example.com"),                    // transaction kept being canceled
+                command("throwaway@mailinator.com")              // domain not allowed
+        );
+
+        // The repository reports an outcome per customer ID, which we only learn from the call itself.
+        when(customerRepository.createAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(new BulkCreateResult(
+                    Set.of(idOf(customers, "john@example.com")),
+                    Set.of(idOf(customers, "taken@example.com")),
+                    Set.of(),
+                    Map.of(idOf(customers, "flaky@example.com"), "Transaction still canceled")
+            ));
+        });
+
+        // ACT
+        BulkRegistrationResult result = bulkRegisterCustomersService.registerCustomers(commands).get();
+
+        // ASSERT
+        assertThat(result.items()).extracting(ItemResult::status).containsExactly(
+                Status.CREATED, Status.INVALID, Status.DUPLICATE_IN_REQUEST, Status.EMAIL_ALREADY_REGISTERED, Status.FAILED, Status.INVALID);
+        assertThat(result.items().get(0).customerId()).isNotBlank();
+        assertThat(result.items().get(1).errors()).contains("Email should be valid");
+        assertThat(result.items().get(4).errors()).containsExactly("Transaction still canceled");
+        assertThat(result.items().get(5).errors()).containsExactly("Email domain is not allowed");
+        assertThat(result.count(Status.CREATED)).isEqualTo(1);
+        verify(registeredEmailFilter).add("john@example.com");
+    }
+
+    @Test
+    void shouldReportCpfsUsedTwiceInTheRequest_orAlreadyRegistered() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        List<RegisterCustomerCommand> commands = List.of(
+                command("john@example.com", "12345678909"),
+                command("maria@example.com", "123.456.789-09"),   // same CPF as item 0, formatted
+                command("jane@example.com", "52998224725"));      // CPF already registered
+        when(customerRepository.createAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            assertThat(customers).extracting(Customer::getCpf).containsExactly("12345678909", "52998224725");
+            return CompletableFuture.completedFuture(new BulkCreateResult(
+                    Set.of(idOf(customers, "john@example.com")),
+                    Set.of(),
+                    Set.of(idOf(customers, "jane@example.com")),
+                    Map.of()));
+        });
+
+        // ACT
+        BulkRegistrationResult result = bulkRegisterCustomersService.registerCustomers(commands).get();
+
+        // ASSERT
+        assertThat(result.items()).extracting(ItemResult::status).containsExactly(
+                Status.CREATED, Status.DUPLICATE_IN_REQUEST, Status.CPF_ALREADY_REGISTERED);
+        assertThat(result.items().get(1).errors()).containsExactly("CPF already used by item 0 of this request");
+    }
+
+    @Test
+    void shouldNotCallRepository_whenNoItemIsValid() throws ExecutionException, InterruptedException {
+        // ACT
+        BulkRegistrationResult result = bulkRegisterCustomersService
+                .registerCustomers(Arrays.asList(command("bad"), null)).get();
+
+        // ASSERT
+        assertThat(result.items()).extracting(ItemResult::status).containsOnly(Status.INVALID);
+        verify(customerRepository, never()).createAll(anyList());
+    }
+
+    @Test
+    void shouldRejectBatchesAboveTheLimit_withoutValidatingThem() {
+        // ARRANGE
+        List<RegisterCustomerCommand> commands = Collections.nCopies(BulkRegisterCustomersUseCase.MAX_CUSTOMERS + 1, command("john@example.com"));
+
+        // ACT & ASSERT
+        assertThatThrownBy(bulkRegisterCustomersService.registerCustomers(commands)::get)
+                .hasCauseInstanceOf(InvalidRequestException.class);
+        verify(customerRepository, never()).createAll(anyList());
+    }
+
+    private static RegisterCustomerCommand command(String email) {
+        return command(email, CpfFixtures.cpf(Math.floorMod(email.hashCode(), 1_000_000_000)));
+    }
+
+    private static RegisterCustomerCommand command(String email, String cpf) {
+        return RegisterCustomerCommand.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .cpf(cpf)
+                .build();
+    }
+
+    private static String idOf(List<Customer> customers, String email) {
+        return customers.stream()
+                .filter(customer -> customer.getEmail().equals(email))
+                .findFirst()
+                .orElseThrow()
+                .getCustomerId();
+    }
+}
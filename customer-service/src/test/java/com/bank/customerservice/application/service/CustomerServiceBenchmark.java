@@ -0,0 +1,136 @@
+package com.bank.customerservice.application.service;
+
+import ch.qos.logback.classic.Logger;
+import com.bank.customerservice.application.port.in.CustomerLookupResult;
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.CpfFixtures;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.out.cache.BloomRegisteredEmailFilter;
+import com.bank.customerservice.infrastructure.adapter.out.memory.InMemoryCustomerRepository;
+import com.bank.customerservice.infrastructure.adapter.out.memory.InMemoryIdempotencyStore;
+import com.bank.customerservice.infrastructure.adapter.out.search.InMemoryCustomerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the register and find use cases end to end, on top of the in-memory store
+ * so only our own code is measured. Run with {@code -prof gc} (the
+ * {@code benchmark} Maven profile does) to get the allocation rate per operation alongside.
+ * <p>
+ * Service loggers are turned down to WARN: console logging would otherwise dominate the numbers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CustomerServiceBenchmark {
+
+    private static final int PRELOADED_CUSTOMERS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        final AtomicLong sequence = new AtomicLong();
+        RegisterCustomerService registerService;
+        FindCustomerService findService;
+        String[] customerIds;
+        String[] emails;
+
+        @Setup(Level.Trial)
+        public void quietLogging() {
+            ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        }
+
+        /**
+         * Every registration adds a customer, so start each iteration from a fresh store to keep
+         * its size (and GC pressure) the same from one iteration to the next.
+         */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            CustomerRepository repository = new InMemoryCustomerRepository(Duration.ZERO);
+            registerService = new RegisterCustomerService(repository, new InMemoryIdempotencyStore(), email -> true,
+                    new BloomRegisteredEmailFilter(1_000_000, 0.01),
+                    new InMemoryCustomerSearchIndex(1_000_000));
+            findService = new FindCustomerService(repository);
+            customerIds = new String[PRELOADED_CUSTOMERS];
+            emails = new String[PRELOADED_CUSTOMERS];
+            for (int i = 0; i < PRELOADED_CUSTOMERS; i++) {
+                Customer customer = registerService.registerCustomer(command("preloaded-" + i + "@example.com", i + 1)).join();
+                customerIds[i] = customer.getCustomerId();
+                emails[i] = customer.getEmail();
+            }
+        }
+    }
+
+    @Benchmark
+    public Customer registerCustomer(Services services) {
+        long sequence = services.sequence.incrementAndGet();
+        return services.registerService.registerCustomer(command("customer-" + sequence + "@example.com", PRELOADED_CUSTOMERS + sequence)).join();
+    }
+
+    @Benchmark
+    public Customer findCustomerById(Services services) {
+        String customerId = services.customerIds[ThreadLocalRandom.current().nextInt(PRELOADED_CUSTOMERS)];
+        return services.findService.findCustomerById(customerId).join();
+    }
+
+    @Benchmark
+    public Customer findCustomerByEmail(Services services) {
+        String email = services.emails[ThreadLocalRandom.current().nextInt(PRELOADED_CUSTOMERS)];
+        return services.findService.findCustomerByEmail(email).join();
+    }
+
+    @Benchmark
+    public CustomerLookupResult findCustomersByIds(Services services) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(PRELOADED_CUSTOMERS - 25);
+        List<String> ids = Arrays.asList(services.customerIds).subList(first, first + 25);
+        return services.findService.findCustomersByIds(ids).join();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static RegisterCustomerCommand command(String email, long cpfBase) {
+        return RegisterCustomerCommand.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .cpf(CpfFixtures.cpf(cpfBase))
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerServiceBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,46 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportCustomersServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private ExportCustomersService exportCustomersService;
+
+    @Test
+    void shouldStreamAllCustomers_usingTheRequestedSegments() {
+        // ARRANGE
+        Customer first = Customer.builder().customerId("id-1").build();
+        Customer second = Customer.builder().customerId("id-2").build();
+        when(customerRepository.streamAll(8)).thenReturn(Flux.just(first, second));
+
+        // ACT & ASSERT
+        assertThat(Flux.from(exportCustomersService.exportCustomers(8)).collectList().block())
+                .containsExactly(first, second);
+    }
+
+    @Test
+    void shouldRejectInvalidSegmentCount() {
+        assertThatThrownBy(() -> exportCustomersService.exportCustomers(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(customerRepository, never()).streamAll(anyInt());
+    }
+}
@@ -1,7 +1,9 @@
 package com.bank.customerservice.application.service;
 
+import com.bank.customerservice.application.port.in.CustomerLookupResult;
 import com.bank.customerservice.application.port.out.CustomerRepository;
 import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
 import com.bank.customerservice.domain.model.Customer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,12 +11,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -60,4 +67,71 @@ class FindCustomerServiceTest {
                 .isInstanceOf(ExecutionException.class)
                 .hasCauseInstanceOf(CustomerNotFoundException.class);
     }
+
+    @Test
+    void shouldReturnCustomer_whenEmailExists() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer expectedCustomer = Customer.builder().customerId("test-id-123").email("john.doe@example.com").build();
+
+        when(customerRepository.findByEmail("john.doe@example.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(expectedCustomer)));
+
+        // ACT
+        // The lookup is case-insensitive because registered emails are stored normalized.
+        Customer actualCustomer = findCustomerService.findCustomerByEmail("John.Doe@Example.com").get();
+
+        // ASSERT
+        assertThat(actualCustomer.getCustomerId()).isEqualTo("test-id-123");
+    }
+
+    @Test
+    void shouldThrowCustomerNotFoundException_whenEmailDoesNotExist() {
+        // ARRANGE
+        when(customerRepository.findByEmail("nobody@example.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // ACT
+        CompletableFuture<Customer> future = findCustomerService.findCustomerByEmail("nobody@example.com");
+
+        // ASSERT
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CustomerNotFoundException.class);
+    }
+
+    @Test
+    void shouldFindCustomerByNormalizedCpf_andRejectInvalidCpfsWithoutALookup() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer expectedCustomer = Customer.builder().customerId("test-id-123").cpf("12345678909").build();
+        when(customerRepository.findByCpf("12345678909"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(expectedCustomer)));
+
+        // ACT
+        Customer actualCustomer = findCustomerService.findCustomerByCpf("123.456.789-09").get();
+        CompletableFuture<Customer> invalid = findCustomerService.findCustomerByCpf("123.456.789-00");
+
+        // ASSERT
+        assertThat(actualCustomer.getCustomerId()).isEqualTo("test-id-123");
+        assertThatThrownBy(invalid::get).hasCauseInstanceOf(InvalidRequestException.class);
+        verify(customerRepository, never()).findByCpf("12345678900");
+    }
+
+    @Test
+    void shouldSplitFoundAndMissingCustomers_whenLookingUpManyIds() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer first = Customer.builder().customerId("id-1").build();
+        Customer third = Customer.builder().customerId("id-3").build();
+
+        when(customerRepository.findAllByIds(Set.of("id-1", "id-2", "id-3")))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("id-1", first, "id-3", third)));
+
+        // ACT
+        CustomerLookupResult result = findCustomerService
+                .findCustomersByIds(List.of("id-3", "id-2", "id-1", "id-3")).get();
+
+        // ASSERT
+        // Results follow the request order and duplicate IDs are only reported once.
+        assertThat(result.found()).containsExactly(third, first);
+        assertThat(result.missingIds()).containsExactly("id-2");
+    }
 }
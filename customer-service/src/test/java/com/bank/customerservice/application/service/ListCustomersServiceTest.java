@@ -0,0 +1,69 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ListCustomersServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private ListCustomersService listCustomersService;
+
+    @Test
+    void shouldProjectRequestedFields_plusCustomerId() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        CustomerPage page = new CustomerPage(List.of(), "next");
+        when(customerRepository.findPage(10, "cursor", Set.of("customerId", "email")))
+                .thenReturn(CompletableFuture.completedFuture(page));
+
+        // ACT
+        CustomerPage result = listCustomersService.listCustomers(10, "cursor", Set.of("email")).get();
+
+        // ASSERT
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    void shouldNeverReadPrivateFields_whenNoFieldsAreRequested() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        when(customerRepository.findPage(20, null, ListCustomersService.PUBLIC_FIELDS))
+                .thenReturn(CompletableFuture.completedFuture(new CustomerPage(List.of(), null)));
+
+        // ACT & ASSERT
+        assertThat(listCustomersService.listCustomers(20, null, Set.of()).get().nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+        // ACT
+        CompletableFuture<CustomerPage> future = listCustomersService.listCustomers(20, null, Set.of("cpf"));
+
+        // ASSERT
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(InvalidRequestException.class);
+        verify(customerRepository, never()).findPage(anyInt(), any(), any());
+    }
+}
@@ -2,7 +2,18 @@ package com.bank.customerservice.application.service;
 
 import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
 import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.EmailValidationPort;
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.application.port.out.RegisteredEmailFilter;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.EmailDomainNotAllowedException;
+import com.bank.customerservice.domain.exception.IdempotencyKeyReusedException;
+import com.bank.customerservice.domain.exception.RequestInProgressException;
 import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -17,6 +28,8 @@ import java.util.concurrent.ExecutionException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,11 +44,28 @@ class RegisterCustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private EmailValidationPort emailValidationPort;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
     // The @InjectMocks annotation creates an instance of RegisterCustomerService
     // and injects the mocks (like customerRepository) into it.
     @InjectMocks
     private RegisterCustomerService registerCustomerService;
 
+    @BeforeEach
+    void allowEveryEmailDomain() {
+        lenient().when(emailValidationPort.isEmailDomainAllowed(anyString())).thenReturn(true);
+    }
+
     @Test
     void shouldRegisterNewCustomer_whenDataIsValidAndEmailIsUnique() throws ExecutionException, InterruptedException {
         // --- ARRANGE ---
@@ -45,18 +75,13 @@ class RegisterCustomerServiceTest {
                 .firstName("John")
                 .lastName("Doe")
                 .email("john.doe@example.com")
-                .cpf("12345678900")
+                .cpf("12345678909")
                 .build();
 
         // 2. Define the behavior of our mock repository.
-        // When findByEmail is called with this email, it should return an empty Optional,
-        // signifying that the email is not yet taken.
-        when(customerRepository.findByEmail(command.getEmail()))
-                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
-
-        // When save is called with any Customer object, it should immediately return
-        // a completed CompletableFuture containing that same customer.
-        when(customerRepository.save(any(Customer.class)))
+        // When create is called with any Customer object, it should immediately return
+        // a completed CompletableFuture containing that same customer (the email is not yet taken).
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
                 .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
 
 
@@ -73,14 +98,43 @@ class RegisterCustomerServiceTest {
         assertThat(createdCustomer.getFirstName()).isEqualTo(command.getFirstName());
         assertThat(createdCustomer.getEmail()).isEqualTo(command.getEmail());
 
-        // 5. Use an ArgumentCaptor to capture the actual Customer object that was passed to the save method.
+        // 5. Use an ArgumentCaptor to capture the actual Customer object that was passed to the create method.
         ArgumentCaptor<Customer> customerCaptor = ArgumentCaptor.forClass(Customer.class);
-        verify(customerRepository).save(customerCaptor.capture()); // Verify save was called and capture the argument
+        ArgumentCaptor<CustomerRegisteredEvent> eventCaptor = ArgumentCaptor.forClass(CustomerRegisteredEvent.class);
+        verify(customerRepository).create(customerCaptor.capture(), eventCaptor.capture()); // Verify create was called and capture the arguments
         Customer savedCustomer = customerCaptor.getValue();
 
         // 6. Assert that the service correctly set the new fields before saving.
         assertThat(savedCustomer.getCustomerId()).isNotNull().isNotBlank();
         assertThat(savedCustomer.getCreatedAt()).isNotNull();
+
+        // 7. The registration event is written together with the customer and describes it.
+        CustomerRegisteredEvent event = eventCaptor.getValue();
+        assertThat(event.eventId()).isNotBlank();
+        assertThat(event.customerId()).isEqualTo(savedCustomer.getCustomerId());
+        assertThat(event.email()).isEqualTo(savedCustomer.getEmail());
+        assertThat(event.occurredAt()).isEqualTo(savedCustomer.getCreatedAt());
+
+        // 8. Registration is a single round-trip: no separate lookup by email.
+        verify(customerRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void shouldNormalizeEmail_beforeCreatingCustomer() throws ExecutionException, InterruptedException {
+        RegisterCustomerCommand command = RegisterCustomerCommand.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("  John.Doe@Example.COM ")
+                .cpf("123.456.789-09")
+                .build();
+
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        Customer createdCustomer = registerCustomerService.registerCustomer(command).get();
+
+        assertThat(createdCustomer.getEmail()).isEqualTo("john.doe@example.com");
+        assertThat(createdCustomer.getCpf()).isEqualTo("12345678909");
     }
 
     @Test
@@ -90,25 +144,148 @@ class RegisterCustomerServiceTest {
                 .firstName("Jane")
                 .lastName("Doe")
                 .email("jane.doe@example.com")
-                .cpf("00987654321")
+                .cpf("11144477735")
                 .build();
 
-        Customer existingCustomer = Customer.builder().email(command.getEmail()).build();
-
-        // Configure the mock to find an existing customer with this email.
-        when(customerRepository.findByEmail(command.getEmail()))
-                .thenReturn(CompletableFuture.completedFuture(Optional.of(existingCustomer)));
+        // Configure the mock to reject the write, as the conditional transaction would for a taken email.
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new EmailAlreadyRegisteredException("Email already registered")));
 
         // --- ACT & ASSERT ---
-        // We expect the call to result in an exception.
+        // We expect the call to result in a typed conflict.
         CompletableFuture<Customer> future = registerCustomerService.registerCustomer(command);
 
         assertThatThrownBy(future::get) // Use future::get to test the result of the async operation
                 .isInstanceOf(ExecutionException.class)
-                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(EmailAlreadyRegisteredException.class)
                 .hasMessageContaining("Email already registered");
 
-        // Verify that the save method was NEVER called in this scenario.
+        // Verify that the plain save method was NEVER called in this scenario.
         verify(customerRepository, never()).save(any(Customer.class));
     }
+
+    @Test
+    void shouldRejectTakenEmail_withALookupInsteadOfAWrite_whenTheFilterMayHaveIt() {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        when(registeredEmailFilter.mightBeRegistered("john.doe@example.com")).thenReturn(true);
+        when(customerRepository.findByEmail("john.doe@example.com"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(Customer.builder().customerId("id-1").build())));
+
+        // ACT & ASSERT
+        assertThatThrownBy(registerCustomerService.registerCustomer(command)::get)
+                .hasCauseInstanceOf(EmailAlreadyRegisteredException.class);
+        verify(customerRepository, never()).create(any(), any());
+        verify(registeredEmailFilter, never()).add(any());
+    }
+
+    @Test
+    void shouldRegister_andRecordTheEmail_whenTheFilterMayHaveItButTheStoreDoesNot() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        when(registeredEmailFilter.mightBeRegistered("john.doe@example.com")).thenReturn(true); // A false positive.
+        when(customerRepository.findByEmail("john.doe@example.com")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        // ACT
+        Customer created = registerCustomerService.registerCustomer(command).get();
+
+        // ASSERT
+        verify(registeredEmailFilter).add("john.doe@example.com");
+        verify(customerSearchIndex).add(created);
+    }
+
+    @Test
+    void shouldReplayStoredCustomer_whenIdempotencyKeyWasCompleted() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        Customer registered = Customer.builder().customerId("id-1").email("john.doe@example.com").build();
+        String requestHash = RegisterCustomerService.requestHash(command);
+        when(idempotencyStore.claim("key-1", requestHash))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(IdempotencyRecord.completed(requestHash, registered))));
+
+        // ACT
+        Customer replayed = registerCustomerService.registerCustomer(command, "key-1").get();
+
+        // ASSERT
+        assertThat(replayed).isSameAs(registered);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void shouldStoreResult_whenIdempotencyKeyIsClaimed() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(idempotencyStore.complete(eq("key-1"), anyString(), any(Customer.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        // ACT
+        Customer created = registerCustomerService.registerCustomer(command, "key-1").get();
+
+        // ASSERT
+        verify(idempotencyStore).complete("key-1", RegisterCustomerService.requestHash(command), created);
+        verify(idempotencyStore, never()).release(any(), any());
+    }
+
+    @Test
+    void shouldReleaseIdempotencyKey_whenRegistrationFails() {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        when(idempotencyStore.claim(eq("key-1"), anyString())).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(idempotencyStore.release(eq("key-1"), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new EmailAlreadyRegisteredException("Email already registered")));
+
+        // ACT
+        CompletableFuture<Customer> future = registerCustomerService.registerCustomer(command, "key-1");
+
+        // ASSERT
+        assertThatThrownBy(future::get).hasCauseInstanceOf(EmailAlreadyRegisteredException.class);
+        verify(idempotencyStore).release("key-1", RegisterCustomerService.requestHash(command));
+        verify(idempotencyStore, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectIdempotencyKey_whenItIsInProgressOrWasUsedForAnotherRequest() {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        String requestHash = RegisterCustomerService.requestHash(command);
+        when(idempotencyStore.claim("key-1", requestHash))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(IdempotencyRecord.inProgress(requestHash))));
+        when(idempotencyStore.claim("key-2", requestHash))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(IdempotencyRecord.inProgress("another-request"))));
+
+        // ACT & ASSERT
+        assertThatThrownBy(registerCustomerService.registerCustomer(command, "key-1")::get)
+                .hasCauseInstanceOf(RequestInProgressException.class);
+        assertThatThrownBy(registerCustomerService.registerCustomer(command, "key-2")::get)
+                .hasCauseInstanceOf(IdempotencyKeyReusedException.class);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void shouldRejectEmail_beforeTouchingAnyStore_whenItsDomainIsNotAllowed() {
+        // ARRANGE
+        RegisterCustomerCommand command = johnDoe();
+        when(emailValidationPort.isEmailDomainAllowed(command.getEmail())).thenReturn(false);
+
+        // ACT & ASSERT
+        assertThatThrownBy(registerCustomerService.registerCustomer(command)::get)
+                .hasCauseInstanceOf(EmailDomainNotAllowedException.class);
+        assertThatThrownBy(registerCustomerService.registerCustomer(command, "key-1")::get)
+                .hasCauseInstanceOf(EmailDomainNotAllowedException.class);
+        verifyNoInteractions(customerRepository, idempotencyStore);
+    }
+
+    private static RegisterCustomerCommand johnDoe() {
+        return RegisterCustomerCommand.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .cpf("12345678909")
+                .build();
+    }
 }
@@ -0,0 +1,63 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchCustomersServiceTest {
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private SearchCustomersService searchCustomersService;
+
+    @Test
+    void shouldReturnIndexedCustomersInIndexOrder_droppingThoseThatNoLongerMatch() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer joao = customer("id-1", "João", "da Silva", "joao@example.com");
+        Customer renamed = customer("id-2", "Maria", "Souza", "maria@example.com"); // Indexed as "Joana Silva".
+        when(customerSearchIndex.search(List.of("jo", "silva"), 10)).thenReturn(List.of("id-2", "id-1", "id-3"));
+        when(customerRepository.findAllByIds(List.of("id-2", "id-1", "id-3")))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("id-1", joao, "id-2", renamed)));
+
+        // ACT
+        List<Customer> found = searchCustomersService.searchCustomers("Jo SILVA", 10).get();
+
+        // ASSERT
+        assertThat(found).containsExactly(joao);
+    }
+
+    @Test
+    void shouldRejectQueriesWithoutAnyWordOfTwoCharacters() {
+        // ACT & ASSERT
+        assertThatThrownBy(searchCustomersService.searchCustomers("j s", 10)::get).hasCauseInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(searchCustomersService.searchCustomers(" @. ", 10)::get).hasCauseInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(searchCustomersService.searchCustomers("silva", 51)::get).hasCauseInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(customerSearchIndex, customerRepository);
+    }
+
+    private static Customer customer(String customerId, String firstName, String lastName, String email) {
+        return Customer.builder().customerId(customerId).firstName(firstName).lastName(lastName).email(email).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.customerservice.application.service;
+
+import com.bank.customerservice.application.port.in.UpdateCustomerCommand;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateCustomerServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private CustomerSearchIndex customerSearchIndex;
+
+    @InjectMocks
+    private UpdateCustomerService updateCustomerService;
+
+    @Test
+    void shouldPassOnlyTheChangedFieldsAndExpectedVersion_andReindexTheCustomer() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer updated = Customer.builder()
+                .customerId("id-1")
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .version(4L)
+                .build();
+        when(customerRepository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(3L)))
+                .thenReturn(CompletableFuture.completedFuture(updated));
+
+        // ACT
+        Customer result = updateCustomerService.updateCustomer("id-1", UpdateCustomerCommand.builder().firstName("Johnny").build(), Set.of(3L)).get();
+
+        // ASSERT
+        assertThat(result).isEqualTo(updated);
+        verify(customerSearchIndex).update(updated);
+    }
+
+    @Test
+    void shouldNotReindex_whenTheVersionConflicts() {
+        // ARRANGE
+        when(customerRepository.update("id-1", new CustomerUpdate(null, "Smith"), Set.of(3L)))
+                .thenReturn(CompletableFuture.failedFuture(new CustomerVersionConflictException("changed")));
+
+        // ACT & ASSERT
+        assertThatThrownBy(updateCustomerService.updateCustomer("id-1", UpdateCustomerCommand.builder().lastName("Smith").build(), Set.of(3L))::get)
+                .hasCauseInstanceOf(CustomerVersionConflictException.class);
+        verify(customerSearchIndex, never()).update(any());
+    }
+
+    @Test
+    void shouldRejectAnUpdateThatChangesNothing() {
+        // ACT & ASSERT
+        assertThatThrownBy(updateCustomerService.updateCustomer("id-1", UpdateCustomerCommand.builder().build(), null)::get)
+                .hasCauseInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(customerRepository, customerSearchIndex);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.customerservice.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * CPF validations per second with {@link Cpf#isValid}, next to the usual approach of stripping the
+ * punctuation with a regex and summing the digits of the resulting string. Inputs are a mix of
+ * plain, formatted, invalid and repeated-digit CPFs, cycled so that the branch predictor cannot
+ * learn a single answer. Run with {@code -prof gc} to see that {@link Cpf#isValid} allocates nothing.
+ * <p>
+ * Not part of the unit test run; use the {@code benchmark} Maven profile or {@link #main}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpfBenchmark {
+
+    private static final Pattern NON_DIGITS = Pattern.compile("[.\\-]");
+
+    @State(Scope.Thread)
+    public static class Inputs {
+
+        final String[] cpfs = {
+                "12345678909",      // valid
+                "529.982.247-25",   // valid, formatted
+                "12345678900",      // wrong check digit
+                "111.444.777-35",   // valid, formatted
+                "11111111111",      // repeated digits
+                "52998224725",      // valid
+        };
+        int next;
+
+        String nextCpf() {
+            String cpf = cpfs[next];
+            next = next + 1 == cpfs.length ? 0 : next + 1;
+            return cpf;
+        }
+    }
+
+    @Benchmark
+    public boolean isValid(Inputs inputs) {
+        return Cpf.isValid(inputs.nextCpf());
+    }
+
+    @Benchmark
+    public String normalize(Inputs inputs) {
+        return Cpf.normalize(inputs.nextCpf());
+    }
+
+    @Benchmark
+    public boolean regexAndSubstrings(Inputs inputs) {
+        String digits = NON_DIGITS.matcher(inputs.nextCpf()).replaceAll("");
+        if (digits.length() != 11 || !digits.chars().allMatch(Character::isDigit)
+                || digits.chars().distinct().count() == 1) {
+            return false;
+        }
+        for (int checkDigit = 9; checkDigit <= 10; checkDigit++) {
+            int sum = 0;
+            for (int i = 0; i < checkDigit; i++) {
+                sum += Integer.parseInt(digits.substring(i, i + 1)) * (checkDigit + 1 - i);
+            }
+            int expected = sum % 11 < 2 ? 0 : 11 - sum % 11;
+            if (expected != Integer.parseInt(digits.substring(checkDigit, checkDigit + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CpfBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
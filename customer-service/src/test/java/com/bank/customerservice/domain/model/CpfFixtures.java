@@ -0,0 +1,39 @@
+package com.bank.customerservice.domain.model;
+
+/**
+ * Valid CPFs for tests, benchmarks and load runs, which need many distinct customers.
+ */
+public final class CpfFixtures {
+
+    private CpfFixtures() {
+    }
+
+    /**
+     * The CPF made of the given nine digits and their check digits.
+     * @param base A number below 1 000 000 000, zero-padded to the first nine digits; not nine equal digits.
+     * @return The 11-digit CPF.
+     */
+    public static String cpf(long base) {
+        char[] cpf = new char[Cpf.LENGTH];
+        long rest = base;
+        for (int i = 8; i >= 0; i--) {
+            cpf[i] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        int firstSum = 0;
+        int secondSum = 0;
+        for (int i = 0; i < 9; i++) {
+            firstSum += (cpf[i] - '0') * (10 - i);
+            secondSum += (cpf[i] - '0') * (11 - i);
+        }
+        int first = checkDigit(firstSum);
+        cpf[9] = (char) ('0' + first);
+        cpf[10] = (char) ('0' + checkDigit(secondSum + first * 2));
+        return new String(cpf);
+    }
+
+    private static int checkDigit(int weightedSum) {
+        int remainder = weightedSum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
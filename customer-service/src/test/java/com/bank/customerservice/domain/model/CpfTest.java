@@ -0,0 +1,46 @@
+package com.bank.customerservice.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CpfTest {
+
+    @Test
+    void isValid_shouldAcceptCorrectCheckDigits_plainOrFormatted() {
+        // ACT & ASSERT
+        assertThat(Cpf.isValid("12345678909")).isTrue();
+        assertThat(Cpf.isValid("123.456.789-09")).isTrue();
+        assertThat(Cpf.isValid("52998224725")).isTrue();
+        assertThat(Cpf.isValid(new StringBuilder("529.982.247-25"))).isTrue();
+        assertThat(Cpf.isValid("00000000191")).isTrue(); // Leading zeros are digits like any other.
+    }
+
+    @Test
+    void isValid_shouldRejectWrongCheckDigits_repeatedDigits_andOtherFormats() {
+        // ACT & ASSERT
+        assertThat(Cpf.isValid("12345678900")).isFalse();  // Second check digit wrong.
+        assertThat(Cpf.isValid("12345678919")).isFalse();  // First check digit wrong.
+        assertThat(Cpf.isValid("11111111111")).isFalse();  // Passes the checksum, but was never issued.
+        assertThat(Cpf.isValid("123.456.78909")).isFalse();
+        assertThat(Cpf.isValid("123-456-789.09")).isFalse();
+        assertThat(Cpf.isValid("1234567890")).isFalse();
+        assertThat(Cpf.isValid("1234567890a")).isFalse();
+        assertThat(Cpf.isValid(" 12345678909")).isFalse();
+        assertThat(Cpf.isValid("")).isFalse();
+        assertThat(Cpf.isValid(null)).isFalse();
+    }
+
+    @Test
+    void normalize_shouldReturnTheElevenDigits_orNullWhenInvalid() {
+        // ARRANGE
+        String digits = "12345678909";
+
+        // ACT & ASSERT
+        assertThat(Cpf.normalize("123.456.789-09")).isEqualTo(digits);
+        assertThat(Cpf.normalize(digits)).isSameAs(digits); // Already normalized: nothing is copied.
+        assertThat(Cpf.normalize("123.456.789-00")).isNull();
+        assertThat(Cpf.normalize(null)).isNull();
+        assertThat(CpfFixtures.cpf(123456789)).isEqualTo(digits);
+    }
+}
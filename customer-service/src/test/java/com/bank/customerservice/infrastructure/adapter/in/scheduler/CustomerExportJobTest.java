@@ -0,0 +1,88 @@
+package com.bank.customerservice.infrastructure.adapter.in.scheduler;
+
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerExportJobTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ExportCustomersUseCase exportCustomersUseCase;
+
+    private final CustomerExportProperties properties = new CustomerExportProperties();
+
+    private CustomerExportJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTotalSegments(2);
+        properties.getFile().setDirectory(directory.resolve("exports"));
+        job = new CustomerExportJob(exportCustomersUseCase, properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void shouldWriteOneCustomerPerLine_toTodaysFileInTheConfiguredDirectory() throws IOException {
+        // ARRANGE
+        when(exportCustomersUseCase.exportCustomers(2)).thenReturn(Flux.just(customer("id-1"), customer("id-2")));
+
+        // ACT
+        job.exportToFile();
+
+        // ASSERT
+        Path exports = directory.resolve("exports");
+        Path target = exports.resolve("customers-" + LocalDate.now() + ".ndjson");
+        List<String> lines = Files.readAllLines(target);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("{").contains("\"customerId\":\"id-1\"");
+        assertThat(lines.get(1)).contains("\"customerId\":\"id-2\"");
+        try (var files = Files.list(exports)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void shouldNotPublishAnIncompleteFile_whenTheExportStreamFails() {
+        // ARRANGE
+        when(exportCustomersUseCase.exportCustomers(2))
+                .thenReturn(Flux.concat(Flux.just(customer("id-1")), Flux.error(new IllegalStateException("scan failed"))));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> job.exportToFile()).hasMessageContaining("scan failed");
+        assertThat(directory.resolve("exports").resolve("customers-" + LocalDate.now() + ".ndjson")).doesNotExist();
+    }
+
+    private static Customer customer(String customerId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .firstName("John")
+                .lastName("Doe")
+                .email(customerId + "@example.com")
+                .cpf("52998224725")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .version(1L)
+                .build();
+    }
+}
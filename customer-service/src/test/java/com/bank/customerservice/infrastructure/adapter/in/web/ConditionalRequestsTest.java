@@ -0,0 +1,92 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConditionalRequestsTest {
+
+    private final CustomerHttpCacheProperties properties = new CustomerHttpCacheProperties();
+
+    @Test
+    void read_shouldAnswerNotModifiedWithoutABody_whenTheClientHoldsTheCurrentVersion() {
+        // ARRANGE
+        properties.setMaxAge(Duration.ofSeconds(30));
+
+        // ACT
+        ResponseEntity<CustomerResponse> current = ConditionalRequests.read(customer(3L), "\"2\", W/\"3\"", properties);
+        ResponseEntity<CustomerResponse> changed = ConditionalRequests.read(customer(3L), "\"2\"", properties);
+
+        // ASSERT
+        assertThat(current.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(current.getBody()).isNull();
+        assertThat(current.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(current.getHeaders().getCacheControl()).isEqualTo("max-age=30, private");
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody().version()).isEqualTo(3L);
+    }
+
+    @Test
+    void read_shouldTagCustomersWithoutAVersionAsVersionZero_andAskForRevalidationByDefault() {
+        // ACT
+        ResponseEntity<CustomerResponse> response = ConditionalRequests.read(customer(null), null, properties);
+
+        // ASSERT
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"0\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache, private");
+        assertThat(ConditionalRequests.expectedVersions(response.getHeaders().getETag())).containsExactly(0L);
+    }
+
+    @Test
+    void expectedVersions_shouldReadEveryStrongTagOfAVersion_andIgnoreWeakOnes() {
+        // ACT & ASSERT
+        assertThat(ConditionalRequests.expectedVersions("\"7\"")).containsExactly(7L);
+        assertThat(ConditionalRequests.expectedVersions("\"7\", W/\"8\" ,\"9\", \"abc\"")).containsExactly(7L, 9L);
+        assertThat(ConditionalRequests.expectedVersions("*")).isNull();
+        assertThat(ConditionalRequests.expectedVersions(null)).isNull();
+    }
+
+    @Test
+    void expectedVersions_shouldFailThePrecondition_whenNoTagCanMatch() {
+        // ACT & ASSERT
+        assertThatThrownBy(() -> ConditionalRequests.expectedVersions("W/\"3\""))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        assertThatThrownBy(() -> ConditionalRequests.expectedVersions("\"abc\", W/\"3\""))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+    }
+
+    @Test
+    void expectedVersions_shouldRejectMalformedHeaders() {
+        // ACT & ASSERT
+        for (String malformed : new String[]{"3", "\"3", "\"3\", *", ", ,", "W/3", "\"3\"4\""}) {
+            assertThatThrownBy(() -> ConditionalRequests.expectedVersions(malformed))
+                    .as(malformed)
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    private static Customer customer(Long version) {
+        return Customer.builder()
+                .customerId("id-1")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerSearchIndex;
+import com.bank.customerservice.application.port.out.EmailValidationPort;
+import com.bank.customerservice.application.port.out.RegisteredEmailFilter;
+import com.bank.customerservice.application.service.RegisterCustomerService;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.out.memory.InMemoryIdempotencyStore;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Idempotency-Key header through the servlet controller and the real registration service,
+ * with only the stores underneath stubbed.
+ */
+@WebMvcTest(CustomerController.class)
+@Import(RegisterCustomerService.class)
+class CustomerControllerIdempotencyTest {
+
+    private static final String BODY =
+            "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@example.com\",\"cpf\":\"529.982.247-25\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CustomerRepository customerRepository;
+
+    @MockitoBean
+    private EmailValidationPort emailValidationPort;
+
+    @MockitoBean
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @MockitoBean
+    private CustomerSearchIndex customerSearchIndex;
+
+    @MockitoBean
+    private FindCustomerByIdUseCase findCustomerByIdUseCase;
+
+    @MockitoBean
+    private FindCustomerByEmailUseCase findCustomerByEmailUseCase;
+
+    @MockitoBean
+    private FindCustomerByCpfUseCase findCustomerByCpfUseCase;
+
+    @MockitoBean
+    private BulkRegisterCustomersUseCase bulkRegisterCustomersUseCase;
+
+    @MockitoBean
+    private FindCustomersByIdsUseCase findCustomersByIdsUseCase;
+
+    @MockitoBean
+    private ExportCustomersUseCase exportCustomersUseCase;
+
+    @MockitoBean
+    private ListCustomersUseCase listCustomersUseCase;
+
+    @MockitoBean
+    private SearchCustomersUseCase searchCustomersUseCase;
+
+    @MockitoBean
+    private UpdateCustomerUseCase updateCustomerUseCase;
+
+    // The store outlives a test, as the context is cached: every test uses keys of its own.
+    @TestConfiguration
+    @EnableConfigurationProperties({CustomerExportProperties.class, CustomerHttpCacheProperties.class})
+    static class Stores {
+
+        @Bean
+        InMemoryIdempotencyStore idempotencyStore() {
+            return new InMemoryIdempotencyStore();
+        }
+    }
+
+    @Test
+    void shouldRegisterOnce_andAnswerTheReplayWithCreatedAndTheStoredCustomer() throws Exception {
+        // ARRANGE
+        when(emailValidationPort.isEmailDomainAllowed(anyString())).thenReturn(true);
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        // ACT
+        List<String> responses = new ArrayList<>();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            responses.add(register(idempotencyKey).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString());
+        }
+
+        // ASSERT
+        verify(customerRepository, times(1)).create(any(Customer.class), any(CustomerRegisteredEvent.class));
+        assertThat(responses.get(0)).contains("\"email\":\"john.doe@example.com\"");
+        assertThat(responses.get(1)).isEqualTo(responses.get(0));
+    }
+
+    @Test
+    void shouldRegisterAgain_forADifferentIdempotencyKey() throws Exception {
+        // ARRANGE
+        when(emailValidationPort.isEmailDomainAllowed(anyString())).thenReturn(true);
+        when(customerRepository.create(any(Customer.class), any(CustomerRegisteredEvent.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+
+        // ACT
+        register(UUID.randomUUID().toString()).andExpect(status().isCreated());
+        register(UUID.randomUUID().toString()).andExpect(status().isCreated());
+
+        // ASSERT
+        verify(customerRepository, times(2)).create(any(Customer.class), any(CustomerRegisteredEvent.class));
+    }
+
+    private ResultActions register(String idempotencyKey) throws Exception {
+        MvcResult started = mockMvc.perform(post("/api/v1/customers")
+                        .header(CustomerController.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+}
@@ -0,0 +1,130 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
+import com.bank.customerservice.application.port.in.RegisterCustomerUseCase;
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CustomerController.class)
+class CustomerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RegisterCustomerUseCase registerCustomerUseCase;
+
+    @MockitoBean
+    private FindCustomerByIdUseCase findCustomerByIdUseCase;
+
+    @MockitoBean
+    private FindCustomerByEmailUseCase findCustomerByEmailUseCase;
+
+    @MockitoBean
+    private FindCustomerByCpfUseCase findCustomerByCpfUseCase;
+
+    @MockitoBean
+    private BulkRegisterCustomersUseCase bulkRegisterCustomersUseCase;
+
+    @MockitoBean
+    private FindCustomersByIdsUseCase findCustomersByIdsUseCase;
+
+    @MockitoBean
+    private ExportCustomersUseCase exportCustomersUseCase;
+
+    @MockitoBean
+    private ListCustomersUseCase listCustomersUseCase;
+
+    @MockitoBean
+    private SearchCustomersUseCase searchCustomersUseCase;
+
+    @MockitoBean
+    private UpdateCustomerUseCase updateCustomerUseCase;
+
+    @TestConfiguration
+    @EnableConfigurationProperties({CustomerExportProperties.class, CustomerHttpCacheProperties.class})
+    static class Properties {
+    }
+
+    @Test
+    void exportCustomers_shouldStreamOneCustomerPerLine_readingTheConfiguredSegmentsByDefault() throws Exception {
+        // ARRANGE
+        when(exportCustomersUseCase.exportCustomers(4))
+                .thenReturn(Flux.just(customer("id-1"), customer("id-2")));
+
+        // ACT
+        MvcResult started = mockMvc.perform(get("/api/v1/customers:export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // ASSERT
+        assertThat(result.getResponse().getContentAsString().lines())
+                .hasSize(2)
+                .satisfiesExactly(
+                        line -> assertThat(line).startsWith("{").contains("\"customerId\":\"id-1\""),
+                        line -> assertThat(line).startsWith("{").contains("\"customerId\":\"id-2\""));
+    }
+
+    @Test
+    void exportCustomers_shouldReadTheRequestedNumberOfSegments() throws Exception {
+        // ARRANGE
+        when(exportCustomersUseCase.exportCustomers(16)).thenReturn(Flux.empty());
+
+        // ACT
+        MvcResult started = mockMvc.perform(get("/api/v1/customers:export?segments=16").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // ASSERT
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+        verify(exportCustomersUseCase).exportCustomers(16);
+    }
+
+    private static Customer customer(String customerId) {
+        return Customer.builder()
+                .customerId(customerId)
+                .firstName("John")
+                .lastName("Doe")
+                .email(customerId + "@example.com")
+                .cpf("52998224725")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the web adapter does around every request, without the servlet container: reading and
+ * validating a {@link RegisterCustomerCommand} from JSON, and turning a {@link Customer} into a
+ * JSON {@link CustomerResponse}. The object mapper is configured the way Spring Boot configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerWebMappingBenchmark {
+
+    private ObjectWriter responseWriter;
+    private ObjectReader commandReader;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Customer customer;
+    private byte[] commandJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        responseWriter = objectMapper.writerFor(CustomerResponse.class);
+        commandReader = objectMapper.readerFor(RegisterCustomerCommand.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        customer = Customer.builder()
+                .customerId("0b7e5a4c-3d7f-4e3a-9c55-2f1de4f3b8a1")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .cpf("12345678909")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .build();
+        commandJson = """
+                {"firstName":"John","lastName":"Doe","email":"john.doe@example.com","cpf":"12345678909"}
+                """.getBytes(StandardCharsets.UTF_8);
+        if (!readAndValidateCommand().isEmpty()) {
+            throw new IllegalStateException("The sample command should be valid");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] writeCustomerResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(CustomerResponse.fromDomain(customer));
+    }
+
+    @Benchmark
+    public RegisterCustomerCommand readCommand() throws IOException {
+        return commandReader.readValue(commandJson);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegisterCustomerCommand>> readAndValidateCommand() throws IOException {
+        return validator.validate(commandReader.<RegisterCustomerCommand>readValue(commandJson));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerWebMappingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
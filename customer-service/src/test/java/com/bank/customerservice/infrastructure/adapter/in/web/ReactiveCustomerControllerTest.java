@@ -0,0 +1,327 @@
+package com.bank.customerservice.infrastructure.adapter.in.web;
+
+import com.bank.customerservice.application.port.in.BulkRegisterCustomersUseCase;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.ItemResult;
+import com.bank.customerservice.application.port.in.BulkRegistrationResult.Status;
+import com.bank.customerservice.application.port.in.ExportCustomersUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByCpfUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByEmailUseCase;
+import com.bank.customerservice.application.port.in.FindCustomerByIdUseCase;
+import com.bank.customerservice.application.port.in.FindCustomersByIdsUseCase;
+import com.bank.customerservice.application.port.in.ListCustomersUseCase;
+import com.bank.customerservice.application.port.in.RegisterCustomerCommand;
+import com.bank.customerservice.application.port.in.RegisterCustomerUseCase;
+import com.bank.customerservice.application.port.in.SearchCustomersUseCase;
+import com.bank.customerservice.application.port.in.UpdateCustomerCommand;
+import com.bank.customerservice.application.port.in.UpdateCustomerUseCase;
+import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.adapter.in.web.dto.CustomerResponse;
+import com.bank.customerservice.infrastructure.config.CustomerExportProperties;
+import com.bank.customerservice.infrastructure.config.CustomerHttpCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ReactiveCustomerController.class)
+class ReactiveCustomerControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private RegisterCustomerUseCase registerCustomerUseCase;
+
+    @MockitoBean
+    private FindCustomerByIdUseCase findCustomerByIdUseCase;
+
+    @MockitoBean
+    private FindCustomerByEmailUseCase findCustomerByEmailUseCase;
+
+    @MockitoBean
+    private FindCustomerByCpfUseCase findCustomerByCpfUseCase;
+
+    @MockitoBean
+    private BulkRegisterCustomersUseCase bulkRegisterCustomersUseCase;
+
+    @MockitoBean
+    private FindCustomersByIdsUseCase findCustomersByIdsUseCase;
+
+    @MockitoBean
+    private ExportCustomersUseCase exportCustomersUseCase;
+
+    @MockitoBean
+    private ListCustomersUseCase listCustomersUseCase;
+
+    @MockitoBean
+    private SearchCustomersUseCase searchCustomersUseCase;
+
+    @MockitoBean
+    private UpdateCustomerUseCase updateCustomerUseCase;
+
+    @TestConfiguration
+    @EnableConfigurationProperties({CustomerExportProperties.class, CustomerHttpCacheProperties.class})
+    static class Properties {
+    }
+
+    @Test
+    void registerCustomer_shouldAnswerCreated_andPassTheIdempotencyKeyOn() {
+        // ARRANGE
+        when(registerCustomerUseCase.registerCustomer(any(RegisterCustomerCommand.class), eq("key-1")))
+                .thenReturn(CompletableFuture.completedFuture(customer("id-1", 1L)));
+
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers")
+                .header(CustomerController.IDEMPOTENCY_KEY_HEADER, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(command("john.doe@example.com"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CustomerResponse.class)
+                .value(body -> assertThat(body.customerId()).isEqualTo("id-1"));
+    }
+
+    @Test
+    void registerCustomer_shouldAnswerBadRequest_whenTheBodyIsInvalid() {
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(command("not-an-email"))
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(registerCustomerUseCase);
+    }
+
+    @Test
+    void registerCustomer_shouldAnswerConflict_whenTheEmailIsAlreadyRegistered() {
+        // ARRANGE
+        when(registerCustomerUseCase.registerCustomer(any(RegisterCustomerCommand.class), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new EmailAlreadyRegisteredException("Email already registered")));
+
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(command("john.doe@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void findCustomerById_shouldAnswerWithTheETag_andNotModifiedOnceTheClientHoldsIt() {
+        // ARRANGE
+        when(findCustomerByIdUseCase.findCustomerById("id-1"))
+                .thenReturn(CompletableFuture.completedFuture(customer("id-1", 3L)));
+
+        // ACT & ASSERT
+        webTestClient.get().uri("/api/v1/customers/id-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody(CustomerResponse.class)
+                .value(body -> assertThat(body.email()).isEqualTo("john.doe@example.com"));
+        webTestClient.get().uri("/api/v1/customers/id-1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void findCustomerById_shouldAnswerNotFound_whenTheCustomerDoesNotExist() {
+        // ARRANGE
+        when(findCustomerByIdUseCase.findCustomerById("missing"))
+                .thenReturn(CompletableFuture.failedFuture(new CustomerNotFoundException("Customer not found")));
+
+        // ACT & ASSERT
+        webTestClient.get().uri("/api/v1/customers/missing")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void findCustomerByCpf_shouldAnswerBadRequest_whenTheCpfIsNotValid() {
+        // ARRANGE
+        when(findCustomerByCpfUseCase.findCustomerByCpf("123"))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidRequestException("CPF is not valid")));
+
+        // ACT & ASSERT
+        webTestClient.get().uri("/api/v1/customers?cpf=123")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void updateCustomer_shouldPassTheIfMatchVersionOn_andAnswerConflictWhenItIsStale() {
+        // ARRANGE
+        when(updateCustomerUseCase.updateCustomer(eq("id-1"), any(UpdateCustomerCommand.class), eq(Set.of(3L))))
+                .thenReturn(CompletableFuture.failedFuture(new CustomerVersionConflictException("Customer was changed")));
+
+        // ACT & ASSERT
+        webTestClient.patch().uri("/api/v1/customers/id-1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\":\"Jane\"}")
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void updateCustomer_shouldApplyTheChange_whenAnyStrongTagOfTheListMatches() {
+        // ARRANGE
+        when(updateCustomerUseCase.updateCustomer(eq("id-1"), any(UpdateCustomerCommand.class), eq(Set.of(2L, 3L))))
+                .thenReturn(CompletableFuture.completedFuture(customer("id-1", 4L)));
+
+        // ACT & ASSERT
+        webTestClient.patch().uri("/api/v1/customers/id-1")
+                .header(HttpHeaders.IF_MATCH, "\"2\", W/\"1\", \"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\":\"Jane\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+    }
+
+    @Test
+    void updateCustomer_shouldFailThePrecondition_forAWeakTag_andRejectAMalformedOne() {
+        // ACT & ASSERT
+        webTestClient.patch().uri("/api/v1/customers/id-1")
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\":\"Jane\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.patch().uri("/api/v1/customers/id-1")
+                .header(HttpHeaders.IF_MATCH, "3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"firstName\":\"Jane\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(updateCustomerUseCase);
+    }
+
+    @Test
+    void registerCustomersFromNdjson_shouldDecodeOneCommandPerLine() {
+        // ARRANGE
+        when(bulkRegisterCustomersUseCase.registerCustomers(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(new BulkRegistrationResult(List.of(
+                        new ItemResult(0, "a@example.com", Status.CREATED, "id-0", List.of()),
+                        new ItemResult(1, "b@example.com", Status.INVALID, null, List.of("CPF is not valid"))))));
+
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers:batchCreate")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(command("a@example.com") + "\n" + command("b@example.com") + "\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(1)
+                .jsonPath("$.rejected").isEqualTo(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RegisterCustomerCommand>> commands = ArgumentCaptor.forClass(List.class);
+        verify(bulkRegisterCustomersUseCase).registerCustomers(commands.capture());
+        assertThat(commands.getValue()).extracting(RegisterCustomerCommand::getEmail)
+                .containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void registerCustomersFromNdjson_shouldAnswerBadRequest_whenThereAreTooManyLines() {
+        // ARRANGE
+        String body = IntStream.rangeClosed(0, BulkRegisterCustomersUseCase.MAX_CUSTOMERS)
+                .mapToObj(i -> command("john.doe." + i + "@example.com"))
+                .collect(Collectors.joining("\n"));
+
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers:batchCreate")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bulkRegisterCustomersUseCase, never()).registerCustomers(anyList());
+    }
+
+    @Test
+    void registerCustomersFromNdjson_shouldAnswerBadRequest_whenALineIsMalformed() {
+        // ACT & ASSERT
+        webTestClient.post().uri("/api/v1/customers:batchCreate")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(command("a@example.com") + "\n{not json\n")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(bulkRegisterCustomersUseCase, never()).registerCustomers(anyList());
+    }
+
+    @Test
+    void exportCustomers_shouldStreamOneCustomerPerLine_readingTheConfiguredSegmentsByDefault() {
+        // ARRANGE
+        when(exportCustomersUseCase.exportCustomers(4))
+                .thenReturn(Flux.just(customer("id-1", 1L), customer("id-2", 1L)));
+        when(exportCustomersUseCase.exportCustomers(2))
+                .thenReturn(Flux.just(customer("id-3", 1L)));
+
+        // ACT
+        List<CustomerResponse> exported = webTestClient.get().uri("/api/v1/customers:export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CustomerResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // ASSERT
+        assertThat(exported).extracting(CustomerResponse::customerId).containsExactly("id-1", "id-2");
+        webTestClient.get().uri("/api/v1/customers:export?segments=2")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines()).hasSize(1).first().asString().contains("\"customerId\":\"id-3\""));
+    }
+
+    private static String command(String email) {
+        return "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"" + email + "\",\"cpf\":\"529.982.247-25\"}";
+    }
+
+    private static Customer customer(String customerId, Long version) {
+        return Customer.builder()
+                .customerId(customerId)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .cpf("52998224725")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomRegisteredEmailFilterTest {
+
+    @Test
+    void shouldReportNoEmail_untilTheStoreHasBeenLoaded() {
+        // ARRANGE
+        BloomRegisteredEmailFilter filter = new BloomRegisteredEmailFilter(1_000, 0.01);
+        filter.add("registered-during-load@example.com");
+        filter.load(Customer.builder().customerId("id-1").email("john@example.com").build());
+        filter.load(Customer.builder().customerId("id-2").email("jane@example.com").build());
+        filter.load(Customer.builder().customerId("id-3").build());
+
+        // ACT
+        boolean beforeLoaded = filter.mightBeRegistered("john@example.com");
+        filter.loaded();
+
+        // ASSERT
+        assertThat(beforeLoaded).isFalse();
+        assertThat(filter.mightBeRegistered("john@example.com")).isTrue();
+        assertThat(filter.mightBeRegistered("jane@example.com")).isTrue();
+        assertThat(filter.mightBeRegistered("registered-during-load@example.com")).isTrue();
+        assertThat(filter.mightBeRegistered("new@example.com")).isFalse();
+    }
+}
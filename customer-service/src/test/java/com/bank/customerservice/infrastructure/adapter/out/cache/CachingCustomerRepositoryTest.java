@@ -0,0 +1,174 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCustomerRepositoryTest {
+
+    @Mock
+    private CustomerRepository delegate;
+
+    private CachingCustomerRepository cachingRepository;
+
+    @BeforeEach
+    void setUp() {
+        cachingRepository = new CachingCustomerRepository(delegate, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer customer = Customer.builder().customerId("id-1").firstName("John").build();
+        when(delegate.findById("id-1")).thenReturn(CompletableFuture.completedFuture(Optional.of(customer)));
+
+        // ACT
+        cachingRepository.findById("id-1").get();
+        Optional<Customer> cached = cachingRepository.findById("id-1").get();
+
+        // ASSERT
+        assertThat(cached).contains(customer);
+        verify(delegate, times(1)).findById("id-1");
+        assertThat(cachingRepository.stats().hitCount()).isEqualTo(1);
+        assertThat(cachingRepository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheTheSavedCustomer_insteadOfReadingItBack() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer original = Customer.builder().customerId("id-1").firstName("John").build();
+        Customer updated = Customer.builder().customerId("id-1").firstName("Johnny").build();
+        when(delegate.findById("id-1")).thenReturn(CompletableFuture.completedFuture(Optional.of(original)));
+        when(delegate.save(updated)).thenReturn(CompletableFuture.completedFuture(updated));
+
+        // ACT
+        cachingRepository.findById("id-1").get();
+        cachingRepository.save(updated).get();
+        Optional<Customer> afterSave = cachingRepository.findById("id-1").get();
+
+        // ASSERT
+        assertThat(afterSave).contains(updated);
+        verify(delegate, times(1)).findById("id-1");
+    }
+
+    @Test
+    void shouldCacheTheUpdatedCustomer_unlessALaterVersionIsCachedAlready() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer version2 = Customer.builder().customerId("id-1").firstName("Johnny").version(2L).build();
+        Customer version3 = Customer.builder().customerId("id-1").firstName("Jon").version(3L).build();
+        CompletableFuture<Customer> slowUpdate = new CompletableFuture<>();
+        when(delegate.update("id-1", new CustomerUpdate("Johnny", null), Set.of(1L))).thenReturn(slowUpdate);
+        when(delegate.update("id-1", new CustomerUpdate("Jon", null), Set.of(2L))).thenReturn(CompletableFuture.completedFuture(version3));
+
+        // ACT
+        CompletableFuture<Customer> first = cachingRepository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(1L));
+        cachingRepository.update("id-1", new CustomerUpdate("Jon", null), Set.of(2L)).get();
+        slowUpdate.complete(version2);
+        first.get();
+
+        // ASSERT
+        assertThat(cachingRepository.findById("id-1").get()).contains(version3);
+        verify(delegate, never()).findById("id-1");
+    }
+
+    @Test
+    void shouldInvalidateEntry_whenAnUpdateFails() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer stale = Customer.builder().customerId("id-1").firstName("John").version(1L).build();
+        Customer current = Customer.builder().customerId("id-1").firstName("Jon").version(2L).build();
+        when(delegate.findById("id-1"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(stale)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(current)));
+        when(delegate.update("id-1", new CustomerUpdate("Johnny", null), Set.of(1L)))
+                .thenReturn(CompletableFuture.failedFuture(new CustomerVersionConflictException("changed")));
+        cachingRepository.findById("id-1").get();
+
+        // ACT
+        assertThatThrownBy(cachingRepository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(1L))::get)
+                .hasCauseInstanceOf(CustomerVersionConflictException.class);
+
+        // ASSERT
+        assertThat(cachingRepository.findById("id-1").get()).contains(current);
+        verify(delegate, times(2)).findById("id-1");
+    }
+
+    @Test
+    void shouldCacheNotFoundResults_untilCustomerIsCreated() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer created = Customer.builder().customerId("id-2").build();
+        CustomerRegisteredEvent event = CustomerRegisteredEvent.of(created);
+        when(delegate.findById("id-2")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(delegate.create(created, event)).thenReturn(CompletableFuture.completedFuture(created));
+
+        // ACT & ASSERT
+        assertThat(cachingRepository.findById("id-2").get()).isEmpty();
+        assertThat(cachingRepository.findById("id-2").get()).isEmpty(); // negative hit
+        verify(delegate, times(1)).findById("id-2");
+
+        cachingRepository.create(created, event).get();
+        assertThat(cachingRepository.findById("id-2").get()).contains(created);
+        verify(delegate, times(1)).findById("id-2");
+    }
+
+    @Test
+    void shouldCacheOnlyTheCustomersABulkCreateWrote() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer written = Customer.builder().customerId("id-1").version(1L).build();
+        Customer skipped = Customer.builder().customerId("id-2").version(1L).build();
+        when(delegate.createAll(List.of(written, skipped))).thenReturn(CompletableFuture.completedFuture(
+                new BulkCreateResult(Set.of("id-1"), Set.of("id-2"), Set.of(), Map.of())));
+        when(delegate.findById("id-2")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // ACT
+        cachingRepository.createAll(List.of(written, skipped)).get();
+
+        // ASSERT
+        assertThat(cachingRepository.findById("id-1").get()).contains(written);
+        assertThat(cachingRepository.findById("id-2").get()).isEmpty();
+        verify(delegate, never()).findById("id-1");
+    }
+
+    @Test
+    void shouldOnlyLoadUncachedIds_inBatchLookups() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer cached = Customer.builder().customerId("id-1").build();
+        Customer loaded = Customer.builder().customerId("id-2").build();
+        when(delegate.findById("id-1")).thenReturn(CompletableFuture.completedFuture(Optional.of(cached)));
+        when(delegate.findAllByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of("id-2", "id-3")))))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("id-2", loaded)));
+        cachingRepository.findById("id-1").get();
+
+        // ACT
+        Map<String, Customer> found = cachingRepository.findAllByIds(List.of("id-1", "id-2", "id-3")).get();
+
+        // ASSERT
+        assertThat(found).containsOnlyKeys("id-1", "id-2");
+        verify(delegate, times(1)).findAllByIds(anyCollection());
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import com.bank.customerservice.application.port.out.IdempotencyRecord;
+import com.bank.customerservice.application.port.out.IdempotencyStore;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingIdempotencyStoreTest {
+
+    @Mock
+    private IdempotencyStore delegate;
+
+    private CachingIdempotencyStore cachingStore;
+
+    @BeforeEach
+    void setUp() {
+        cachingStore = new CachingIdempotencyStore(delegate, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldAnswerRetriesFromMemory_onceTheKeyIsCompleted() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        Customer customer = Customer.builder().customerId("id-1").build();
+        when(delegate.complete("key-1", "hash", customer)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // ACT
+        cachingStore.complete("key-1", "hash", customer).get();
+        Optional<IdempotencyRecord> retry = cachingStore.claim("key-1", "hash").get();
+
+        // ASSERT
+        assertThat(retry).contains(IdempotencyRecord.completed("hash", customer));
+        verify(delegate).complete("key-1", "hash", customer);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    void shouldAlwaysAskTheStore_whileTheKeyIsInProgress() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        when(delegate.claim("key-1", "hash"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(IdempotencyRecord.inProgress("hash"))));
+
+        // ACT
+        cachingStore.claim("key-1", "hash").get();
+        Optional<IdempotencyRecord> second = cachingStore.claim("key-1", "hash").get();
+
+        // ASSERT
+        assertThat(second).contains(IdempotencyRecord.inProgress("hash"));
+        verify(delegate, times(2)).claim("key-1", "hash");
+    }
+}
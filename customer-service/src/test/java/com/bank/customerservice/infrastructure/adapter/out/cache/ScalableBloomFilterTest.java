@@ -0,0 +1,53 @@
+package com.bank.customerservice.infrastructure.adapter.out.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScalableBloomFilterTest {
+
+    private static final int EMAILS = 200_000;
+
+    @Test
+    void shouldHaveNoFalseNegatives_andStayBelowTheFalsePositiveRate() {
+        // ARRANGE
+        ScalableBloomFilter filter = new ScalableBloomFilter(EMAILS, 0.01);
+
+        // ACT
+        IntStream.range(0, EMAILS).forEach(i -> filter.add(registered(i)));
+        double falsePositiveRate = measuredFalsePositiveRate(filter);
+
+        // ASSERT
+        assertThat(IntStream.range(0, EMAILS).allMatch(i -> filter.mightContain(registered(i)))).isTrue();
+        assertThat(falsePositiveRate).isLessThan(0.01);
+        // About 9.6 bits per email at 1%, plus the share reserved for the slices it would grow into.
+        assertThat(filter.sizeInBytes()).isLessThan(EMAILS * 12L / 8 + 64);
+    }
+
+    @Test
+    void shouldStayBelowTheFalsePositiveRate_whenGrowingFarPastItsInitialCapacity() {
+        // ARRANGE
+        ScalableBloomFilter filter = new ScalableBloomFilter(EMAILS / 64, 0.01);
+
+        // ACT
+        IntStream.range(0, EMAILS).forEach(i -> filter.add(registered(i)));
+
+        // ASSERT
+        assertThat(IntStream.range(0, EMAILS).allMatch(i -> filter.mightContain(registered(i)))).isTrue();
+        // Each slice adds its own rate; together they approach the target from below. The margin covers
+        // sampling noise, about 0.0002 over this many lookups.
+        assertThat(measuredFalsePositiveRate(filter)).isLessThan(0.0105);
+        assertThat(filter.approximateCount()).isBetween(EMAILS * 99L / 100, (long) EMAILS);
+    }
+
+    private static double measuredFalsePositiveRate(ScalableBloomFilter filter) {
+        long falsePositives = IntStream.range(0, EMAILS).filter(i -> filter.mightContain("unregistered-" + i + "@example.com")).count();
+        return (double) falsePositives / EMAILS;
+    }
+
+    private static String registered(int i) {
+        return "customer-" + i + "@example.com";
+    }
+}
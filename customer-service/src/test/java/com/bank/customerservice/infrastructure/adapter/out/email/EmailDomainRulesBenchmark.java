@@ -0,0 +1,107 @@
+package com.bank.customerservice.infrastructure.adapter.out.email;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups per second against a disposable-domain list of realistic size, compiled into
+ * {@link EmailDomainRules}, next to the obvious HashSet of domains probed with every suffix of
+ * the lower-cased domain. Addresses are a mix of denied providers, subdomains of them and
+ * allowed domains, cycled so that the branch predictor cannot learn a single answer.
+ * Run with {@code -prof gc} to see that the compiled rules allocate nothing per lookup.
+ * <p>
+ * Not part of the unit test run; use the {@code benchmark} Maven profile or {@link #main}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailDomainRulesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Rules {
+
+        @Param({"500000"})
+        public int disposableDomains;
+
+        EmailDomainRules compiled;
+        Set<String> naive;
+        String[] emails;
+        int next;
+
+        @Setup
+        public void setUp() {
+            EmailDomainRules.Builder builder = EmailDomainRules.builder().allow("partner.disposable-7.net");
+            naive = new HashSet<>();
+            for (int i = 0; i < disposableDomains; i++) {
+                String domain = "disposable-" + i + (i % 2 == 0 ? ".com" : ".net");
+                builder.deny(domain);
+                naive.add(domain);
+            }
+            compiled = builder.build();
+            emails = new String[]{
+                    "john.doe@disposable-4242.com",         // denied
+                    "Jane.Roe@Mail.Disposable-31337.NET",   // denied, subdomain and upper case
+                    "maria.silva@gmail.com",                // allowed, no rule
+                    "joao.souza@empresa.com.br",            // allowed, no rule
+                    "ops@partner.disposable-7.net",         // allowed by a more specific rule
+                    "someone@disposable-999999.com",        // allowed, near miss
+            };
+        }
+
+        String nextEmail() {
+            String email = emails[next];
+            next = next + 1 == emails.length ? 0 : next + 1;
+            return email;
+        }
+    }
+
+    @Benchmark
+    public boolean compiledRules(Rules rules) {
+        return rules.compiled.isAllowed(rules.nextEmail());
+    }
+
+    @Benchmark
+    public boolean hashSetOfSuffixes(Rules rules) {
+        String email = rules.nextEmail();
+        String domain = email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+        // Without the allow rule the baseline would be simpler still; keep it comparable.
+        if (domain.equals("partner.disposable-7.net") || domain.endsWith(".partner.disposable-7.net")) {
+            return true;
+        }
+        for (int dot = -1; dot < domain.length(); dot = domain.indexOf('.', dot + 1)) {
+            if (rules.naive.contains(domain.substring(dot + 1))) {
+                return false;
+            }
+            if (domain.indexOf('.', dot + 1) < 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailDomainRulesBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bank.customerservice.infrastructure.adapter.out.email;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailDomainRulesTest {
+
+    @Test
+    void shouldApplyTheMostSpecificRule_withDenyWinningOnTheSameDomain() {
+        // ARRANGE
+        EmailDomainRules rules = EmailDomainRules.builder()
+                .deny("xyz")
+                .allow("good.xyz")
+                .deny("bad.good.xyz")
+                .allow("both.com")
+                .deny("both.com")
+                .build();
+
+        // ACT & ASSERT
+        assertThat(rules.isAllowed("a@spam.xyz")).isFalse();
+        assertThat(rules.isAllowed("a@good.xyz")).isTrue();
+        assertThat(rules.isAllowed("a@mail.good.xyz")).isTrue();
+        assertThat(rules.isAllowed("a@x.bad.good.xyz")).isFalse();
+        assertThat(rules.isAllowed("a@both.com")).isFalse();
+        assertThat(rules.isAllowed("a@example.com")).isTrue(); // No rule covers it.
+        assertThat(rules.isAllowed("a@notgood.xyz")).isFalse(); // Suffixes match on label boundaries only.
+    }
+
+    @Test
+    void shouldApplyExactRules_toTheDomainOnly() {
+        // ARRANGE
+        EmailDomainRules rules = EmailDomainRules.builder()
+                .deny("=mailinator.com")
+                .allow("=corp.mailinator.com")
+                .build();
+
+        // ACT & ASSERT
+        assertThat(rules.isAllowed("a@mailinator.com")).isFalse();
+        assertThat(rules.isAllowed("a@eu.mailinator.com")).isTrue();
+        assertThat(rules.isAllowed("a@corp.mailinator.com")).isTrue();
+    }
+
+    @Test
+    void shouldMatchCaseInsensitively_andRejectAddressesWithoutDomain() {
+        // ARRANGE
+        EmailDomainRules.Builder builder = EmailDomainRules.builder()
+                .deny("*.Mailinator.COM")
+                .deny("müll.de");
+        EmailDomainRules rules = builder.build();
+
+        // ACT & ASSERT
+        assertThat(rules.isAllowed("John@EU.MAILINATOR.com")).isFalse();
+        assertThat(rules.isAllowed("john@mailinator.com.")).isFalse();
+        assertThat(rules.isAllowed("weird@name@mailinator.com")).isFalse();
+        assertThat(rules.isAllowed("no-domain@")).isFalse();
+        assertThat(rules.isAllowed("no-at-sign")).isFalse();
+        assertThat(builder.skipped()).isEqualTo(1);
+        assertThat(rules.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.customerservice.infrastructure.adapter.out.email;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileEmailDomainValidatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReloadChangedFiles_andKeepTheCurrentRules_whenAFileIsBroken() throws IOException {
+        // ARRANGE
+        Path rulesFile = Files.writeString(directory.resolve("rules.txt"), "# Partners\nallow partner.mailinator.com\n");
+        Path disposableFile = Files.writeString(directory.resolve("disposable.txt"), "mailinator.com\n");
+        FileEmailDomainValidator validator = new FileEmailDomainValidator(rulesFile, disposableFile, Duration.ZERO);
+        assertThat(validator.isEmailDomainAllowed("a@mailinator.com")).isFalse();
+        assertThat(validator.isEmailDomainAllowed("a@partner.mailinator.com")).isTrue();
+        assertThat(validator.isEmailDomainAllowed("a@yopmail.com")).isTrue();
+
+        // ACT
+        Files.writeString(disposableFile, "mailinator.com\nyopmail.com\n");
+        touch(disposableFile, 1);
+        boolean reloaded = validator.reloadIfChanged();
+        boolean reloadedAgain = validator.reloadIfChanged();
+
+        Files.writeString(rulesFile, "permit partner.mailinator.com\n");
+        touch(rulesFile, 2);
+        boolean reloadedBroken = validator.reloadIfChanged();
+
+        // ASSERT
+        assertThat(reloaded).isTrue();
+        assertThat(reloadedAgain).isFalse();
+        assertThat(reloadedBroken).isFalse();
+        assertThat(validator.isEmailDomainAllowed("a@yopmail.com")).isFalse();
+        assertThat(validator.isEmailDomainAllowed("a@partner.mailinator.com")).isTrue();
+    }
+
+    // Filesystems may only keep modification times to the second; move them forward explicitly.
+    private static void touch(Path file, int seconds) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+    }
+}
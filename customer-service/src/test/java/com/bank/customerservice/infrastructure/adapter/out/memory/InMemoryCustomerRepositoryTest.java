@@ -0,0 +1,211 @@
+package com.bank.customerservice.infrastructure.adapter.out.memory;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CpfAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.CpfFixtures;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryCustomerRepositoryTest {
+
+    private final InMemoryCustomerRepository repository = new InMemoryCustomerRepository(Duration.ZERO);
+
+    @Test
+    void create_shouldStoreCustomer_andRejectSecondCustomerWithSameEmail() {
+        // ARRANGE
+        create(repository, customer("id-1", "john.doe@example.com")).join();
+
+        // ACT
+        CompletableFuture<Customer> duplicate = create(repository, customer("id-2", "john.doe@example.com"));
+
+        // ASSERT
+        assertThatThrownBy(duplicate::join).hasCauseInstanceOf(EmailAlreadyRegisteredException.class);
+        assertThat(repository.findById("id-1").join()).hasValueSatisfying(c -> assertThat(c.getFirstName()).isEqualTo("John"));
+        assertThat(repository.findById("id-2").join()).isEmpty();
+        assertThat(repository.findByEmail("john.doe@example.com").join()).hasValueSatisfying(c -> assertThat(c.getCustomerId()).isEqualTo("id-1"));
+    }
+
+    @Test
+    void create_shouldRejectASecondCustomerWithTheSameCpf_andReleaseItsEmail() {
+        // ARRANGE
+        Customer first = customer("id-1", "john.doe@example.com");
+        create(repository, first).join();
+        Customer sameCpf = customer("id-2", "jane.doe@example.com");
+        sameCpf.setCpf(first.getCpf());
+
+        // ACT
+        CompletableFuture<Customer> duplicate = create(repository, sameCpf);
+
+        // ASSERT
+        assertThatThrownBy(duplicate::join).hasCauseInstanceOf(CpfAlreadyRegisteredException.class);
+        assertThat(repository.findByCpf(first.getCpf()).join()).hasValueSatisfying(c -> assertThat(c.getCustomerId()).isEqualTo("id-1"));
+        assertThat(repository.findByEmail("jane.doe@example.com").join()).isEmpty();
+        assertThat(create(repository, customer("id-3", "jane.doe@example.com")).join().getCustomerId()).isEqualTo("id-3");
+    }
+
+    @Test
+    void create_shouldLetOnlyOneOfManyConcurrentRegistrationsClaimAnEmail() throws InterruptedException {
+        // ARRANGE
+        int registrations = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Customer>> results = new ArrayList<>();
+
+        // ACT
+        for (int i = 0; i < registrations; i++) {
+            String customerId = "id-" + i;
+            results.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                return create(repository, customer(customerId, "john.doe@example.com"));
+            }, executor).thenCompose(future -> future));
+        }
+        start.countDown();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+        executor.shutdown();
+
+        // ASSERT
+        assertThat(results).filteredOn(future -> !future.isCompletedExceptionally()).hasSize(1);
+        assertThat(repository.findPage(100, null, null).join().customers()).hasSize(1);
+    }
+
+    @Test
+    void findById_shouldReturnCopies_soCallersCannotChangeTheStore() {
+        // ARRANGE
+        create(repository, customer("id-1", "john.doe@example.com")).join();
+
+        // ACT
+        repository.findById("id-1").join().orElseThrow().setFirstName("Changed");
+
+        // ASSERT
+        assertThat(repository.findById("id-1").join()).hasValueSatisfying(c -> assertThat(c.getFirstName()).isEqualTo("John"));
+    }
+
+    @Test
+    void findPage_shouldWalkEveryCustomerOnce_withProjectedAttributes() {
+        // ARRANGE
+        for (int i = 0; i < 7; i++) {
+            create(repository, customer("id-" + i, "customer" + i + "@example.com")).join();
+        }
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        // ACT
+        do {
+            CustomerPage page = repository.findPage(3, cursor, Set.of("customerId", "email")).join();
+            page.customers().forEach(c -> {
+                assertThat(c.getFirstName()).isNull();
+                assertThat(c.getEmail()).isNotNull();
+                seen.add(c.getCustomerId());
+            });
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // ASSERT
+        assertThat(seen).hasSize(7);
+        assertThat(pages).isEqualTo(3);
+        assertThatThrownBy(() -> repository.findPage(3, "!!", null).join()).hasCauseInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void createAll_shouldReportEmailsThatAreAlreadyTaken() {
+        // ARRANGE
+        create(repository, customer("id-1", "john.doe@example.com")).join();
+
+        // ACT
+        BulkCreateResult result = repository.createAll(List.of(
+                customer("id-2", "john.doe@example.com"),
+                customer("id-3", "jane.doe@example.com"))).join();
+
+        // ASSERT
+        assertThat(result.created()).containsExactly("id-3");
+        assertThat(result.emailTaken()).containsExactly("id-2");
+        assertThat(result.cpfTaken()).isEmpty();
+        assertThat(result.failed()).isEmpty();
+    }
+
+    @Test
+    void shouldCompleteOnAnotherThread_whenLatencyIsConfigured() {
+        // ARRANGE
+        InMemoryCustomerRepository slowRepository = new InMemoryCustomerRepository(Duration.ofMillis(20));
+
+        // ACT
+        CompletableFuture<Customer> created = create(slowRepository, customer("id-1", "john.doe@example.com"));
+
+        // ASSERT
+        assertThat(created).isNotDone();
+        assertThat(created.join().getCustomerId()).isEqualTo("id-1");
+        assertThatThrownBy(() -> create(slowRepository, customer("id-2", "john.doe@example.com")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(EmailAlreadyRegisteredException.class);
+    }
+
+    @Test
+    void update_shouldChangeOnlyTheGivenFields_andRejectAStaleVersion() {
+        // ARRANGE
+        Customer customer = customer("id-1", "john.doe@example.com");
+        customer.setVersion(1L);
+        create(repository, customer).join();
+
+        // ACT
+        Customer updated = repository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(1L)).join();
+        CompletableFuture<Customer> stale = repository.update("id-1", new CustomerUpdate(null, "Smith"), Set.of(1L));
+        Customer anyOf = repository.update("id-1", new CustomerUpdate(null, "Silva"), Set.of(1L, 2L)).join();
+        CompletableFuture<Customer> missing = repository.update("id-2", new CustomerUpdate("Johnny", null), null);
+
+        // ASSERT
+        assertThat(updated.getFirstName()).isEqualTo("Johnny");
+        assertThat(updated.getLastName()).isEqualTo("Doe");
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThatThrownBy(stale::join).hasCauseInstanceOf(CustomerVersionConflictException.class);
+        assertThatThrownBy(missing::join).hasCauseInstanceOf(CustomerNotFoundException.class);
+        assertThat(anyOf.getVersion()).isEqualTo(3L);
+        assertThat(repository.findById("id-1").join()).hasValueSatisfying(c -> assertThat(c.getLastName()).isEqualTo("Silva"));
+    }
+
+    private static CompletableFuture<Customer> create(InMemoryCustomerRepository repository, Customer customer) {
+        return repository.create(customer, CustomerRegisteredEvent.of(customer));
+    }
+
+    private static Customer customer(String customerId, String email) {
+        return Customer.builder()
+                .customerId(customerId)
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .cpf(CpfFixtures.cpf(Math.floorMod(customerId.hashCode(), 1_000_000_000)))
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .build();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
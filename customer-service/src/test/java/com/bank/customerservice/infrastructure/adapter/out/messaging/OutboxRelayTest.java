@@ -0,0 +1,199 @@
+package com.bank.customerservice.infrastructure.adapter.out.messaging;
+
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerOutbox;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxItem;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.OutboxLeases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/customer-registered-events";
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private CustomerOutbox outbox;
+
+    @Mock
+    private OutboxLeases leases;
+
+    @Mock
+    private SqsAsyncClient sqsClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(outbox.shards()).thenReturn(1);
+        lenient().when(outbox.remove(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+        lenient().when(sqsClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(QUEUE_URL).build()));
+        relay = new OutboxRelay(outbox, leases, sqsClient, meterRegistry, "customer-registered-events", 1,
+                Duration.ofMillis(100), 25, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void shouldPublishInBatchesOfTen_andDeleteOnlyAfterSending() {
+        // ARRANGE
+        List<OutboxItem> pending = IntStream.range(0, 23).mapToObj(i -> item("customer-" + i, i)).toList();
+        when(outbox.findPending(0, 25)).thenReturn(CompletableFuture.completedFuture(pending));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> accept(invocation.getArgument(0), Set.of()));
+
+        // ACT
+        boolean more = relay.drainShard(0);
+
+        // ASSERT
+        ArgumentCaptor<SendMessageBatchRequest> requests = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(3)).sendMessageBatch(requests.capture());
+        assertThat(requests.getAllValues()).extracting(r -> r.entries().size()).containsExactly(10, 10, 3);
+        assertThat(requests.getAllValues().get(0).entries().get(0).messageBody()).isEqualTo(pending.get(0).getPayload());
+
+        List<OutboxItem> removed = new ArrayList<>();
+        ArgumentCaptor<List<OutboxItem>> removals = listCaptor();
+        verify(outbox, times(3)).remove(removals.capture());
+        removals.getAllValues().forEach(removed::addAll);
+        assertThat(removed).containsExactlyElementsOf(pending);
+
+        assertThat(more).isFalse(); // Fewer events than a page: the shard is drained.
+        assertThat(meterRegistry.get("customer.outbox.published").counter().count()).isEqualTo(23);
+        assertThat(meterRegistry.get("customer.outbox.publish.lag").timer().count()).isEqualTo(23);
+    }
+
+    @Test
+    void shouldHoldBackACustomersLaterEvents_whenAnEarlierOneIsRejected() {
+        // ARRANGE
+        OutboxItem firstOfA = item("customer-a", 1);
+        OutboxItem firstOfB = item("customer-b", 2);
+        OutboxItem secondOfA = item("customer-a", 3);
+        when(outbox.findPending(0, 25)).thenReturn(CompletableFuture.completedFuture(List.of(firstOfA, firstOfB, secondOfA)));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> accept(invocation.getArgument(0), Set.of(firstOfA.getEventId())));
+
+        // ACT
+        boolean more = relay.drainShard(0);
+
+        // ASSERT
+        // Only one call: the two events of customer A never share a batch, and A's second waits for its first.
+        ArgumentCaptor<SendMessageBatchRequest> requests = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient).sendMessageBatch(requests.capture());
+        assertThat(requests.getValue().entries())
+                .extracting(entry -> entry.messageAttributes().get("eventId").stringValue())
+                .containsExactly(firstOfA.getEventId(), firstOfB.getEventId());
+        verify(outbox).remove(List.of(firstOfB));
+        assertThat(more).isFalse();
+        assertThat(meterRegistry.get("customer.outbox.publish.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepEvents_whenTheQueueCannotBeReached() {
+        // ARRANGE
+        when(outbox.findPending(0, 25)).thenReturn(CompletableFuture.completedFuture(List.of(item("customer-a", 1))));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(SqsException.builder().message("unreachable").build()));
+
+        // ACT & ASSERT
+        assertThatThrownBy(() -> relay.drainShard(0)).isInstanceOf(CompletionException.class);
+        verify(outbox, never()).remove(anyList());
+        assertThat(meterRegistry.get("customer.outbox.pending.age").timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(NOW.toEpochMilli() - 1);
+    }
+
+    @Test
+    void shouldOnlyDrainTheShardsThisInstanceHoldsTheLeaseOf() {
+        // ARRANGE
+        when(outbox.shards()).thenReturn(2);
+        when(leases.tryAcquire(0)).thenReturn(false);
+        when(leases.tryAcquire(1)).thenReturn(true, false);
+        when(outbox.findPending(1, 25)).thenReturn(CompletableFuture.completedFuture(
+                IntStream.range(0, 25).mapToObj(i -> item("customer-" + i, i)).toList()));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> accept(invocation.getArgument(0), Set.of()));
+        OutboxRelay twoShards = new OutboxRelay(outbox, leases, sqsClient, new SimpleMeterRegistry(), "customer-registered-events", 1,
+                Duration.ofHours(1), 25, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // ACT
+        twoShards.start();
+        verify(leases, timeout(1_000)).tryAcquire(0);
+        verify(leases, timeout(1_000).times(2)).tryAcquire(1);
+        twoShards.stop();
+
+        // ASSERT
+        // A full page was published, but the lease was lost before the next one was read.
+        verify(outbox, never()).findPending(eq(0), anyInt());
+        verify(outbox, times(1)).findPending(1, 25);
+        verify(leases).releaseAll();
+    }
+
+    private static CompletableFuture<SendMessageBatchResponse> accept(SendMessageBatchRequest request, Set<String> rejectedEventIds) {
+        SendMessageBatchResponse.Builder response = SendMessageBatchResponse.builder();
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            if (rejectedEventIds.contains(entry.messageAttributes().get("eventId").stringValue())) {
+                failed.add(BatchResultErrorEntry.builder().id(entry.id()).code("InternalError").senderFault(false).build());
+            } else {
+                successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).messageId("message-" + entry.id()).build());
+            }
+        }
+        return CompletableFuture.completedFuture(response.successful(successful).failed(failed).build());
+    }
+
+    private static OutboxItem item(String customerId, long epochMillis) {
+        Instant occurredAt = Instant.ofEpochMilli(epochMillis);
+        String eventId = "event-" + epochMillis;
+        return OutboxItem.builder()
+                .shard("0")
+                .sequence(String.format("%015d#%s", epochMillis, eventId))
+                .eventId(eventId)
+                .eventType("CustomerRegistered")
+                .customerId(customerId)
+                .payload("{\"customerId\":\"" + customerId + "\"}")
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<OutboxItem>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
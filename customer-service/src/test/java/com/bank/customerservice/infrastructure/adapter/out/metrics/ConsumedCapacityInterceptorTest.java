@@ -0,0 +1,69 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsumedCapacityInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConsumedCapacityInterceptor interceptor = new ConsumedCapacityInterceptor(meterRegistry);
+
+    @Test
+    void shouldAskForTotalConsumedCapacity_unlessTheRequestAlreadyAsks() {
+        // ARRANGE
+        GetItemRequest plain = GetItemRequest.builder().tableName("customers").build();
+        GetItemRequest withIndexes = plain.toBuilder().returnConsumedCapacity(ReturnConsumedCapacity.INDEXES).build();
+
+        // ACT
+        SdkRequest modifiedPlain = interceptor.modifyRequest(context(plain), new ExecutionAttributes());
+        SdkRequest modifiedWithIndexes = interceptor.modifyRequest(context(withIndexes), new ExecutionAttributes());
+
+        // ASSERT
+        assertThat(((GetItemRequest) modifiedPlain).returnConsumedCapacity()).isEqualTo(ReturnConsumedCapacity.TOTAL);
+        assertThat(modifiedWithIndexes).isSameAs(withIndexes);
+    }
+
+    @Test
+    void shouldCountWriteUnitsPerTable_forATransaction() {
+        // ARRANGE
+        TransactWriteItemsResponse response = TransactWriteItemsResponse.builder()
+                .consumedCapacity(
+                        ConsumedCapacity.builder().tableName("customers").capacityUnits(2.0).build(),
+                        ConsumedCapacity.builder().tableName("customer-unique-keys").capacityUnits(2.0).build(),
+                        ConsumedCapacity.builder().tableName("customer-outbox").capacityUnits(2.0).build())
+                .build();
+        InterceptorContext context = InterceptorContext.builder()
+                .request(TransactWriteItemsRequest.builder().build())
+                .response(response)
+                .build();
+        ExecutionAttributes attributes = new ExecutionAttributes()
+                .putAttribute(SdkExecutionAttribute.OPERATION_NAME, "TransactWriteItems");
+
+        // ACT
+        interceptor.afterExecution(context, attributes);
+
+        // ASSERT
+        assertThat(meterRegistry.get(ConsumedCapacityInterceptor.COUNTER_NAME)
+                .tag("table", "customers").tag("operation", "TransactWriteItems").tag("capacity", "write")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(ConsumedCapacityInterceptor.COUNTER_NAME).tag("capacity", "write").counters())
+                .hasSize(3);
+        assertThat(meterRegistry.find(ConsumedCapacityInterceptor.COUNTER_NAME).tag("capacity", "read").counters())
+                .isEmpty();
+    }
+
+    private static InterceptorContext context(SdkRequest request) {
+        return InterceptorContext.builder().request(request).build();
+    }
+}
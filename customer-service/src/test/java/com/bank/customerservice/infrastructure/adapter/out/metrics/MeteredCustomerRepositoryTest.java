@@ -0,0 +1,83 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.Customer;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredCustomerRepositoryTest {
+
+    @Mock
+    private CustomerRepository delegate;
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+
+    private MeteredCustomerRepository meteredRepository;
+
+    @BeforeEach
+    void setUp() {
+        meteredRepository = new MeteredCustomerRepository(delegate, meterRegistry);
+    }
+
+    @Test
+    void shouldTimeCallsUntilTheirFutureCompletes_taggedWithTheOutcome() {
+        // ARRANGE
+        CompletableFuture<Optional<Customer>> pending = new CompletableFuture<>();
+        when(delegate.findById("id-1")).thenReturn(pending);
+        when(delegate.findByEmail("taken@example.com")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+
+        // ACT
+        CompletableFuture<Optional<Customer>> result = meteredRepository.findById("id-1");
+        clock.add(Duration.ofMillis(40));
+        pending.complete(Optional.empty());
+        meteredRepository.findByEmail("taken@example.com");
+
+        // ASSERT
+        assertThat(result).isCompletedWithValue(Optional.empty());
+        Timer found = timer("findById", "success");
+        assertThat(found.count()).isEqualTo(1);
+        assertThat(found.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(timer("findById", "failure").count()).isZero();
+        assertThat(timer("findByEmail", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTimeStreamsUntilTheyTerminate_andCountCancelledStreamsSeparately() {
+        // ARRANGE
+        Customer customer = Customer.builder().customerId("id-1").build();
+        Sinks.Many<Customer> endless = Sinks.many().unicast().onBackpressureBuffer();
+        when(delegate.streamAll(2)).thenReturn(Flux.just(customer)).thenReturn(endless.asFlux());
+
+        // ACT
+        Flux.from(meteredRepository.streamAll(2)).blockLast();
+        Flux.from(meteredRepository.streamAll(2)).subscribe().dispose();
+
+        // ASSERT
+        assertThat(timer("streamAll", "success").count()).isEqualTo(1);
+        assertThat(timer("streamAll", "cancelled").count()).isEqualTo(1);
+        assertThat(timer("streamAll", "failure").count()).isZero();
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get(MeteredCustomerRepository.TIMER_NAME).tag("method", method).tag("outcome", outcome).timer();
+    }
+}
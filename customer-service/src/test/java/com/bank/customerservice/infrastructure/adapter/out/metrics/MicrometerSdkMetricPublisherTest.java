@@ -0,0 +1,60 @@
+package com.bank.customerservice.infrastructure.adapter.out.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MicrometerSdkMetricPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerSdkMetricPublisher publisher = new MicrometerSdkMetricPublisher(meterRegistry);
+
+    @Test
+    void shouldRecordCallAttemptsRetriesAndConnectionPoolState() {
+        // ARRANGE
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.SERVICE_ID, "DynamoDB");
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, "GetItem");
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, true);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, Duration.ofMillis(120));
+        apiCall.reportMetric(CoreMetric.RETRY_COUNT, 1);
+        attempt(apiCall, Duration.ofMillis(30), "Throttling", Duration.ofMillis(15), 50, 7);
+        attempt(apiCall, Duration.ofMillis(20), null, Duration.ZERO, 12, 0);
+
+        // ACT
+        publisher.publish(apiCall.collect());
+
+        // ASSERT
+        assertThat(meterRegistry.get("aws.sdk.api.call").tag("operation", "GetItem").tag("outcome", "success")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(120);
+        assertThat(meterRegistry.get("aws.sdk.api.call.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aws.sdk.api.call.attempt").tag("error", "Throttling").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aws.sdk.api.call.attempt").tag("error", "none").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aws.sdk.http.concurrency.acquire").tag("client", "NettyNio")
+                .timer().max(TimeUnit.MILLISECONDS)).isEqualTo(15);
+        // The gauges show the pool as of the latest attempt.
+        assertThat(meterRegistry.get("aws.sdk.http.concurrency.leased").gauge().value()).isEqualTo(12);
+        assertThat(meterRegistry.get("aws.sdk.http.concurrency.pending").gauge().value()).isZero();
+    }
+
+    private static void attempt(MetricCollector apiCall, Duration serviceCall, String errorType,
+                                Duration acquire, int leased, int pending) {
+        MetricCollector attempt = apiCall.createChild("ApiCallAttempt");
+        attempt.reportMetric(CoreMetric.SERVICE_CALL_DURATION, serviceCall);
+        if (errorType != null) {
+            attempt.reportMetric(CoreMetric.ERROR_TYPE, errorType);
+        }
+        MetricCollector http = attempt.createChild("HttpClient");
+        http.reportMetric(HttpMetric.HTTP_CLIENT_NAME, "NettyNio");
+        http.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, acquire);
+        http.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+        http.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+    }
+}
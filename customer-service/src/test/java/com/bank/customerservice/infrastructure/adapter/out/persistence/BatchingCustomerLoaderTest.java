@@ -0,0 +1,121 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingCustomerLoaderTest {
+
+    private static final String TABLE = "customers";
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Customer> customerTable;
+
+    private BatchGetItemReader<Customer> batchReader;
+
+    @BeforeEach
+    void setUp() {
+        when(customerTable.tableName()).thenReturn(TABLE);
+        when(customerTable.tableSchema()).thenReturn(DynamoDbTableSchemas.CUSTOMER);
+        batchReader = new BatchGetItemReader<>(dynamoDbClient, customerTable, "customerId", Customer::getCustomerId, 3, Duration.ofMillis(1));
+    }
+
+    @Test
+    void shouldResolveLookupsInTheSameWindow_withOneBatchGetItem() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        BatchingCustomerLoader loader = new BatchingCustomerLoader(batchReader, Duration.ofMillis(50), 100);
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response(List.of(item("id-1"), item("id-2")), List.of())));
+
+        // ACT
+        CompletableFuture<Optional<Customer>> first = loader.load("id-1");
+        CompletableFuture<Optional<Customer>> second = loader.load("id-2");
+        CompletableFuture<Optional<Customer>> missing = loader.load("id-3");
+
+        // ASSERT
+        assertThat(first.get()).map(Customer::getCustomerId).contains("id-1");
+        assertThat(second.get()).map(Customer::getCustomerId).contains("id-2");
+        assertThat(missing.get()).isEmpty();
+
+        ArgumentCaptor<BatchGetItemRequest> request = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbClient, times(1)).batchGetItem(request.capture());
+        assertThat(request.getValue().requestItems().get(TABLE).keys()).hasSize(3);
+    }
+
+    @Test
+    void shouldSendBatchImmediately_whenItReachesMaxSize() throws ExecutionException, InterruptedException {
+        // ARRANGE: a window far longer than the test, so only the size limit can trigger the call.
+        BatchingCustomerLoader loader = new BatchingCustomerLoader(batchReader, Duration.ofMinutes(1), 2);
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response(List.of(item("id-1"), item("id-2")), List.of())));
+
+        // ACT
+        CompletableFuture<Optional<Customer>> first = loader.load("id-1");
+        CompletableFuture<Optional<Customer>> second = loader.load("id-2");
+
+        // ASSERT
+        assertThat(first.get()).isPresent();
+        assertThat(second.get()).isPresent();
+    }
+
+    @Test
+    void shouldRetryUnprocessedKeys() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response(List.of(item("id-1")), List.of(key("id-2")))))
+                .thenReturn(CompletableFuture.completedFuture(response(List.of(item("id-2")), List.of())));
+
+        // ACT
+        Map<String, Customer> found = batchReader.findAll(List.of("id-1", "id-2")).get();
+
+        // ASSERT
+        assertThat(found).containsOnlyKeys("id-1", "id-2");
+        verify(dynamoDbClient, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    private static BatchGetItemResponse response(List<Map<String, AttributeValue>> items, List<Map<String, AttributeValue>> unprocessed) {
+        BatchGetItemResponse.Builder builder = BatchGetItemResponse.builder().responses(Map.of(TABLE, items));
+        if (!unprocessed.isEmpty()) {
+            builder.unprocessedKeys(Map.of(TABLE, KeysAndAttributes.builder().keys(unprocessed).build()));
+        }
+        return builder.build();
+    }
+
+    private static Map<String, AttributeValue> key(String customerId) {
+        return Map.of("customerId", AttributeValue.builder().s(customerId).build());
+    }
+
+    private static Map<String, AttributeValue> item(String customerId) {
+        return Map.of(
+                "customerId", AttributeValue.builder().s(customerId).build(),
+                "firstName", AttributeValue.builder().s("John").build()
+        );
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.CustomerUpdate;
+import com.bank.customerservice.domain.event.CustomerRegisteredEvent;
+import com.bank.customerservice.domain.exception.CpfAlreadyRegisteredException;
+import com.bank.customerservice.domain.exception.CustomerNotFoundException;
+import com.bank.customerservice.domain.exception.CustomerVersionConflictException;
+import com.bank.customerservice.domain.exception.EmailAlreadyRegisteredException;
+import com.bank.customerservice.domain.model.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockingDynamoDbCustomerRepositoryTest {
+
+    @Mock
+    private DynamoDbClient dynamoDbClient;
+
+    @Mock
+    private DynamoDbEnhancedClient enhancedClient;
+
+    @Mock
+    private DynamoDbTable<Customer> customerTable;
+
+    @Mock
+    private DynamoDbTable<UniqueKeyItem> uniqueKeyTable;
+
+    @Mock
+    private DynamoDbAsyncTable<OutboxItem> outboxTable;
+
+    private BlockingDynamoDbCustomerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(customerTable.tableName()).thenReturn("customers");
+        lenient().when(customerTable.tableSchema()).thenReturn(DynamoDbTableSchemas.CUSTOMER);
+        lenient().when(uniqueKeyTable.tableName()).thenReturn("customer-unique-keys");
+        lenient().when(uniqueKeyTable.tableSchema()).thenReturn(DynamoDbTableSchemas.UNIQUE_KEY);
+        lenient().when(outboxTable.tableName()).thenReturn("customer-outbox");
+        lenient().when(outboxTable.tableSchema()).thenReturn(DynamoDbTableSchemas.OUTBOX);
+        CustomerOutbox outbox = new CustomerOutbox(null, outboxTable, new ObjectMapper().findAndRegisterModules(), 8);
+        repository = new BlockingDynamoDbCustomerRepository(dynamoDbClient, enhancedClient, customerTable, uniqueKeyTable, outbox, null, 2);
+    }
+
+    @Test
+    void create_shouldFailWithEmailAlreadyRegistered_whenTheEmailReservationIsCanceled() {
+        // ARRANGE
+        when(enhancedClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+                .thenThrow(TransactionCanceledException.builder()
+                        .cancellationReasons(
+                                CancellationReason.builder().code("None").build(),
+                                CancellationReason.builder().code("ConditionalCheckFailed").build())
+                        .build());
+
+        // ACT
+        CompletableFuture<Customer> result = repository.create(customer(), CustomerRegisteredEvent.of(customer()));
+
+        // ASSERT
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(EmailAlreadyRegisteredException.class);
+    }
+
+    @Test
+    void create_shouldFailWithCpfAlreadyRegistered_whenOnlyTheCpfReservationIsCanceled() {
+        // ARRANGE
+        when(enhancedClient.transactWriteItems(any(TransactWriteItemsEnhancedRequest.class)))
+                .thenThrow(TransactionCanceledException.builder()
+                        .cancellationReasons(
+                                CancellationReason.builder().code("None").build(),
+                                CancellationReason.builder().code("None").build(),
+                                CancellationReason.builder().code("ConditionalCheckFailed").build())
+                        .build());
+
+        // ACT
+        CompletableFuture<Customer> result = repository.create(customer(), CustomerRegisteredEvent.of(customer()));
+
+        // ASSERT
+        assertThatThrownBy(result::join).hasCauseInstanceOf(CpfAlreadyRegisteredException.class);
+    }
+
+    @Test
+    void update_shouldWriteOnlyTheChangedAttributes_guardedByTheExpectedVersion() {
+        // ARRANGE
+        Customer stored = customer();
+        stored.setFirstName("Johnny");
+        stored.setVersion(4L);
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(UpdateItemResponse.builder().attributes(DynamoDbTableSchemas.CUSTOMER.itemToMap(stored, true)).build());
+
+        // ACT
+        Customer updated = repository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(3L)).join();
+
+        // ASSERT
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient).updateItem(request.capture());
+        assertThat(request.getValue().updateExpression()).isEqualTo("SET #firstName = :firstName ADD #version :one");
+        assertThat(request.getValue().conditionExpression()).isEqualTo("attribute_exists(#customerId) AND #version = :expectedVersion0");
+        assertThat(request.getValue().expressionAttributeValues())
+                .containsEntry(":expectedVersion0", AttributeValue.builder().n("3").build())
+                .doesNotContainKey(":lastName");
+        assertThat(updated.getFirstName()).isEqualTo("Johnny");
+        assertThat(updated.getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void update_shouldAcceptAnyOfTheExpectedVersions_includingNoneForVersionZero() {
+        // ARRANGE
+        Customer stored = customer();
+        stored.setVersion(1L);
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(UpdateItemResponse.builder().attributes(DynamoDbTableSchemas.CUSTOMER.itemToMap(stored, true)).build());
+
+        // ACT
+        repository.update("id-1", new CustomerUpdate("Johnny", null), new LinkedHashSet<>(List.of(0L, 3L, 4L))).join();
+
+        // ASSERT
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDbClient).updateItem(request.capture());
+        assertThat(request.getValue().conditionExpression()).isEqualTo(
+                "attribute_exists(#customerId) AND (attribute_not_exists(#version) OR #version IN (:expectedVersion0, :expectedVersion1))");
+        assertThat(request.getValue().expressionAttributeValues())
+                .containsEntry(":expectedVersion0", AttributeValue.builder().n("3").build())
+                .containsEntry(":expectedVersion1", AttributeValue.builder().n("4").build());
+    }
+
+    @Test
+    void update_shouldTellAVersionConflictFromAMissingCustomer() {
+        // ARRANGE
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder()
+                        .item(Map.of("customerId", AttributeValue.builder().s("id-1").build()))
+                        .build())
+                .thenThrow(ConditionalCheckFailedException.builder().build());
+
+        // ACT
+        CompletableFuture<Customer> stale = repository.update("id-1", new CustomerUpdate("Johnny", null), Set.of(3L));
+        CompletableFuture<Customer> missing = repository.update("id-2", new CustomerUpdate("Johnny", null), Set.of(3L));
+
+        // ASSERT
+        assertThatThrownBy(stale::join).hasCauseInstanceOf(CustomerVersionConflictException.class);
+        assertThatThrownBy(missing::join).hasCauseInstanceOf(CustomerNotFoundException.class);
+    }
+
+    @Test
+    void findById_shouldCompleteOnTheCallingThread_withEmptyOptionalWhenMissing() {
+        // ARRANGE
+        when(customerTable.getItem(ArgumentMatchers.<Consumer<GetItemEnhancedRequest.Builder>>any())).thenReturn(null);
+
+        // ACT
+        CompletableFuture<Optional<Customer>> result = repository.findById("id-1");
+
+        // ASSERT
+        assertThat(result).isCompletedWithValue(Optional.empty());
+    }
+
+    @Test
+    void shouldReleaseItsPermit_whenTheCallFails() {
+        // ARRANGE
+        when(customerTable.getItem(ArgumentMatchers.<Consumer<GetItemEnhancedRequest.Builder>>any())).thenThrow(new IllegalStateException("boom"));
+
+        // ACT
+        for (int i = 0; i < 5; i++) {
+            assertThat(repository.findById("id-" + i)).isCompletedExceptionally();
+        }
+
+        // ASSERT
+        doReturn(customer()).when(customerTable).getItem(ArgumentMatchers.<Consumer<GetItemEnhancedRequest.Builder>>any());
+        assertThat(repository.findById("id-1").join()).contains(customer());
+    }
+
+    private static Customer customer() {
+        return Customer.builder()
+                .customerId("id-1")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .cpf("12345678909")
+                .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                .build();
+    }
+}
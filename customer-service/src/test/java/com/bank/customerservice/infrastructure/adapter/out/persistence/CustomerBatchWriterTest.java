@@ -0,0 +1,217 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.domain.model.CpfFixtures;
+import com.bank.customerservice.domain.model.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerBatchWriterTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Customer> customerTable;
+
+    @Mock
+    private DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable;
+
+    @Mock
+    private DynamoDbAsyncTable<OutboxItem> outboxTable;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(customerTable.tableName()).thenReturn("customers");
+        lenient().when(customerTable.tableSchema()).thenReturn(DynamoDbTableSchemas.CUSTOMER);
+        lenient().when(uniqueKeyTable.tableName()).thenReturn("customer-unique-keys");
+        lenient().when(uniqueKeyTable.tableSchema()).thenReturn(DynamoDbTableSchemas.UNIQUE_KEY);
+        lenient().when(outboxTable.tableName()).thenReturn("customer-outbox");
+        lenient().when(outboxTable.tableSchema()).thenReturn(DynamoDbTableSchemas.OUTBOX);
+    }
+
+    @Test
+    void shouldWrite25CustomersWithTheirEventsPerTransaction_eachPutGuardedByItsKey() {
+        // ARRANGE
+        List<Customer> customers = customers(70);
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TransactWriteItemsResponse.builder().build()));
+
+        // ACT
+        BulkCreateResult result = writer(4, 3).writeAll(customers).join();
+
+        // ASSERT
+        ArgumentCaptor<TransactWriteItemsRequest> requests = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDbClient, times(3)).transactWriteItems(requests.capture());
+        assertThat(requests.getAllValues()).extracting(r -> r.transactItems().size()).containsExactlyInAnyOrder(100, 100, 80);
+        List<TransactWriteItem> first = requests.getAllValues().get(0).transactItems();
+        assertThat(first.subList(0, 3)).allSatisfy(item -> assertThat(item.put().conditionExpression()).isEqualTo("attribute_not_exists(#key)"));
+        assertThat(first.get(0).put().tableName()).isEqualTo("customers");
+        assertThat(first.get(1).put().item().get("uniqueKey").s()).startsWith(UniqueKeyItem.EMAIL_PREFIX);
+        assertThat(first.get(2).put().item().get("uniqueKey").s()).startsWith(UniqueKeyItem.CPF_PREFIX);
+        assertThat(first.get(3).put().tableName()).isEqualTo("customer-outbox");
+        assertThat(first.get(3).put().conditionExpression()).isNull();
+        assertThat(first.get(3).put().item().get("customerId").s()).isEqualTo(first.get(0).put().item().get("customerId").s());
+        assertThat(first.get(3).put().item().get("payload").s()).contains("\"customerId\":\"id-");
+        assertThat(requests.getAllValues()).extracting(TransactWriteItemsRequest::clientRequestToken).doesNotHaveDuplicates();
+
+        assertThat(result.created()).hasSize(70);
+        assertThat(result.failed()).isEmpty();
+    }
+
+    @Test
+    void shouldReportCustomersWhoseEmailOrCpfWasTakenMeanwhile_andWriteTheRestOfTheChunk() {
+        // ARRANGE
+        List<Customer> customers = customers(4);
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(canceled(16, 1, 6)))
+                .thenReturn(CompletableFuture.completedFuture(TransactWriteItemsResponse.builder().build()));
+
+        // ACT
+        BulkCreateResult result = writer(4, 3).writeAll(customers).join();
+
+        // ASSERT
+        ArgumentCaptor<TransactWriteItemsRequest> requests = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDbClient, times(2)).transactWriteItems(requests.capture());
+        assertThat(requests.getAllValues().get(1).transactItems()).hasSize(8);
+        assertThat(result.emailTaken()).containsExactly("id-0");
+        assertThat(result.cpfTaken()).containsExactly("id-1");
+        assertThat(result.created()).containsExactlyInAnyOrder("id-2", "id-3");
+    }
+
+    @Test
+    void shouldRetryConflictingTransactions_andReportTheChunkFailedOnceTheAttemptsAreExhausted() {
+        // ARRANGE
+        List<Customer> customers = customers(2);
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(conflict(8)));
+
+        // ACT
+        BulkCreateResult result = writer(4, 3).writeAll(customers).join();
+
+        // ASSERT
+        verify(dynamoDbClient, times(3)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertThat(result.created()).isEmpty();
+        assertThat(result.failed()).containsOnlyKeys("id-0", "id-1");
+        assertThat(result.failed().get("id-0")).contains("after 3 attempts").contains("TransactionConflict");
+    }
+
+    @Test
+    void shouldSucceedWhenARetriedTransactionGoesThrough() {
+        // ARRANGE
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(conflict(4)))
+                .thenReturn(CompletableFuture.completedFuture(TransactWriteItemsResponse.builder().build()));
+
+        // ACT
+        BulkCreateResult result = writer(4, 3).writeAll(customers(1)).join();
+
+        // ASSERT
+        verify(dynamoDbClient, times(2)).transactWriteItems(any(TransactWriteItemsRequest.class));
+        assertThat(result.created()).containsExactly("id-0");
+    }
+
+    @Test
+    void shouldReportTheChunkFailed_whenTheCallFailsOtherwise() {
+        // ARRANGE
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(DynamoDbException.builder().message("unreachable").build()));
+
+        // ACT
+        BulkCreateResult result = writer(4, 3).writeAll(customers(2)).join();
+
+        // ASSERT
+        assertThat(result.failed()).containsOnlyKeys("id-0", "id-1").containsValue("unreachable");
+    }
+
+    @Test
+    void shouldKeepAtMostMaxConcurrencyTransactionsInFlight() {
+        // ARRANGE
+        List<CompletableFuture<TransactWriteItemsResponse>> inFlight = new ArrayList<>();
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class))).thenAnswer(invocation -> {
+            CompletableFuture<TransactWriteItemsResponse> response = new CompletableFuture<>();
+            inFlight.add(response);
+            return response;
+        });
+
+        // ACT
+        CompletableFuture<BulkCreateResult> result = writer(2, 3).writeAll(customers(5 * CustomerBatchWriter.CUSTOMERS_PER_TRANSACTION));
+
+        // ASSERT
+        for (int completed = 0; completed < 5; completed++) {
+            assertThat(inFlight.stream().filter(f -> !f.isDone()).count()).isLessThanOrEqualTo(2);
+            inFlight.stream().filter(f -> !f.isDone()).findFirst().orElseThrow()
+                    .complete(TransactWriteItemsResponse.builder().build());
+        }
+        assertThat(inFlight).hasSize(5);
+        assertThat(result.join().created()).hasSize(5 * CustomerBatchWriter.CUSTOMERS_PER_TRANSACTION);
+    }
+
+    private CustomerBatchWriter writer(int maxConcurrency, int maxAttempts) {
+        CustomerOutbox outbox = new CustomerOutbox(null, outboxTable, new ObjectMapper().findAndRegisterModules(), 8);
+        return new CustomerBatchWriter(dynamoDbClient, customerTable, uniqueKeyTable, outbox, maxConcurrency, maxAttempts,
+                Duration.ofMillis(1));
+    }
+
+    // A cancellation with a failed condition on the given item positions.
+    private static TransactionCanceledException canceled(int items, int... failedConditions) {
+        List<CancellationReason> reasons = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            reasons.add(CancellationReason.builder().code("None").build());
+        }
+        for (int index : failedConditions) {
+            reasons.set(index, CancellationReason.builder().code("ConditionalCheckFailed").build());
+        }
+        return TransactionCanceledException.builder().cancellationReasons(reasons).build();
+    }
+
+    private static TransactionCanceledException conflict(int items) {
+        List<CancellationReason> reasons = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            reasons.add(CancellationReason.builder().code(i == 0 ? "TransactionConflict" : "None").build());
+        }
+        return TransactionCanceledException.builder().cancellationReasons(reasons).build();
+    }
+
+    static List<Customer> customers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> Customer.builder()
+                        .customerId("id-" + i)
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe." + i + "@example.com")
+                        .cpf(CpfFixtures.cpf(100_000_000L + i))
+                        .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                        .version(1L)
+                        .build())
+                .toList();
+    }
+}
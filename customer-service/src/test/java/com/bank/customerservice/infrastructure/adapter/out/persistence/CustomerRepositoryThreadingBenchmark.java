@@ -0,0 +1,201 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.application.service.FindCustomerService;
+import com.bank.customerservice.infrastructure.config.BulkWriteProperties;
+import com.bank.customerservice.infrastructure.config.ReadBatchingProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the two ways a lookup by ID can reach DynamoDB: the async adapter on the Netty client,
+ * whose continuations run on SDK threads, against the blocking adapter on the Apache client, called
+ * from one virtual thread per request as Tomcat does with {@code spring.threads.virtual.enabled}.
+ * Both go through FindCustomerService and talk to a local stub of the DynamoDB API that answers
+ * every GetItem after {@code latencyMillis}, so the numbers measure our client-side overhead and
+ * how well each model overlaps waiting, not DynamoDB itself.
+ * <p>
+ * Virtual threads need Java 21; on older runtimes the blocking mode falls back to a cached pool of
+ * platform threads, i.e. classic thread-per-request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerRepositoryThreadingBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 256;
+
+    // The default pool size of both HTTP clients, set explicitly so the comparison stays fair.
+    private static final int MAX_CONNECTIONS = 50;
+
+    private static final byte[] GET_ITEM_RESPONSE = """
+            {"Item":{"customerId":{"S":"id"},"firstName":{"S":"John"},"lastName":{"S":"Doe"},\
+            "email":{"S":"john.doe@example.com"},"cpf":{"S":"52998224725"},"createdAt":{"S":"2024-05-01T10:15:30Z"}}}\
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"async", "blocking"})
+    public String mode;
+
+    @Param({"0", "5"})
+    public int latencyMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private HttpServer dynamoDbStub;
+    private ExecutorService stubExecutor;
+    private ExecutorService requestExecutor;
+    private AutoCloseable client;
+    private FindCustomerService findService;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Without TCP_NODELAY the stub's separate header and body writes meet the client's delayed ACK,
+        // adding ~40ms to every call. Read once, when the first HttpServer is created in this JVM.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stubExecutor = Executors.newCachedThreadPool();
+        dynamoDbStub = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        dynamoDbStub.setExecutor(stubExecutor);
+        dynamoDbStub.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody(); OutputStream response = exchange.getResponseBody()) {
+                body.readAllBytes();
+                sleep(latencyMillis);
+                exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.0");
+                exchange.sendResponseHeaders(200, GET_ITEM_RESPONSE.length);
+                response.write(GET_ITEM_RESPONSE);
+            }
+        });
+        dynamoDbStub.start();
+        URI endpoint = URI.create("http://localhost:" + dynamoDbStub.getAddress().getPort());
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test"));
+
+        CustomerRepository repository;
+        if ("async".equals(mode)) {
+            DynamoDbAsyncClient asyncClient = DynamoDbAsyncClient.builder()
+                    .httpClient(NettyNioAsyncHttpClient.builder().maxConcurrency(MAX_CONNECTIONS).build())
+                    .region(Region.SA_EAST_1)
+                    .credentialsProvider(credentials)
+                    .endpointOverride(endpoint)
+                    .build();
+            DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(asyncClient).build();
+            repository = new DynamoDbCustomerRepository(asyncClient, enhancedClient,
+                    enhancedClient.table("customers", DynamoDbTableSchemas.CUSTOMER),
+                    enhancedClient.table("customer-unique-keys", DynamoDbTableSchemas.UNIQUE_KEY),
+                    null, // Lookups only: the outbox is never written.
+                    new ReadBatchingProperties(), new BulkWriteProperties());
+            client = asyncClient;
+        } else {
+            DynamoDbClient syncClient = DynamoDbClient.builder()
+                    .httpClient(ApacheHttpClient.builder().maxConnections(MAX_CONNECTIONS).build())
+                    .region(Region.SA_EAST_1)
+                    .credentialsProvider(credentials)
+                    .endpointOverride(endpoint)
+                    .build();
+            DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(syncClient).build();
+            repository = new BlockingDynamoDbCustomerRepository(syncClient, enhancedClient,
+                    enhancedClient.table("customers", DynamoDbTableSchemas.CUSTOMER),
+                    enhancedClient.table("customer-unique-keys", DynamoDbTableSchemas.UNIQUE_KEY),
+                    null, null, MAX_CONNECTIONS);
+            requestExecutor = newThreadPerTaskExecutor();
+            client = syncClient;
+        }
+        findService = new FindCustomerService(repository);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        client.close();
+        if (requestExecutor != null) {
+            requestExecutor.shutdownNow();
+        }
+        dynamoDbStub.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void findCustomerById() throws Exception {
+        // Distinct IDs, so the async adapter's single-flight does not merge the lookups.
+        if (requestExecutor == null) {
+            CompletableFuture<?>[] lookups = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                lookups[i] = findService.findCustomerById("id-" + sequence.incrementAndGet());
+            }
+            CompletableFuture.allOf(lookups).join();
+        } else {
+            Future<?>[] lookups = new Future<?>[CONCURRENT_REQUESTS];
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String customerId = "id-" + sequence.incrementAndGet();
+                lookups[i] = requestExecutor.submit(() -> findService.findCustomerById(customerId).join());
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get();
+            }
+        }
+    }
+
+    private static ExecutorService newThreadPerTaskExecutor() {
+        try {
+            // Looked up reflectively so that this class still compiles for Java 17.
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static void sleep(int millis) throws IOException {
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerRepositoryThreadingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.CustomerRepository;
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerStoreLoaderTest {
+
+    @Mock
+    private CustomerRepository store;
+
+    @Mock
+    private CustomerStoreLoader.Target emailFilter;
+
+    @Mock
+    private CustomerStoreLoader.Target searchIndex;
+
+    @Test
+    void shouldFeedEveryTargetFromOneScan_andTellThemOnceItIsComplete() {
+        // ARRANGE
+        Customer john = Customer.builder().customerId("id-1").email("john@example.com").build();
+        Customer jane = Customer.builder().customerId("id-2").email("jane@example.com").build();
+        when(store.streamAll(8)).thenReturn(Flux.just(john, jane));
+        CustomerStoreLoader loader = new CustomerStoreLoader(store, List.of(emailFilter, searchIndex), 8);
+
+        // ACT
+        loader.load();
+
+        // ASSERT
+        verify(store, times(1)).streamAll(8);
+        for (CustomerStoreLoader.Target target : List.of(emailFilter, searchIndex)) {
+            InOrder order = inOrder(target);
+            order.verify(target).load(john);
+            order.verify(target).load(jane);
+            order.verify(target).loaded();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.application.port.out.BulkCreateResult;
+import com.bank.customerservice.application.port.out.CustomerPage;
+import com.bank.customerservice.domain.exception.InvalidRequestException;
+import com.bank.customerservice.domain.model.Customer;
+import com.bank.customerservice.infrastructure.config.BulkWriteProperties;
+import com.bank.customerservice.infrastructure.config.ReadBatchingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PagePublisher;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbCustomerRepositoryTest {
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbClient;
+
+    @Mock
+    private DynamoDbEnhancedAsyncClient enhancedClient;
+
+    @Mock
+    private DynamoDbAsyncTable<Customer> customerTable;
+
+    @Mock
+    private DynamoDbAsyncTable<UniqueKeyItem> uniqueKeyTable;
+
+    @Mock
+    private DynamoDbAsyncTable<OutboxItem> outboxTable;
+
+    private DynamoDbCustomerRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(customerTable.tableName()).thenReturn("customers");
+        lenient().when(customerTable.tableSchema()).thenReturn(DynamoDbTableSchemas.CUSTOMER);
+        lenient().when(uniqueKeyTable.tableName()).thenReturn("customer-unique-keys");
+        lenient().when(uniqueKeyTable.tableSchema()).thenReturn(DynamoDbTableSchemas.UNIQUE_KEY);
+        lenient().when(outboxTable.tableName()).thenReturn("customer-outbox");
+        lenient().when(outboxTable.tableSchema()).thenReturn(DynamoDbTableSchemas.OUTBOX);
+        CustomerOutbox outbox = new CustomerOutbox(null, outboxTable, new ObjectMapper().findAndRegisterModules(), 8);
+        repository = new DynamoDbCustomerRepository(dynamoDbClient, enhancedClient, customerTable, uniqueKeyTable, outbox,
+                new ReadBatchingProperties(), new BulkWriteProperties());
+    }
+
+    @Test
+    void createAll_shouldSkipCustomersWhoseEmailOrCpfIsAlreadyReserved_andWriteOnlyTheOthers() {
+        // ARRANGE
+        List<Customer> customers = CustomerBatchWriterTest.customers(3);
+        Customer emailTaken = customers.get(0);
+        Customer cpfTaken = customers.get(1);
+        when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                        .responses(Map.of("customer-unique-keys", List.of(
+                                DynamoDbTableSchemas.UNIQUE_KEY.itemToMap(UniqueKeyItem.forEmail(emailTaken.getEmail(), "other-1"), true),
+                                DynamoDbTableSchemas.UNIQUE_KEY.itemToMap(UniqueKeyItem.forCpf(cpfTaken.getCpf(), "other-2"), true))))
+                        .build()));
+        when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(TransactWriteItemsResponse.builder().build()));
+
+        // ACT
+        BulkCreateResult result = repository.createAll(customers).join();
+
+        // ASSERT
+        ArgumentCaptor<BatchGetItemRequest> lookup = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(dynamoDbClient).batchGetItem(lookup.capture());
+        assertThat(lookup.getValue().requestItems().get("customer-unique-keys").keys()).hasSize(6);
+
+        ArgumentCaptor<TransactWriteItemsRequest> write = ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+        verify(dynamoDbClient).transactWriteItems(write.capture());
+        assertThat(write.getValue().transactItems()).hasSize(4);
+        assertThat(write.getValue().transactItems().get(0).put().item().get("customerId").s()).isEqualTo("id-2");
+
+        assertThat(result.emailTaken()).containsExactly("id-0");
+        assertThat(result.cpfTaken()).containsExactly("id-1");
+        assertThat(result.created()).containsExactly("id-2");
+        assertThat(result.failed()).isEmpty();
+    }
+
+    @Test
+    void streamAll_shouldScanEverySegmentInParallel_andMergeTheirItems() {
+        // ARRANGE
+        List<ScanEnhancedRequest> scans = new ArrayList<>();
+        stubScan(request -> {
+            scans.add(request);
+            return Flux.just(
+                    Page.builder(Customer.class)
+                            .items(List.of(customer(request.segment() + "-a"), customer(request.segment() + "-b")))
+                            .build(),
+                    Page.builder(Customer.class).items(List.of(customer(request.segment() + "-c"))).build());
+        });
+
+        // ACT
+        List<Customer> customers = Flux.from(repository.streamAll(3)).collectList().block();
+
+        // ASSERT
+        assertThat(scans).extracting(ScanEnhancedRequest::segment).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(scans).extracting(ScanEnhancedRequest::totalSegments).containsOnly(3);
+        assertThat(customers).extracting(Customer::getCustomerId).containsExactlyInAnyOrder(
+                "0-a", "0-b", "0-c", "1-a", "1-b", "1-c", "2-a", "2-b", "2-c");
+    }
+
+    @Test
+    void streamAll_shouldOnlyReadPagesAsTheyAreConsumed() {
+        // ARRANGE
+        // Every segment is endless; without backpressure the subscription below would never stop reading.
+        AtomicInteger pagesRead = new AtomicInteger();
+        stubScan(request -> Flux.range(0, Integer.MAX_VALUE)
+                .map(page -> Page.builder(Customer.class)
+                        .items(IntStream.range(0, 100)
+                                .mapToObj(i -> customer(request.segment() + "-" + page + "-" + i))
+                                .toList())
+                        .build())
+                .doOnNext(page -> pagesRead.incrementAndGet()));
+        List<Customer> received = new ArrayList<>();
+
+        // ACT
+        Flux.from(repository.streamAll(2)).subscribe(new BaseSubscriber<Customer>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(10);
+            }
+
+            @Override
+            protected void hookOnNext(Customer customer) {
+                received.add(customer);
+            }
+        });
+
+        // ASSERT
+        assertThat(received).hasSize(10);
+        // Each segment runs at most a few pages ahead of the merge's prefetch, never the whole table.
+        assertThat(pagesRead.get()).isPositive().isLessThanOrEqualTo(2 * 4);
+    }
+
+    @Test
+    void findPage_shouldHandOutTheLastEvaluatedKeyAsCursor_andResumeTheScanFromIt() {
+        // ARRANGE
+        List<ScanEnhancedRequest> scans = new ArrayList<>();
+        stubScan(request -> {
+            scans.add(request);
+            return request.exclusiveStartKey() == null
+                    ? Flux.just(Page.builder(Customer.class)
+                            .items(List.of(customer("id-1"), customer("id-2")))
+                            .lastEvaluatedKey(Map.of("customerId", AttributeValue.fromS("id-2")))
+                            .build())
+                    : Flux.just(Page.builder(Customer.class).items(List.of(customer("id-3"))).build());
+        });
+        Set<String> attributes = new LinkedHashSet<>(List.of("customerId", "email"));
+
+        // ACT
+        CustomerPage first = repository.findPage(2, null, attributes).join();
+        CustomerPage last = repository.findPage(2, first.nextCursor(), attributes).join();
+
+        // ASSERT
+        assertThat(first.customers()).extracting(Customer::getCustomerId).containsExactly("id-1", "id-2");
+        assertThat(first.nextCursor()).isNotBlank().doesNotContain("=", "+", "/");
+        assertThat(last.customers()).extracting(Customer::getCustomerId).containsExactly("id-3");
+        assertThat(last.nextCursor()).isNull();
+        assertThat(scans.get(0).limit()).isEqualTo(2);
+        assertThat(scans.get(0).attributesToProject()).containsExactly("customerId", "email");
+        assertThat(scans.get(1).exclusiveStartKey()).isEqualTo(Map.of("customerId", AttributeValue.fromS("id-2")));
+    }
+
+    @Test
+    void findPage_shouldRejectAMalformedCursor_withoutScanning() {
+        // ACT & ASSERT
+        assertThat(repository.findPage(2, "not base64!", Set.of("customerId")))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(InvalidRequestException.class);
+        assertThat(repository.findPage(2, "", Set.of("customerId")))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(InvalidRequestException.class);
+        verify(customerTable, never()).scan(ArgumentMatchers.<Consumer<ScanEnhancedRequest.Builder>>any());
+    }
+
+    private void stubScan(Function<ScanEnhancedRequest, Flux<Page<Customer>>> pages) {
+        when(customerTable.scan(ArgumentMatchers.<Consumer<ScanEnhancedRequest.Builder>>any())).thenAnswer(invocation -> {
+            ScanEnhancedRequest.Builder builder = ScanEnhancedRequest.builder();
+            invocation.<Consumer<ScanEnhancedRequest.Builder>>getArgument(0).accept(builder);
+            return PagePublisher.create(SdkPublisher.adapt(pages.apply(builder.build())));
+        });
+    }
+
+    private static Customer customer(String customerId) {
+        return Customer.builder().customerId(customerId).build();
+    }
+}
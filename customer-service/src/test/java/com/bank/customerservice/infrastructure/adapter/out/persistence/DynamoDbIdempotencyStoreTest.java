@@ -0,0 +1,87 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbIdempotencyStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private DynamoDbAsyncTable<IdempotencyItem> table;
+
+    private DynamoDbIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DynamoDbIdempotencyStore(table, new ObjectMapper().findAndRegisterModules(), Duration.ofHours(24),
+                Duration.ofMinutes(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void release_shouldOnlyDeleteTheClaimThisRequestMade() {
+        // ARRANGE
+        when(table.putItem(ArgumentMatchers.<PutItemEnhancedRequest<IdempotencyItem>>any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(table.deleteItem(any(DeleteItemEnhancedRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+        store.claim("key-1", "hash-1").join();
+
+        // ACT
+        store.release("key-1", "hash-1").join();
+
+        // ASSERT
+        ArgumentCaptor<DeleteItemEnhancedRequest> delete = ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+        verify(table).deleteItem(delete.capture());
+        assertThat(delete.getValue().key().partitionKeyValue().s()).isEqualTo("key-1");
+        assertThat(delete.getValue().conditionExpression().expression())
+                .isEqualTo("#status = :inProgress AND requestHash = :hash AND expiresAt = :claimedExpiry");
+        assertThat(delete.getValue().conditionExpression().expressionValues())
+                .containsEntry(":inProgress", AttributeValue.fromS("IN_PROGRESS"))
+                .containsEntry(":hash", AttributeValue.fromS("hash-1"))
+                .containsEntry(":claimedExpiry", AttributeValue.fromN(Long.toString(NOW.plusSeconds(60).getEpochSecond())));
+    }
+
+    @Test
+    void release_shouldLeaveTheKeyAlone_whenTheClaimWasTakenOverMeanwhile() {
+        // ARRANGE
+        when(table.putItem(ArgumentMatchers.<PutItemEnhancedRequest<IdempotencyItem>>any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(table.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder().build()));
+        store.claim("key-1", "hash-1").join();
+
+        // ACT & ASSERT
+        assertThat(store.release("key-1", "hash-1")).succeedsWithin(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void release_shouldNotTouchTheTable_forAKeyThisInstanceDoesNotHold() {
+        // ACT
+        store.release("key-1", "hash-1").join();
+
+        // ASSERT
+        verify(table, never()).deleteItem(any(DeleteItemEnhancedRequest.class));
+    }
+}
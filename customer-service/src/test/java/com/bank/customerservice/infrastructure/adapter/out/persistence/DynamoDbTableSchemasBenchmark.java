@@ -0,0 +1,108 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective bean schema with the static {@link DynamoDbTableSchemas#CUSTOMER}:
+ * per-item marshal/unmarshal cost, and the cost of building the schema, which is paid once per
+ * JVM at startup. {@code coldBuild} runs in a fresh fork each time so it includes
+ * class loading and the first lambda spin-up, i.e. what an autoscaled instance actually pays.
+ * <p>
+ * Not part of the unit test run; use the {@code benchmark} Maven profile or {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamoDbTableSchemasBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SchemaType {
+
+        @Param({"bean", "static"})
+        public String schemaType;
+
+        TableSchema<Customer> build() {
+            return "bean".equals(schemaType) ? TableSchema.fromBean(Customer.class) : DynamoDbTableSchemas.customerSchema();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Items {
+
+        TableSchema<Customer> schema;
+        Customer customer;
+        Map<String, AttributeValue> item;
+
+        @Setup
+        public void setUp(SchemaType type) {
+            schema = type.build();
+            customer = Customer.builder()
+                    .customerId("0b7e5a4c-3d7f-4e3a-9c55-2f1de4f3b8a1")
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email("john.doe@example.com")
+                    .cpf("12345678909")
+                    .createdAt(Instant.parse("2024-05-01T10:15:30Z"))
+                    .build();
+            item = schema.itemToMap(customer, true);
+        }
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> marshal(Items items) {
+        return items.schema.itemToMap(items.customer, true);
+    }
+
+    @Benchmark
+    public Customer unmarshal(Items items) {
+        return items.schema.mapToItem(items.item);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TableSchema<Customer> build(SchemaType type) {
+        return type.build();
+    }
+
+    /**
+     * Only touches {@link SchemaType}, so nothing has built a schema in this fork before the
+     * measured call.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public TableSchema<Customer> coldBuild(SchemaType type) {
+        return type.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DynamoDbTableSchemasBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
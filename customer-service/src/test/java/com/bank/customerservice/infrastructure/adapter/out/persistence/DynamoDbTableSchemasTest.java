@@ -0,0 +1,103 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DynamoDbTableSchemasTest {
+
+    @Test
+    void customerSchema_shouldBeEquivalentToBeanSchema() {
+        // ARRANGE
+        TableSchema<Customer> beanSchema = TableSchema.fromBean(Customer.class);
+        Customer customer = Customer.builder()
+                .customerId("id-1")
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .cpf("12345678909")
+                .createdAt(Instant.parse("2024-05-01T10:15:30.123456789Z"))
+                .build();
+
+        // ACT & ASSERT
+        assertEquivalent(DynamoDbTableSchemas.CUSTOMER, beanSchema, customer);
+        assertEquivalent(DynamoDbTableSchemas.CUSTOMER, beanSchema, Customer.builder().customerId("id-2").build());
+        assertThat(DynamoDbTableSchemas.CUSTOMER.tableMetadata().indexPartitionKey(Customer.EMAIL_INDEX))
+                .isEqualTo(beanSchema.tableMetadata().indexPartitionKey(Customer.EMAIL_INDEX))
+                .isEqualTo("email");
+        assertThat(DynamoDbTableSchemas.CUSTOMER.tableMetadata().indexPartitionKey(Customer.CPF_INDEX))
+                .isEqualTo(beanSchema.tableMetadata().indexPartitionKey(Customer.CPF_INDEX))
+                .isEqualTo("cpf");
+    }
+
+    @Test
+    void uniqueKeySchema_shouldBeEquivalentToBeanSchema() {
+        // ARRANGE
+        TableSchema<UniqueKeyItem> beanSchema = TableSchema.fromBean(UniqueKeyItem.class);
+
+        // ACT & ASSERT
+        assertEquivalent(DynamoDbTableSchemas.UNIQUE_KEY, beanSchema,
+                UniqueKeyItem.forEmail("john.doe@example.com", "id-1"));
+        assertEquivalent(DynamoDbTableSchemas.UNIQUE_KEY, beanSchema, UniqueKeyItem.forCpf("12345678909", "id-1"));
+    }
+
+    @Test
+    void outboxSchema_shouldBeEquivalentToBeanSchema() {
+        // ARRANGE
+        TableSchema<OutboxItem> beanSchema = TableSchema.fromBean(OutboxItem.class);
+        Instant occurredAt = Instant.parse("2024-05-01T10:15:30.123Z");
+        OutboxItem item = OutboxItem.builder()
+                .shard(OutboxItem.shardOf("id-1", 8))
+                .sequence(OutboxItem.sequenceOf(occurredAt, "event-1"))
+                .eventId("event-1")
+                .eventType("CustomerRegistered")
+                .customerId("id-1")
+                .payload("{\"customerId\":\"id-1\"}")
+                .occurredAt(occurredAt)
+                .build();
+
+        // ACT & ASSERT
+        assertEquivalent(DynamoDbTableSchemas.OUTBOX, beanSchema, item);
+        assertThat(DynamoDbTableSchemas.OUTBOX.tableMetadata().primarySortKey()).contains("sequence");
+    }
+
+    @Test
+    void idempotencySchema_shouldBeEquivalentToBeanSchema() {
+        // ARRANGE
+        TableSchema<IdempotencyItem> beanSchema = TableSchema.fromBean(IdempotencyItem.class);
+        IdempotencyItem item = IdempotencyItem.builder()
+                .idempotencyKey("key-1")
+                .requestHash("hash")
+                .status(IdempotencyItem.COMPLETED)
+                .customer("{\"customerId\":\"id-1\"}")
+                .expiresAt(1_714_558_530L)
+                .build();
+
+        // ACT & ASSERT
+        assertEquivalent(DynamoDbTableSchemas.IDEMPOTENCY, beanSchema, item);
+    }
+
+    private static <T> void assertEquivalent(TableSchema<T> staticSchema, TableSchema<T> beanSchema, T item) {
+        Map<String, AttributeValue> staticMap = staticSchema.itemToMap(item, false);
+        Map<String, AttributeValue> beanMap = beanSchema.itemToMap(item, false);
+        assertThat(staticMap).isEqualTo(beanMap);
+        assertThat(staticSchema.itemToMap(item, true)).isEqualTo(beanSchema.itemToMap(item, true));
+        assertThat(staticSchema.mapToItem(beanMap)).isEqualTo(item);
+        assertThat(beanSchema.mapToItem(staticMap)).isEqualTo(item);
+
+        assertThat(staticSchema.attributeNames()).containsExactlyInAnyOrderElementsOf(beanSchema.attributeNames());
+        TableMetadata staticMetadata = staticSchema.tableMetadata();
+        TableMetadata beanMetadata = beanSchema.tableMetadata();
+        assertThat(staticMetadata.primaryPartitionKey()).isEqualTo(beanMetadata.primaryPartitionKey());
+        assertThat(staticMetadata.primarySortKey()).isEqualTo(beanMetadata.primarySortKey());
+        assertThat(staticMetadata.indices()).hasSameSizeAs(beanMetadata.indices());
+        assertThat(staticMetadata.keyAttributes()).hasSameSizeAs(beanMetadata.keyAttributes());
+    }
+}
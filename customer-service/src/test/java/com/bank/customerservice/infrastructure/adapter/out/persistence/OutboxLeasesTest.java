@@ -0,0 +1,143 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxLeasesTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:15:30Z");
+
+    @Mock
+    private DynamoDbAsyncClient dynamoDbClient;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private OutboxLeases leases;
+
+    @BeforeEach
+    void setUp() {
+        leases = new OutboxLeases(dynamoDbClient, "customer-outbox", 2, "owner-a", Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void shouldTakeAFreeLease_andOnlyRenewItOnceHalfOfItIsLeft() {
+        // ARRANGE
+        when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+
+        // ACT
+        boolean first = leases.tryAcquire(0);
+        clock.advance(Duration.ofSeconds(10));
+        boolean stillHeld = leases.tryAcquire(0);
+        clock.advance(Duration.ofSeconds(10));
+        boolean renewed = leases.tryAcquire(0);
+
+        // ASSERT
+        assertThat(first).isTrue();
+        assertThat(stillHeld).isTrue();
+        assertThat(renewed).isTrue();
+        ArgumentCaptor<PutItemRequest> puts = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDbClient, times(2)).putItem(puts.capture());
+        PutItemRequest put = puts.getAllValues().get(1);
+        assertThat(put.item()).containsEntry("shard", AttributeValue.builder().s("lease").build())
+                .containsEntry("sequence", AttributeValue.builder().s("0").build())
+                .containsEntry("owner", AttributeValue.builder().s("owner-a").build())
+                .containsEntry("expiresAt", AttributeValue.builder().n(Long.toString(NOW.plusSeconds(50).toEpochMilli())).build());
+        assertThat(put.conditionExpression()).isEqualTo("attribute_not_exists(#shard) OR #owner = :owner OR #expiresAt < :now");
+    }
+
+    @Test
+    void shouldLeaveALeaseHeldByAnotherInstanceAlone_untilItExpires() {
+        // ARRANGE
+        long otherExpiry = NOW.plusSeconds(20).toEpochMilli();
+        when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(ConditionalCheckFailedException.builder()
+                        .item(Map.of("owner", AttributeValue.builder().s("owner-b").build(),
+                                "expiresAt", AttributeValue.builder().n(Long.toString(otherExpiry)).build()))
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+
+        // ACT
+        boolean taken = leases.tryAcquire(1);
+        clock.advance(Duration.ofSeconds(19));
+        boolean beforeExpiry = leases.tryAcquire(1);
+        clock.advance(Duration.ofSeconds(2));
+        boolean afterExpiry = leases.tryAcquire(1);
+
+        // ASSERT
+        assertThat(taken).isFalse();
+        assertThat(beforeExpiry).isFalse();
+        assertThat(afterExpiry).isTrue();
+        verify(dynamoDbClient, times(2)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void releaseAll_shouldDeleteOnlyTheLeasesThisInstanceHolds() {
+        // ARRANGE
+        when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(CompletableFuture.completedFuture(PutItemResponse.builder().build()));
+        when(dynamoDbClient.deleteItem(any(DeleteItemRequest.class))).thenReturn(CompletableFuture.completedFuture(DeleteItemResponse.builder().build()));
+        leases.tryAcquire(1);
+
+        // ACT
+        leases.releaseAll();
+
+        // ASSERT
+        ArgumentCaptor<DeleteItemRequest> delete = ArgumentCaptor.forClass(DeleteItemRequest.class);
+        verify(dynamoDbClient).deleteItem(delete.capture());
+        assertThat(delete.getValue().key()).containsEntry("sequence", AttributeValue.builder().s("1").build());
+        assertThat(delete.getValue().conditionExpression()).isEqualTo("#owner = :owner");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bank.customerservice.infrastructure.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void shouldShareOneCall_betweenConcurrentCallersOfTheSameKey() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // ACT
+        CompletableFuture<String> first = singleFlight.execute("id-1", key -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.execute("id-1", key -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("unexpected");
+        });
+        pending.complete("customer");
+
+        // ASSERT
+        assertThat(first.get()).isEqualTo("customer");
+        assertThat(second.get()).isEqualTo("customer");
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateFailureToAllCallers_andStartFreshCallAfterwards() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("id-1", key -> pending);
+        CompletableFuture<String> second = singleFlight.execute("id-1", key -> CompletableFuture.completedFuture("unexpected"));
+
+        // ACT
+        pending.completeExceptionally(new IllegalStateException("boom"));
+
+        // ASSERT
+        assertThatThrownBy(first::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::get).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("id-1", key -> CompletableFuture.completedFuture("retried")).get())
+                .isEqualTo("retried");
+    }
+
+    @Test
+    void shouldNotLetOneCallerCancelTheSharedCall() throws ExecutionException, InterruptedException {
+        // ARRANGE
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("id-1", key -> pending);
+        CompletableFuture<String> second = singleFlight.execute("id-1", key -> pending);
+
+        // ACT
+        first.cancel(true);
+        pending.complete("customer");
+
+        // ASSERT
+        assertThat(second.get()).isEqualTo("customer");
+    }
+}
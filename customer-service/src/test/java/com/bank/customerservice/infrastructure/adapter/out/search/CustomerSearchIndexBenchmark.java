@@ -0,0 +1,111 @@
+package com.bank.customerservice.infrastructure.adapter.out.search;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a million customers with Brazilian-style names drawn from a few thousand first
+ * and last names, so common words match tens of thousands of customers, as in a real back office.
+ * The index's size estimate is covered by {@link InMemoryCustomerSearchIndexTest}.
+ * <p>
+ * Not part of the unit test run; use the {@code benchmark} Maven profile or {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CustomerSearchIndexBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @State(Scope.Benchmark)
+    public static class Index {
+
+        @Param({"1000000"})
+        public int customers;
+
+        InMemoryCustomerSearchIndex index;
+
+        @Setup
+        public void setUp() {
+            index = new InMemoryCustomerSearchIndex(customers);
+            Random random = new Random(42);
+            String[] firstNames = words(random, 2_000, "maria", "joao", "ana");
+            String[] lastNames = words(random, 8_000, "silva", "santos", "souza");
+            for (int i = 0; i < customers; i++) {
+                // Skewed, like real names: the first few words are by far the most common.
+                String firstName = firstNames[skewed(random, firstNames.length)];
+                String lastName = lastNames[skewed(random, lastNames.length)] + " " + lastNames[skewed(random, lastNames.length)];
+                index.add(Customer.builder()
+                        .customerId(new UUID(random.nextLong(), random.nextLong()).toString())
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .email(firstName + "." + lastName.substring(0, lastName.indexOf(' ')) + random.nextInt(100) + "@example.com")
+                        .build());
+            }
+        }
+
+        private static String[] words(Random random, int count, String... common) {
+            String[] words = new String[count];
+            System.arraycopy(common, 0, words, 0, common.length);
+            for (int i = common.length; i < count; i++) {
+                StringBuilder word = new StringBuilder();
+                for (int length = 4 + random.nextInt(6); word.length() < length; ) {
+                    word.append((char) ('a' + random.nextInt(26)));
+                }
+                words[i] = word.toString();
+            }
+            return words;
+        }
+
+        private static int skewed(Random random, int bound) {
+            return (int) (bound * Math.pow(random.nextDouble(), 3));
+        }
+    }
+
+    @Benchmark
+    public List<String> fullName(Index index) {
+        return index.index.search(List.of("maria", "silva"), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> commonPrefix(Index index) {
+        return index.index.search(List.of("jo"), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> rareCombination(Index index) {
+        return index.index.search(List.of("ana", "sou", "santos"), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> noMatch(Index index) {
+        return index.index.search(List.of("maria", "zzzz"), LIMIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerSearchIndexBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.bank.customerservice.infrastructure.adapter.out.search;
+
+import com.bank.customerservice.domain.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCustomerSearchIndexTest {
+
+    @Test
+    void shouldFindCustomersMatchingEveryWordAsAPrefix_mostRecentlyIndexedFirst() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(100);
+        Customer joao = customer("João", "da Silva", "joao.silva@example.com");
+        Customer joana = customer("Joana", "Silveira", "jsilveira@example.com");
+        Customer jorge = customer("Jorge", "Souza", "jorge@example.com");
+        index.add(joao);
+        index.add(joana);
+        index.add(jorge);
+        index.add(joao); // Indexed again, e.g. by the startup scan and its registration: it keeps its place.
+
+        // ACT & ASSERT
+        assertThat(index.search(List.of("jo", "sil"), 10)).containsExactly(joana.getCustomerId(), joao.getCustomerId());
+        assertThat(index.search(List.of("jo"), 2)).containsExactly(jorge.getCustomerId(), joana.getCustomerId());
+        assertThat(index.customers()).isEqualTo(3);
+        assertThat(index.search(List.of("example", "souza"), 10)).containsExactly(jorge.getCustomerId());
+        assertThat(index.search(List.of("silva", "jorge"), 10)).isEmpty();
+        assertThat(index.search(List.of("pedro"), 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceACustomersTermsInItsOwnSlot_whenUpdated() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(2);
+        Customer ana = customer("Ana", "Lima", "ana@example.com");
+        Customer bruno = customer("Bruno", "Lima", "bruno@example.com");
+        index.add(ana);
+        index.add(bruno);
+
+        // ACT
+        for (int i = 0; i < 10; i++) {
+            index.update(withLastName(ana, "Costa Pereira " + i));
+        }
+        index.update(withLastName(ana, "Souza"));
+
+        // ASSERT
+        assertThat(index.search(List.of("lima"), 10)).containsExactly(bruno.getCustomerId());
+        assertThat(index.search(List.of("costa"), 10)).isEmpty();
+        assertThat(index.search(List.of("ana", "souza"), 10)).containsExactly(ana.getCustomerId());
+        assertThat(index.search(List.of("example"), 10)).containsExactly(bruno.getCustomerId(), ana.getCustomerId());
+        assertThat(index.customers()).isEqualTo(2);
+        assertThat(index.rejected()).isZero();
+    }
+
+    @Test
+    void shouldIndexACustomerOnUpdate_whenItWasNotIndexedYet() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(10);
+        Customer ana = customer("Ana", "Lima", "ana@example.com");
+
+        // ACT
+        index.update(ana);
+
+        // ASSERT
+        assertThat(index.search(List.of("lima"), 10)).containsExactly(ana.getCustomerId());
+    }
+
+    @Test
+    void shouldKeepEveryCustomer_whenItsArraysGrow() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(10_000);
+        Customer oldest = customer("Ana", "Lima", "ana@example.com");
+        index.add(oldest);
+
+        // ACT
+        for (int i = 0; i < 5_000; i++) {
+            index.add(customer("Bruno", "Costa" + i, "bruno" + i + "@example.com"));
+        }
+
+        // ASSERT
+        assertThat(index.search(List.of("ana", "lima"), 10)).containsExactly(oldest.getCustomerId());
+        assertThat(index.search(List.of("costa", "4999"), 10)).hasSize(1);
+        assertThat(index.customers()).isEqualTo(5_001);
+    }
+
+    @Test
+    void shouldKeepItsSizeEstimateCurrent_asTermsAndCustomersAreAdded() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(10_000);
+        long empty = index.sizeInBytes();
+        Customer ana = customer("Ana", "Lima", "ana@example.com");
+        long termBytes = ana.searchTerms().stream().distinct().mapToLong(term -> 64 + term.length() + 4 * 2).sum();
+
+        // ACT
+        index.add(ana);
+        long withAna = index.sizeInBytes();
+        index.add(ana);
+        long withAnaTwice = index.sizeInBytes();
+        for (int i = 0; i < 5_000; i++) {
+            index.add(customer("Bruno", "Costa" + i, "bruno" + i + "@example.com"));
+        }
+
+        // ASSERT
+        assertThat(withAna - empty).isEqualTo(termBytes + 64);
+        assertThat(withAnaTwice).isEqualTo(withAna);
+        // Per customer: its UUID, its terms' IDs and its own "costaN" and "brunoN" terms.
+        assertThat(index.sizeInBytes() - withAna).isBetween(5_000L * 150, 5_000L * 400);
+    }
+
+    @Test
+    void shouldStopIndexing_whenFull() {
+        // ARRANGE
+        InMemoryCustomerSearchIndex index = new InMemoryCustomerSearchIndex(1);
+        Customer first = customer("Ana", "Lima", "ana@example.com");
+
+        // ACT
+        index.add(first);
+        index.add(customer("Ana", "Costa", "ana.costa@example.com"));
+
+        // ASSERT
+        assertThat(index.search(List.of("ana"), 10)).containsExactly(first.getCustomerId());
+        assertThat(index.rejected()).isEqualTo(1);
+    }
+
+    private static Customer customer(String firstName, String lastName, String email) {
+        return Customer.builder()
+                .customerId(UUID.randomUUID().toString())
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+
+    private static Customer withLastName(Customer customer, String lastName) {
+        return Customer.builder()
+                .customerId(customer.getCustomerId())
+                .firstName(customer.getFirstName())
+                .lastName(lastName)
+                .email(customer.getEmail())
+                .build();
+    }
+}
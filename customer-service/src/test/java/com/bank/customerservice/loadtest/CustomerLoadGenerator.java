@@ -0,0 +1,318 @@
+package com.bank.customerservice.loadtest;
+
+import com.bank.customerservice.CustomerServiceApplication;
+import com.bank.customerservice.domain.model.CpfFixtures;
+import com.bank.customerservice.infrastructure.adapter.out.persistence.CustomerStore;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An open-model load generator for {@code POST /api/v1/customers} and {@code GET /api/v1/customers/{id}}.
+ * <p>
+ * Requests are started on a fixed schedule ({@code rate} per second) no matter how many are still
+ * outstanding, the way independent clients arrive in production. A closed loop that waits for each
+ * response before sending the next one slows down together with the service, and so never records
+ * the delays a slow response causes to the requests queued behind it (coordinated omission).
+ * Here the response time of every request is measured from the moment it was scheduled to start,
+ * so a stall of the service, or of this generator, shows up in the percentiles. The service time,
+ * measured from when the request was actually sent, is reported alongside for comparison.
+ * <p>
+ * Without a {@code target} the service is started in-process with the in-memory store, which
+ * measures our own code; with a target it measures whatever that instance is wired to (LocalStack,
+ * a real table, ...). Run through the {@code loadtest} Maven profile or directly, e.g.
+ * {@code rate=1000 duration=60s read-ratio=0.8 target=http://localhost:8080}.
+ */
+public final class CustomerLoadGenerator {
+
+    private static final Pattern CUSTOMER_ID = Pattern.compile("\"customerId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int ID_POOL_CAPACITY = 1 << 20;
+    private static final int SEED_CONCURRENCY = 32;
+
+    private final LoadTestOptions options;
+    private final URI customersUri;
+    private final HttpClient client;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    // Every registration needs its own CPF; runs start at a random point so that they rarely reuse each other's.
+    private final long cpfOffset = ThreadLocalRandom.current().nextLong(1_000_000_000L);
+
+    // IDs of registered customers, read back by the lookups. Slots past the capacity are simply not kept.
+    private final AtomicReferenceArray<String> knownIds = new AtomicReferenceArray<>(ID_POOL_CAPACITY);
+    private final AtomicInteger knownIdCount = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private CustomerLoadGenerator(LoadTestOptions options, URI baseUri) {
+        this.options = options;
+        this.customersUri = baseUri.resolve("/api/v1/customers");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext inProcess = options.target() == null ? startInProcess(options) : null;
+        try {
+            URI baseUri = inProcess == null
+                    ? URI.create(options.target())
+                    : URI.create("http://localhost:" + inProcess.getEnvironment().getProperty("local.server.port"));
+            new CustomerLoadGenerator(options, baseUri).run();
+        } finally {
+            if (inProcess != null) {
+                inProcess.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startInProcess(LoadTestOptions options) {
+        return new SpringApplicationBuilder(CustomerServiceApplication.class)
+                .profiles(CustomerStore.IN_MEMORY_PROFILE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "server.port=0",
+                        "customer.in-memory.latency=" + options.storeLatency().toMillis() + "ms",
+                        "spring.main.web-application-type=" + options.stack(),
+                        // Per-request INFO logging to the console would compete with the report for the terminal.
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private void run() throws InterruptedException, IOException {
+        System.out.printf(Locale.ROOT, "Registering %d customers to read back...%n", options.seed());
+        seed();
+
+        System.out.printf(Locale.ROOT, "Warming up at %d req/s for %ss...%n", options.rate(), options.warmup().toSeconds());
+        runPhase(options.warmup(), new Results());
+
+        System.out.printf(Locale.ROOT, "Measuring at %d req/s for %ss...%n", options.rate(), options.duration().toSeconds());
+        Results results = new Results();
+        long scheduleLagNanos = runPhase(options.duration(), results);
+        awaitInFlight();
+
+        report(results, scheduleLagNanos);
+    }
+
+    private void seed() throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        CompletableFuture<?>[] registrations = new CompletableFuture<?>[options.seed()];
+        for (int i = 0; i < options.seed(); i++) {
+            permits.acquire();
+            registrations[i] = client.sendAsync(registerRequest(), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(this::rememberCustomerId)
+                    .whenComplete((v, error) -> permits.release());
+        }
+        CompletableFuture.allOf(registrations).join();
+        if (knownIdCount.get() == 0) {
+            throw new IllegalStateException("None of the seed registrations succeeded; is the service reachable at " + customersUri + "?");
+        }
+    }
+
+    /**
+     * Starts requests on schedule for the given duration.
+     *
+     * @return The largest delay between a request's scheduled start and actually sending it.
+     */
+    private long runPhase(Duration duration, Results results) {
+        double nanosPerRequest = 1e9 / options.rate();
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        long maxLag = 0;
+
+        for (long i = 0; ; i++) {
+            long offset = (long) (i * nanosPerRequest);
+            if (offset >= durationNanos) {
+                break;
+            }
+            long intendedStart = start + offset;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxLag = Math.max(maxLag, System.nanoTime() - intendedStart);
+
+            if (ThreadLocalRandom.current().nextDouble() < options.readRatio()) {
+                send(lookupRequest(), results.lookups, intendedStart, false);
+            } else {
+                send(registerRequest(), results.registrations, intendedStart, true);
+            }
+        }
+        return maxLag;
+    }
+
+    private void send(HttpRequest request, OperationResults results, long intendedStart, boolean registration) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    boolean ok = error == null && response.statusCode() / 100 == 2;
+                    results.record(intendedStart, sent, completed, ok);
+                    if (!ok) {
+                        results.firstError.compareAndSet(null, error != null ? error.toString() : "HTTP " + response.statusCode());
+                    }
+                    if (ok && registration) {
+                        rememberCustomerId(response);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitInFlight() {
+        long deadline = System.nanoTime() + options.timeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private HttpRequest registerRequest() {
+        long sequence = emailSequence.incrementAndGet();
+        String email = "load-" + runId + "-" + sequence + "@example.com";
+        String cpf = CpfFixtures.cpf((cpfOffset + sequence) % 1_000_000_000L);
+        String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + email + "\",\"cpf\":\"" + cpf + "\"}";
+        return HttpRequest.newBuilder(customersUri)
+                .timeout(options.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest lookupRequest() {
+        int known = Math.min(knownIdCount.get(), ID_POOL_CAPACITY);
+        String customerId = knownIds.get(ThreadLocalRandom.current().nextInt(known));
+        if (customerId == null) {
+            // The slot was claimed but not yet written; the first ID is always there after seeding.
+            customerId = knownIds.get(0);
+        }
+        return HttpRequest.newBuilder(customersUri.resolve("customers/" + customerId))
+                .timeout(options.timeout())
+                .GET()
+                .build();
+    }
+
+    private void rememberCustomerId(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        Matcher matcher = CUSTOMER_ID.matcher(response.body());
+        if (matcher.find()) {
+            int slot = knownIdCount.getAndIncrement();
+            if (slot < ID_POOL_CAPACITY) {
+                knownIds.set(slot, matcher.group(1));
+            } else {
+                knownIdCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void report(Results results, long scheduleLagNanos) throws IOException {
+        PrintStream out = System.out;
+        out.println();
+        out.printf(Locale.ROOT, "Target: %s, %d req/s for %ss, %.0f%% lookups%n",
+                options.target() == null
+                        ? "in-process, " + options.stack() + " stack, in-memory store (latency " + options.storeLatency().toMillis() + "ms)"
+                        : options.target(),
+                options.rate(), options.duration().toSeconds(), options.readRatio() * 100);
+        out.printf(Locale.ROOT, "Largest delay in starting a request on schedule: %.2f ms%n", scheduleLagNanos / 1e6);
+        out.println();
+        out.println("Response time in ms, from scheduled start (corrected for coordinated omission):");
+        printHeader(out);
+        printRow(out, "GET by id", results.lookups, results.lookups.responseTime);
+        printRow(out, "POST", results.registrations, results.registrations.responseTime);
+        out.println();
+        out.println("Service time in ms, from actual send (not corrected):");
+        printHeader(out);
+        printRow(out, "GET by id", results.lookups, results.lookups.serviceTime);
+        printRow(out, "POST", results.registrations, results.registrations.serviceTime);
+        printFirstError(out, "GET by id", results.lookups);
+        printFirstError(out, "POST", results.registrations);
+
+        if (options.output() != null) {
+            Files.createDirectories(options.output());
+            writeDistribution("lookup-response-time.hgrm", results.lookups.responseTime);
+            writeDistribution("register-response-time.hgrm", results.registrations.responseTime);
+            writeDistribution("lookup-service-time.hgrm", results.lookups.serviceTime);
+            writeDistribution("register-service-time.hgrm", results.registrations.serviceTime);
+            out.println();
+            out.println("Full distributions written to " + options.output().toAbsolutePath());
+        }
+    }
+
+    private static void printHeader(PrintStream out) {
+        out.printf(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50", "p90", "p99", "p99.9", "p99.99", "max");
+    }
+
+    private static void printRow(PrintStream out, String name, OperationResults results, Histogram histogram) {
+        out.printf(Locale.ROOT, "%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), results.errors.sum(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), millis(histogram, 99.99), histogram.getMaxValue() / 1000.0);
+    }
+
+    private static void printFirstError(PrintStream out, String name, OperationResults results) {
+        if (results.firstError.get() != null) {
+            out.printf(Locale.ROOT, "First %s error: %s%n", name, results.firstError.get());
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void writeDistribution(String fileName, Histogram histogram) throws IOException {
+        try (PrintStream file = new PrintStream(Files.newOutputStream(options.output().resolve(fileName)))) {
+            // Recorded in microseconds, written in milliseconds.
+            histogram.outputPercentileDistribution(file, 1000.0);
+        }
+    }
+
+    private static final class Results {
+        final OperationResults lookups = new OperationResults();
+        final OperationResults registrations = new OperationResults();
+    }
+
+    private static final class OperationResults {
+        // Microseconds, three significant digits, resized as needed.
+        final Histogram responseTime = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final AtomicReference<String> firstError = new AtomicReference<>();
+
+        void record(long intendedStart, long sent, long completed, boolean ok) {
+            responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - intendedStart));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.customerservice.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The options of a {@link CustomerLoadGenerator} run, given on the command line as {@code key=value}.
+ *
+ * @param target       Base URL of a running service, e.g. {@code http://localhost:8080}; null starts
+ *                     the service in-process on the in-memory store.
+ * @param rate         Requests started per second, whether or not earlier ones have completed.
+ * @param duration     How long the measured phase runs.
+ * @param warmup       How long the same load runs before measuring starts; its results are discarded.
+ * @param readRatio    Share of requests that are lookups by ID; the rest are registrations.
+ * @param seed         Customers registered before the warm-up, so that the first reads have something to find.
+ * @param storeLatency Simulated latency of the in-memory store (in-process runs only).
+ * @param stack        Web stack of the in-process service: {@code servlet} (Spring MVC on Tomcat) or
+ *                     {@code reactive} (WebFlux on Reactor Netty).
+ * @param timeout      Requests slower than this count as errors.
+ * @param output       Directory for the full percentile distributions (.hgrm files), or null for none.
+ */
+record LoadTestOptions(
+        String target,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        double readRatio,
+        int seed,
+        Duration storeLatency,
+        String stack,
+        Duration timeout,
+        Path output
+) {
+
+    private static final Set<String> KEYS = Set.of(
+            "target", "rate", "duration", "warmup", "read-ratio", "seed", "store-latency", "stack", "timeout", "output");
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg : arg.substring(0, separator);
+            if (separator < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected key=value with key one of " + KEYS);
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                blankToNull(values.get("target")),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                Double.parseDouble(values.getOrDefault("read-ratio", "0.9")),
+                Integer.parseInt(values.getOrDefault("seed", "1000")),
+                DurationStyle.detectAndParse(values.getOrDefault("store-latency", "0ms")),
+                values.getOrDefault("stack", "servlet"),
+                DurationStyle.detectAndParse(values.getOrDefault("timeout", "10s")),
+                values.containsKey("output") ? Path.of(values.get("output")) : null
+        );
+        if (options.rate() <= 0 || options.readRatio() < 0 || options.readRatio() > 1 || options.seed() < 1) {
+            throw new IllegalArgumentException("rate and seed must be positive and read-ratio between 0 and 1");
+        }
+        if (!options.stack().equals("servlet") && !options.stack().equals("reactive")) {
+            throw new IllegalArgumentException("stack must be servlet or reactive");
+        }
+        return options;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -9,9 +9,86 @@ resource "aws_dynamodb_table" "customers_table" {
     name = "customerId"
     type = "S" # S for String
   }
+
+  attribute {
+    name = "email"
+    type = "S"
+  }
+
+  attribute {
+    name = "cpf"
+    type = "S"
+  }
+
+  # Lets us look a customer up by email with a query instead of a full table scan.
+  global_secondary_index {
+    name            = "email-index"
+    hash_key        = "email"
+    projection_type = "ALL"
+  }
+
+  # Same for KYC lookups by CPF (always stored as its 11 digits).
+  global_secondary_index {
+    name            = "cpf-index"
+    hash_key        = "cpf"
+    projection_type = "ALL"
+  }
 }
 
-# 2. Define an SQS queue for future customer registration events.
+# 2. Define the table that reserves unique customer attributes ("EMAIL#<address>" and "CPF#<digits>").
+# Registration writes the customer and its reservations in one conditional transaction,
+# so uniqueness is enforced without scanning the customers table.
+resource "aws_dynamodb_table" "customer_unique_keys_table" {
+  name         = "customer-unique-keys"
+  billing_mode = "PAY_PER_REQUEST"
+  hash_key     = "uniqueKey"
+
+  attribute {
+    name = "uniqueKey"
+    type = "S"
+  }
+}
+
+# 3. Define the transactional outbox. Registration puts the CustomerRegistered event here in the same
+# transaction as the customer; a background relay publishes it to the queue below and then deletes it.
+# Events are spread over shards by customer ID and sorted by time within a shard.
+resource "aws_dynamodb_table" "customer_outbox_table" {
+  name         = "customer-outbox"
+  billing_mode = "PAY_PER_REQUEST"
+  hash_key     = "shard"
+  range_key    = "sequence"
+
+  attribute {
+    name = "shard"
+    type = "S"
+  }
+
+  attribute {
+    name = "sequence"
+    type = "S"
+  }
+}
+
+# 4. Define the table of Idempotency-Key headers sent with registrations. A key is claimed with a
+# conditional put and later holds the registered customer, so retries replay it instead of registering
+# again. DynamoDB deletes expired keys through the TTL on "expiresAt" (epoch seconds).
+resource "aws_dynamodb_table" "customer_idempotency_keys_table" {
+  name         = "customer-idempotency-keys"
+  billing_mode = "PAY_PER_REQUEST"
+  hash_key     = "idempotencyKey"
+
+  attribute {
+    name = "idempotencyKey"
+    type = "S"
+  }
+
+  ttl {
+    attribute_name = "expiresAt"
+    enabled        = true
+  }
+}
+
+# 5. Define the SQS queue the customer registration events are published to.
 resource "aws_sqs_queue" "customer_registered_queue" {
   name = "customer-registered-events"
 }
@@ -21,6 +98,18 @@ output "customers_table_name" {
   value = aws_dynamodb_table.customers_table.name
 }
 
+output "customer_unique_keys_table_name" {
+  value = aws_dynamodb_table.customer_unique_keys_table.name
+}
+
+output "customer_outbox_table_name" {
+  value = aws_dynamodb_table.customer_outbox_table.name
+}
+
+output "customer_idempotency_keys_table_name" {
+  value = aws_dynamodb_table.customer_idempotency_keys_table.name
+}
+
 output "customer_registered_queue_url" {
   value = aws_sqs_queue.customer_registered_queue.id
 }